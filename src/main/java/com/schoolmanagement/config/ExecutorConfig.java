@@ -0,0 +1,173 @@
+package com.schoolmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executors for background work
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * DASHBOARD CACHE REFRESHES
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardRefreshExecutor(
+            @Value("${dashboard.cache.refresh-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("dashboard-refresh-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * DASHBOARD SECTION FAN-OUT
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardFanoutExecutor(
+            @Value("${dashboard.fanout.threads:16}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("dashboard-fanout-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * STATISTICS SNAPSHOT QUERIES
+     */
+    @Bean
+    public ThreadPoolTaskExecutor statisticsExecutor(
+            @Value("${statistics.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("statistics-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * LIVE ATTENDANCE FEED (SSE SENDS)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor attendanceFeedExecutor(
+            @Value("${attendance.live.sender-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("attendance-feed-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * BULK IMPORT PASSWORD HASHING
+     * Callers run the task themselves when the queue is full, which throttles the import
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importHashExecutor(
+            @Value("${students.import.hash-threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(2000);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("import-hash-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * YEAR-END PROMOTION RUNS
+     */
+    @Bean
+    public ThreadPoolTaskExecutor promotionExecutor(
+            @Value("${students.promotion.threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("promotion-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * STREAMED REPORT DOWNLOADS
+     * Each running export holds one thread and one database connection until the client has it all
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportStreamExecutor(
+            @Value("${reports.stream.threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("report-stream-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * OTHER ASYNC REQUESTS
+     * Async MVC handlers outside /reports, kept off the report stream pool
+     */
+    @Bean
+    public ThreadPoolTaskExecutor webAsyncExecutor(
+            @Value("${web.async.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("web-async-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * BACKGROUND REPORT JOBS
+     * Submissions beyond the queue are refused rather than run on the request thread
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportJobExecutor(
+            @Value("${reports.jobs.threads:2}") int threads,
+            @Value("${reports.jobs.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * PER-SECTION EXPORT SHARDS
+     * Shared by all sharded exports, so together they never render more shards at once than its parallelism
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool reportShardPool(@Value("${reports.shards.parallelism:4}") int parallelism) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("report-shard-" + threadCount.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+}
@@ -0,0 +1,71 @@
+package com.schoolmanagement.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Async request handling: streamed report downloads (StreamingResponseBody under /reports)
+ * are written on the bounded report stream pool; other async handlers use a small general
+ * pool, so they neither take report threads nor fall back to a thread per request
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private static final String REPORTS_PATH = "/reports/";
+
+    private final ThreadPoolTaskExecutor reportStreamExecutor;
+    private final ThreadPoolTaskExecutor webAsyncExecutor;
+
+    public WebMvcConfig(@Qualifier("reportStreamExecutor") ThreadPoolTaskExecutor reportStreamExecutor,
+                        @Qualifier("webAsyncExecutor") ThreadPoolTaskExecutor webAsyncExecutor) {
+        this.reportStreamExecutor = reportStreamExecutor;
+        this.webAsyncExecutor = webAsyncExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new RequestRoutingExecutor());
+    }
+
+    // Tasks are submitted on the request thread, so the request path picks the pool
+    private final class RequestRoutingExecutor implements AsyncTaskExecutor {
+
+        @Override
+        public void execute(Runnable task) {
+            executor().execute(task);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return executor().submit(task);
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return executor().submit(task);
+        }
+
+        private AsyncTaskExecutor executor() {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes instanceof ServletRequestAttributes servletAttributes) {
+                HttpServletRequest request = servletAttributes.getRequest();
+                String path = request.getRequestURI().substring(request.getContextPath().length());
+                if (path.startsWith(REPORTS_PATH)) {
+                    return reportStreamExecutor;
+                }
+            }
+            return webAsyncExecutor;
+        }
+    }
+}
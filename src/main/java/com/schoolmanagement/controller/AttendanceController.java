@@ -2,14 +2,21 @@ package com.schoolmanagement.controller;
 
 import com.schoolmanagement.dto.AttendanceMarkRequest;
 import com.schoolmanagement.dto.ApiResponse;
+import com.schoolmanagement.dto.AttendanceMarkResponse;
+import com.schoolmanagement.dto.AttendanceReconciliationReport;
+import com.schoolmanagement.dto.AttendanceSummaryResponse;
+import com.schoolmanagement.dto.BulkAttendanceMarkRequest;
 import com.schoolmanagement.entity.Attendance;
+import com.schoolmanagement.service.AttendanceFeedBroadcaster;
 import com.schoolmanagement.service.AttendanceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,6 +28,7 @@ import java.util.List;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final AttendanceFeedBroadcaster attendanceFeedBroadcaster;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
@@ -30,6 +38,17 @@ public class AttendanceController {
         return ResponseEntity.ok(ApiResponse.success("Attendance marked successfully", null));
     }
 
+    /**
+     * Mark attendance for several class sections at once with per-item outcomes
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
+    public ResponseEntity<ApiResponse<AttendanceMarkResponse>> markAttendanceBulk(
+            @Valid @RequestBody BulkAttendanceMarkRequest request) {
+        AttendanceMarkResponse response = attendanceService.markAttendanceBulk(request.getSections());
+        return ResponseEntity.ok(ApiResponse.success("Attendance processed", response));
+    }
+
     @GetMapping("/student/{studentId}")
     public ResponseEntity<ApiResponse<List<Attendance>>> getStudentAttendance(
             @PathVariable Long studentId,
@@ -41,4 +60,51 @@ public class AttendanceController {
         );
         return ResponseEntity.ok(ApiResponse.success(attendance));
     }
-}
\ No newline at end of file
+
+    /**
+     * Live attendance feed for a school over Server-Sent Events
+     */
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL')")
+    public SseEmitter subscribeLiveAttendance(@RequestParam Long schoolId) {
+        return attendanceFeedBroadcaster.subscribe(schoolId);
+    }
+
+    /**
+     * Today's (or a given day's) attendance counts for a class section
+     */
+    @GetMapping("/section/{classSectionId}/summary")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
+    public ResponseEntity<ApiResponse<AttendanceSummaryResponse>> getSectionSummary(
+            @PathVariable Long classSectionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        AttendanceSummaryResponse summary = attendanceService.getSectionSummary(
+                classSectionId, date != null ? date : LocalDate.now()
+        );
+        return ResponseEntity.ok(ApiResponse.success(summary));
+    }
+
+    /**
+     * Academic-year attendance totals for a student
+     */
+    @GetMapping("/student/{studentId}/summary")
+    public ResponseEntity<ApiResponse<AttendanceSummaryResponse>> getStudentYearSummary(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Integer academicYear) {
+
+        AttendanceSummaryResponse summary = attendanceService.getStudentYearSummary(studentId, academicYear);
+        return ResponseEntity.ok(ApiResponse.success(summary));
+    }
+
+    /**
+     * Rebuild attendance rollups from the raw table and report drift
+     */
+    @PostMapping("/rollups/reconcile")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<AttendanceReconciliationReport>> reconcileRollups(
+            @RequestParam(required = false) Integer academicYear) {
+        AttendanceReconciliationReport report = attendanceService.reconcileRollups(academicYear);
+        return ResponseEntity.ok(ApiResponse.success("Attendance rollups reconciled", report));
+    }
+}
@@ -0,0 +1,60 @@
+package com.schoolmanagement.controller;
+
+import com.schoolmanagement.dto.ApiResponse;
+import com.schoolmanagement.dto.PromotionReport;
+import com.schoolmanagement.dto.PromotionRequest;
+import com.schoolmanagement.service.PromotionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Promotion Controller - year-end rollover of a school's students to the next academic year
+ * File: backend/src/main/java/com/schoolmanagement/controller/PromotionController.java
+ */
+@RestController
+@RequestMapping("/schools/{schoolId}/promotions")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class PromotionController {
+
+    private final PromotionService promotionService;
+
+    /**
+     * Promote students; dryRun=true only returns the plan (sections, student counts, capacity)
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL')")
+    public ResponseEntity<ApiResponse<PromotionReport>> promote(
+            @PathVariable Long schoolId,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @Valid @RequestBody PromotionRequest request) {
+
+        if (dryRun) {
+            return ResponseEntity.ok(ApiResponse.success(promotionService.preview(schoolId, request)));
+        }
+        PromotionReport report = promotionService.start(schoolId, request);
+        return ResponseEntity.accepted().body(ApiResponse.success("Promotion started", report));
+    }
+
+    /**
+     * Progress of a promotion run
+     */
+    @GetMapping("/{runId}")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL')")
+    public ResponseEntity<ApiResponse<PromotionReport>> getRun(@PathVariable Long schoolId, @PathVariable Long runId) {
+        return ResponseEntity.ok(ApiResponse.success(promotionService.getRun(schoolId, runId)));
+    }
+
+    /**
+     * Resume a failed or interrupted promotion run
+     */
+    @PostMapping("/{runId}/resume")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL')")
+    public ResponseEntity<ApiResponse<PromotionReport>> resume(@PathVariable Long schoolId, @PathVariable Long runId) {
+        PromotionReport report = promotionService.resume(schoolId, runId);
+        return ResponseEntity.accepted().body(ApiResponse.success("Promotion resumed", report));
+    }
+}
@@ -1,25 +1,34 @@
 package com.schoolmanagement.controller;
 
 import com.schoolmanagement.dto.ApiResponse;
-import com.schoolmanagement.dto.StudentResponse;
+import com.schoolmanagement.dto.ReportJobResponse;
 import com.schoolmanagement.entity.Attendance;
-import com.schoolmanagement.entity.Result;
-import com.schoolmanagement.entity.Student;
 import com.schoolmanagement.repository.AttendanceRepository;
 import com.schoolmanagement.service.ExcelExportService;
+import com.schoolmanagement.service.ExportCache;
+import com.schoolmanagement.service.ReportCardService;
+import com.schoolmanagement.service.ReportJobService;
 import com.schoolmanagement.service.ReportService;
-import com.schoolmanagement.service.StudentService;
+import com.schoolmanagement.service.SchoolService;
+import com.schoolmanagement.service.ShardedExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.security.Principal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * NEW Controller for generating and downloading reports
@@ -31,41 +40,40 @@ import java.util.List;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class ReportController {
 
+    // Browsers and proxies keep exports but revalidate them with If-None-Match
+    private static final CacheControl EXPORT_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final ReportService reportService;
     private final ExcelExportService excelExportService;
-    private final StudentService studentService;
+    private final SchoolService schoolService;
     private final AttendanceRepository attendanceRepository;
+    private final ReportJobService reportJobService;
+    private final ExportCache exportCache;
+    private final ShardedExportService shardedExportService;
+    private final ReportCardService reportCardService;
 
     /**
-     * Export all students to PDF
+     * Export all students to PDF, streamed to the response while the table is rendered
      */
     @GetMapping("/students/pdf")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
-    public ResponseEntity<byte[]> exportStudentsPDF(
+    public ResponseEntity<StreamingResponseBody> exportStudentsPDF(
             @RequestParam Long schoolId,
             @RequestParam(required = false) Long classSectionId,
-            @RequestParam(required = false) String searchTerm) {
+            @RequestParam(required = false) String searchTerm,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         try {
-            List<Student> students;
-
-            if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-                students = studentService.searchStudentsForExport(schoolId, searchTerm);
-            } else {
-                students = studentService.getAllStudentsForExport(schoolId, classSectionId);
-            }
-
-            String schoolName = students.isEmpty() ? "School" :
-                    students.get(0).getSchool().getSchoolName();
-
-            byte[] pdfBytes = reportService.generateStudentListPDF(students, schoolName);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment",
-                    "students_report_" + LocalDate.now() + ".pdf");
+            String schoolName = schoolService.getSchoolById(schoolId).getSchoolName();
+            boolean search = searchTerm != null && !searchTerm.trim().isEmpty();
+            Long sectionId = search ? null : classSectionId;
+            String term = search ? searchTerm.trim() : null;
 
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            ExportCache.Key key = exportCache.key(ExportCache.schoolScope(schoolId),
+                    studentExportParams("students-pdf", schoolId, sectionId, term, schoolName));
+            return cachedExport(key, ifNoneMatch, MediaType.APPLICATION_PDF,
+                    "students_report_" + LocalDate.now() + ".pdf",
+                    out -> reportService.generateStudentListPDF(schoolId, sectionId, term, schoolName, out));
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -73,35 +81,52 @@ public class ReportController {
     }
 
     /**
-     * Export all students to Excel
+     * Export all students to Excel, streamed to the response as the workbook is produced
      */
     @GetMapping("/students/excel")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
-    public ResponseEntity<byte[]> exportStudentsExcel(
+    public ResponseEntity<StreamingResponseBody> exportStudentsExcel(
             @RequestParam Long schoolId,
             @RequestParam(required = false) Long classSectionId,
-            @RequestParam(required = false) String searchTerm) {
+            @RequestParam(required = false) String searchTerm,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         try {
-            List<Student> students;
+            String schoolName = schoolService.getSchoolById(schoolId).getSchoolName();
+            boolean search = searchTerm != null && !searchTerm.trim().isEmpty();
+            Long sectionId = search ? null : classSectionId;
+            String term = search ? searchTerm.trim() : null;
 
-            if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-                students = studentService.searchStudentsForExport(schoolId, searchTerm);
-            } else {
-                students = studentService.getAllStudentsForExport(schoolId, classSectionId);
-            }
+            ExportCache.Key key = exportCache.key(ExportCache.schoolScope(schoolId),
+                    studentExportParams("students-xlsx", schoolId, sectionId, term, schoolName));
+            return cachedExport(key, ifNoneMatch, MediaType.APPLICATION_OCTET_STREAM,
+                    "students_report_" + LocalDate.now() + ".xlsx",
+                    out -> excelExportService.exportStudentsToExcel(schoolId, sectionId, term, schoolName, out));
 
-            String schoolName = students.isEmpty() ? "School" :
-                    students.get(0).getSchool().getSchoolName();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 
-            byte[] excelBytes = excelExportService.exportStudentsToExcel(students, schoolName);
+    /**
+     * Export all students as a ZIP with one file (EXCEL or PDF) per class section; sections are
+     * rendered in parallel and each is sent as soon as it is done
+     */
+    @GetMapping("/students/zip")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportStudentsBySection(
+            @RequestParam Long schoolId,
+            @RequestParam(defaultValue = "EXCEL") ReportJobService.Format format,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment",
-                    "students_report_" + LocalDate.now() + ".xlsx");
+        try {
+            String schoolName = schoolService.getSchoolById(schoolId).getSchoolName();
 
-            return new ResponseEntity<>(excelBytes, headers, HttpStatus.OK);
+            ExportCache.Key key = exportCache.key(ExportCache.schoolScope(schoolId),
+                    studentExportParams("students-zip-" + format, schoolId, null, null, schoolName));
+            return cachedExport(key, ifNoneMatch, MediaType.parseMediaType("application/zip"),
+                    "students_by_section_" + LocalDate.now() + ".zip",
+                    out -> shardedExportService.exportStudentsBySection(schoolId, format, schoolName, out));
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -109,44 +134,33 @@ public class ReportController {
     }
 
     /**
-     * Export individual student report card to PDF
+     * Export individual student report card to PDF; results of one exam, or of every exam with
+     * a total and grade per exam when no examId is given, and attendance over the window
+     * (default the last 3 months)
      */
     @GetMapping("/students/{studentId}/report-card/pdf")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER', 'STUDENT', 'PARENT')")
-    public ResponseEntity<byte[]> exportStudentReportCardPDF(@PathVariable Long studentId) {
+    public ResponseEntity<StreamingResponseBody> exportStudentReportCardPDF(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Long examId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         try {
-            // Get student
-            StudentResponse student = studentService.getStudentById(studentId);
-
-            // Get attendance percentage (simplified - you can enhance this)
-            List<Attendance> attendanceList = attendanceRepository
-                    .findByUserIdAndAttendanceDateBetween(
-                            student.getUser().getId(),
-                            LocalDate.now().minusMonths(3),
-                            LocalDate.now()
-                    );
-
-            long presentCount = attendanceList.stream()
-                    .filter(a -> a.getStatus().name().equals("PRESENT"))
-                    .count();
+            LocalDate end = endDate != null ? endDate : LocalDate.now();
+            LocalDate start = startDate != null ? startDate : end.minusMonths(3);
+            ReportCardService.ReportCard card = reportCardService.loadReportCard(studentId, examId, start, end);
 
-            double attendancePercentage = attendanceList.isEmpty() ? 0 :
-                    ((double) presentCount / attendanceList.size()) * 100;
-
-            // Get results (you need to implement this based on your Result entity)
-            List<Result> results = null; // resultRepository.findByStudentId(studentId);
-
-            byte[] pdfBytes = reportService.generateStudentReportCardPDF(
-                    student, results, attendancePercentage
+            StreamingResponseBody body = out -> reportService.generateStudentReportCardPDF(
+                    card.student(), card.results(), card.attendancePercentage(), card.logoUrl(), out
             );
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment",
-                    "report_card_" + student.getAdmissionNumber() + ".pdf");
+                    "report_card_" + card.student().getAdmissionNumber() + ".pdf");
 
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -154,38 +168,49 @@ public class ReportController {
     }
 
     /**
-     * Export student attendance to PDF
+     * Report cards of a whole class section or exam as one merged PDF or a ZIP of per-student PDFs
      */
-    @GetMapping("/students/{studentId}/attendance/pdf")
-    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER', 'STUDENT', 'PARENT')")
-    public ResponseEntity<byte[]> exportAttendancePDF(
-            @PathVariable Long studentId,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-
-        try {
-            List<Attendance> attendanceList = attendanceRepository
-                    .findByUserIdAndAttendanceDateBetween(studentId, startDate, endDate);
+    @GetMapping("/report-cards")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportReportCards(
+            @RequestParam(required = false) Long classSectionId,
+            @RequestParam(required = false) Long examId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "PDF") ReportCardService.Output output) {
 
-            String studentName = attendanceList.isEmpty() ? "Student" :
-                    attendanceList.get(0).getUser().getFirstName() + " " +
-                            (attendanceList.get(0).getUser().getLastName() != null ?
-                                    attendanceList.get(0).getUser().getLastName() : "");
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusMonths(3);
+        // Loaded before the response starts, so a bad section or exam is still a 400
+        List<ReportCardService.ReportCard> cards = reportCardService.loadReportCards(classSectionId, examId, start, end);
 
-            byte[] pdfBytes = reportService.generateAttendanceReportPDF(
-                    attendanceList, studentName, startDate, endDate
-            );
+        StreamingResponseBody body = out -> reportCardService.writeReportCards(cards, output, out);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment",
-                    "attendance_report_" + LocalDate.now() + ".pdf");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(output == ReportCardService.Output.ZIP
+                ? MediaType.parseMediaType("application/zip") : MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", "report_cards_" + LocalDate.now()
+                + (output == ReportCardService.Output.ZIP ? ".zip" : ".pdf"));
 
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
 
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    /**
+     * Export student attendance to PDF, streamed to the response while the table is rendered
+     */
+    @GetMapping("/students/{studentId}/attendance/pdf")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER', 'STUDENT', 'PARENT')")
+    public ResponseEntity<StreamingResponseBody> exportAttendancePDF(
+            @PathVariable Long studentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        ExportCache.Key key = exportCache.key(ExportCache.attendanceScope(studentId),
+                attendanceExportParams("attendance-pdf", studentId, startDate, endDate));
+        return cachedExport(key, ifNoneMatch, MediaType.APPLICATION_PDF,
+                "attendance_report_" + LocalDate.now() + ".pdf",
+                out -> reportService.generateAttendanceReportPDF(studentId, startDate, endDate, out));
     }
 
     /**
@@ -196,25 +221,39 @@ public class ReportController {
     public ResponseEntity<byte[]> exportAttendanceExcel(
             @PathVariable Long studentId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         try {
-            List<Attendance> attendanceList = attendanceRepository
-                    .findByUserIdAndAttendanceDateBetween(studentId, startDate, endDate);
+            ExportCache.Key key = exportCache.key(ExportCache.attendanceScope(studentId),
+                    attendanceExportParams("attendance-xlsx", studentId, startDate, endDate));
+            String etag = exportCache.etag(key);
+            if (exportCache.notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(EXPORT_CACHE_CONTROL).build();
+            }
 
-            String studentName = attendanceList.isEmpty() ? "Student" :
-                    attendanceList.get(0).getUser().getFirstName() + " " +
-                            (attendanceList.get(0).getUser().getLastName() != null ?
-                                    attendanceList.get(0).getUser().getLastName() : "");
+            byte[] excelBytes = exportCache.get(key);
+            if (excelBytes == null) {
+                List<Attendance> attendanceList = attendanceRepository
+                        .findByUserIdAndAttendanceDateBetween(studentId, startDate, endDate);
 
-            byte[] excelBytes = excelExportService.exportAttendanceToExcel(
-                    attendanceList, studentName, startDate, endDate
-            );
+                String studentName = attendanceList.isEmpty() ? "Student" :
+                        attendanceList.get(0).getUser().getFirstName() + " " +
+                                (attendanceList.get(0).getUser().getLastName() != null ?
+                                        attendanceList.get(0).getUser().getLastName() : "");
+
+                excelBytes = excelExportService.exportAttendanceToExcel(
+                        attendanceList, studentName, startDate, endDate
+                );
+                exportCache.put(key, excelBytes);
+            }
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
             headers.setContentDispositionFormData("attachment",
                     "attendance_report_" + LocalDate.now() + ".xlsx");
+            headers.setETag(etag);
+            headers.setCacheControl(EXPORT_CACHE_CONTROL);
 
             return new ResponseEntity<>(excelBytes, headers, HttpStatus.OK);
 
@@ -224,10 +263,105 @@ public class ReportController {
     }
 
     /**
-     * Get report generation status
+     * Queue a student list export (PDF or EXCEL); poll the returned job and download it when completed
+     */
+    @PostMapping("/jobs/students")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitStudentsJob(
+            @RequestParam Long schoolId,
+            @RequestParam(required = false) Long classSectionId,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(defaultValue = "PDF") ReportJobService.Format format,
+            Principal principal) {
+
+        ReportJobResponse job = reportJobService.submitStudentList(
+                schoolId, classSectionId, searchTerm, format, principal.getName());
+        return ResponseEntity.accepted().body(ApiResponse.success("Report queued", job));
+    }
+
+    /**
+     * Queue a student attendance PDF
+     */
+    @PostMapping("/jobs/students/{studentId}/attendance")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER', 'STUDENT', 'PARENT')")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitAttendanceJob(
+            @PathVariable Long studentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Principal principal) {
+
+        ReportJobResponse job = reportJobService.submitAttendance(studentId, startDate, endDate, principal.getName());
+        return ResponseEntity.accepted().body(ApiResponse.success("Report queued", job));
+    }
+
+    /**
+     * Status and progress of a report job
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getJob(@PathVariable String jobId, Principal principal) {
+        return ResponseEntity.ok(ApiResponse.success(reportJobService.getJob(jobId, principal.getName())));
+    }
+
+    /**
+     * Download a completed report job's file
+     */
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadJob(@PathVariable String jobId, Principal principal) {
+        ReportJobService.ReportFile file = reportJobService.getFile(jobId, principal.getName());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(file.contentType());
+        headers.setContentLength(file.sizeBytes());
+        headers.setContentDispositionFormData("attachment", file.fileName());
+
+        return new ResponseEntity<>(new FileSystemResource(file.path()), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Get report generation status: report jobs on this node by status
      */
     @GetMapping("/status")
-    public ResponseEntity<ApiResponse<String>> getReportStatus() {
-        return ResponseEntity.ok(ApiResponse.success("Report service is running"));
+    public ResponseEntity<ApiResponse<Map<ReportJobResponse.Status, Long>>> getReportStatus() {
+        return ResponseEntity.ok(ApiResponse.success("Report service is running", reportJobService.getJobCounts()));
+    }
+
+    // Helper Methods
+    private ResponseEntity<StreamingResponseBody> cachedExport(ExportCache.Key key, String ifNoneMatch,
+                                                               MediaType contentType, String fileName,
+                                                               StreamingResponseBody render) {
+        String etag = exportCache.etag(key);
+        if (exportCache.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(EXPORT_CACHE_CONTROL).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setContentDispositionFormData("attachment", fileName);
+        headers.setETag(etag);
+        headers.setCacheControl(EXPORT_CACHE_CONTROL);
+
+        byte[] cached = exportCache.get(key);
+        if (cached != null) {
+            headers.setContentLength(cached.length);
+            return new ResponseEntity<>(out -> out.write(cached), headers, HttpStatus.OK);
+        }
+        StreamingResponseBody body = out -> {
+            ExportCache.Capture capture = exportCache.capture(key, out);
+            render.writeTo(capture);
+            capture.store();
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    // Everything besides the school's data version that the student list output depends on
+    private String studentExportParams(String report, Long schoolId, Long classSectionId,
+                                       String searchTerm, String schoolName) {
+        return report + "|" + schoolId + "|" + classSectionId + "|"
+                + (searchTerm == null ? "" : searchTerm.toLowerCase(Locale.ROOT)) + "|" + schoolName
+                + "|" + LocalDate.now();
+    }
+
+    private String attendanceExportParams(String report, Long userId, LocalDate startDate, LocalDate endDate) {
+        return report + "|" + userId + "|" + startDate + "|" + endDate + "|" + LocalDate.now();
     }
 }
\ No newline at end of file
@@ -2,20 +2,19 @@ package com.schoolmanagement.controller;
 
 import com.schoolmanagement.dto.ApiResponse;
 import com.schoolmanagement.dto.PageResponse;
+import com.schoolmanagement.dto.SchoolStatisticsResponse;
 import com.schoolmanagement.entity.School;
 import com.schoolmanagement.service.SchoolService;
+import com.schoolmanagement.service.SchoolStatisticsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * School Controller - REST API endpoints for school management
@@ -28,6 +27,7 @@ import java.util.Map;
 public class SchoolController {
 
     private final SchoolService schoolService;
+    private final SchoolStatisticsService schoolStatisticsService;
 
     /**
      * Get all schools with pagination
@@ -36,11 +36,11 @@ public class SchoolController {
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public ResponseEntity<ApiResponse<PageResponse<School>>> getAllSchools(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "exact") String totals) {
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<School> schoolPage = schoolService.getAllSchools(pageable);
-        PageResponse<School> response = PageResponse.fromPage(schoolPage);
+        PageResponse<School> response = schoolService.getAllSchools(pageable, PageResponse.Totals.from(totals));
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -139,16 +139,12 @@ public class SchoolController {
     }
 
     /**
-     * Get school statistics
+     * Get school statistics (network-wide and per school) from the latest snapshot
      */
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getSchoolStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalSchools", schoolService.countTotalSchools());
-        stats.put("activeSchools", schoolService.countActiveSchools());
-        stats.put("inactiveSchools", schoolService.countTotalSchools() - schoolService.countActiveSchools());
-
+    public ResponseEntity<ApiResponse<SchoolStatisticsResponse>> getSchoolStatistics() {
+        SchoolStatisticsResponse stats = schoolStatisticsService.getSnapshot();
         return ResponseEntity.ok(ApiResponse.success(stats));
     }
-}
\ No newline at end of file
+}
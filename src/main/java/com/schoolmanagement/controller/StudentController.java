@@ -2,14 +2,23 @@ package com.schoolmanagement.controller;
 
 import com.schoolmanagement.dto.StudentCreateRequest;
 import com.schoolmanagement.dto.ApiResponse;
+import com.schoolmanagement.dto.CursorPageResponse;
 import com.schoolmanagement.dto.PageResponse;
+import com.schoolmanagement.dto.StudentImportReport;
 import com.schoolmanagement.dto.StudentResponse;
+import com.schoolmanagement.dto.StudentSearchMatch;
+import com.schoolmanagement.dto.StudentSuggestion;
+import com.schoolmanagement.service.StudentImportService;
 import com.schoolmanagement.service.StudentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
 
 /**
  * UPDATED: Added search endpoint with filters
@@ -22,9 +31,11 @@ import org.springframework.web.bind.annotation.*;
 public class StudentController {
 
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
 
     /**
      * UPDATED: Get all students with pagination
+     * totals=exact (default) counts, totals=approximate uses cached counts, totals=none only reports hasNext
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
@@ -32,10 +43,28 @@ public class StudentController {
             @RequestParam(required = false) Long schoolId,
             @RequestParam(required = false) Long classSectionId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "exact") String totals) {
 
         PageResponse<StudentResponse> response = studentService.getAllStudents(
-                schoolId, classSectionId, page, size
+                schoolId, classSectionId, page, size, PageResponse.Totals.from(totals)
+        );
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * Keyset mode for listings: selected when a cursor parameter is present (empty for the first page)
+     */
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<StudentResponse>>> getStudentsByCursor(
+            @RequestParam(required = false) Long schoolId,
+            @RequestParam(required = false) Long classSectionId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CursorPageResponse<StudentResponse> response = studentService.getStudentsByCursor(
+                schoolId, null, classSectionId, null, cursor, size, "id", "asc"
         );
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -53,14 +82,66 @@ public class StudentController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "exact") String totals) {
 
         PageResponse<StudentResponse> response = studentService.searchStudents(
-                schoolId, searchTerm, classSectionId, isActive, page, size, sortBy, sortDir
+                schoolId, searchTerm, classSectionId, isActive, page, size, sortBy, sortDir,
+                PageResponse.Totals.from(totals)
         );
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * Keyset mode for search: selected when a cursor parameter is present (empty for the first page)
+     */
+    @GetMapping(value = "/search", params = "cursor")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<StudentResponse>>> searchStudentsByCursor(
+            @RequestParam Long schoolId,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) Long classSectionId,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        CursorPageResponse<StudentResponse> response = studentService.getStudentsByCursor(
+                schoolId, searchTerm, classSectionId, isActive, cursor, size, sortBy, sortDir
+        );
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * Fuzzy mode for search: phonetic candidates ranked by edit distance
+     */
+    @GetMapping(value = "/search", params = "mode=fuzzy")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
+    public ResponseEntity<ApiResponse<List<StudentSearchMatch>>> fuzzySearchStudents(
+            @RequestParam Long schoolId,
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<StudentSearchMatch> matches = studentService.fuzzySearchStudents(schoolId, searchTerm, limit);
+        return ResponseEntity.ok(ApiResponse.success(matches));
+    }
+
+    /**
+     * Typeahead: top matches for a name, roll number or admission number prefix
+     */
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL', 'TEACHER')")
+    public ResponseEntity<ApiResponse<List<StudentSuggestion>>> suggestStudents(
+            @RequestParam Long schoolId,
+            @RequestParam String q,
+            @RequestParam(required = false) Long classSectionId,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<StudentSuggestion> suggestions = studentService.suggestStudents(schoolId, q, classSectionId, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<StudentResponse>> getStudentById(@PathVariable Long id) {
         StudentResponse response = studentService.getStudentById(id);
@@ -75,6 +156,18 @@ public class StudentController {
         return ResponseEntity.ok(ApiResponse.success("Student created successfully", response));
     }
 
+    /**
+     * Bulk import from a CSV or XLSX file with a header row; returns per-row errors
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL')")
+    public ResponseEntity<ApiResponse<StudentImportReport>> importStudents(
+            @RequestParam Long schoolId,
+            @RequestParam("file") MultipartFile file) {
+        StudentImportReport report = studentImportService.importStudents(schoolId, file);
+        return ResponseEntity.ok(ApiResponse.success("Student import completed", report));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'PRINCIPAL')")
     public ResponseEntity<ApiResponse<Void>> deleteStudent(@PathVariable Long id) {
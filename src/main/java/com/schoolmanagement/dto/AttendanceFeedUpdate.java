@@ -0,0 +1,37 @@
+package com.schoolmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Incremental attendance update pushed to principal consoles over SSE
+ * File: backend/src/main/java/com/schoolmanagement/dto/AttendanceFeedUpdate.java
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceFeedUpdate {
+
+    private Long schoolId;
+    private LocalDateTime timestamp;
+    private List<SectionDelta> sections;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SectionDelta {
+        private Long classSectionId;
+        private LocalDate attendanceDate;
+        private int presentDelta;
+        private int absentDelta;
+        private int markedDelta;
+    }
+}
@@ -0,0 +1,41 @@
+package com.schoolmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Per-item outcome of a bulk attendance submission
+ * File: backend/src/main/java/com/schoolmanagement/dto/AttendanceMarkResponse.java
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceMarkResponse {
+
+    private int created;
+    private int updated;
+    private int rejected;
+    private List<ItemResult> results;
+
+    public enum Outcome {
+        CREATED, UPDATED, REJECTED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private Long classSectionId;
+        private Long studentId;
+        private LocalDate attendanceDate;
+        private Outcome outcome;
+        private String message;
+    }
+}
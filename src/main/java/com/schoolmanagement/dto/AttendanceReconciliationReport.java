@@ -0,0 +1,28 @@
+package com.schoolmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Drift found (and repaired) when rebuilding attendance rollups from the raw table
+ * File: backend/src/main/java/com/schoolmanagement/dto/AttendanceReconciliationReport.java
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceReconciliationReport {
+
+    private Integer academicYear;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int sectionDaysChecked;
+    private int sectionDaysDrifted;
+    private int studentsChecked;
+    private int studentsDrifted;
+    private long durationMs;
+}
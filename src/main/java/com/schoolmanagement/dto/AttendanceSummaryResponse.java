@@ -0,0 +1,50 @@
+package com.schoolmanagement.dto;
+
+import com.schoolmanagement.entity.AttendanceSectionDaily;
+import com.schoolmanagement.entity.AttendanceStudentYearly;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Attendance counts by status with the PRESENT percentage of marked days
+ * File: backend/src/main/java/com/schoolmanagement/dto/AttendanceSummaryResponse.java
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceSummaryResponse {
+
+    private int present;
+    private int absent;
+    private int late;
+    private int halfDay;
+    private int leave;
+    private int total;
+    private double percentage;
+
+    public static AttendanceSummaryResponse of(int present, int absent, int late, int halfDay, int leave) {
+        int total = present + absent + late + halfDay + leave;
+        return AttendanceSummaryResponse.builder()
+                .present(present)
+                .absent(absent)
+                .late(late)
+                .halfDay(halfDay)
+                .leave(leave)
+                .total(total)
+                .percentage(total == 0 ? 0 : ((double) present / total) * 100)
+                .build();
+    }
+
+    public static AttendanceSummaryResponse fromEntity(AttendanceSectionDaily rollup) {
+        return of(rollup.getPresentCount(), rollup.getAbsentCount(), rollup.getLateCount(),
+                rollup.getHalfDayCount(), rollup.getLeaveCount());
+    }
+
+    public static AttendanceSummaryResponse fromEntity(AttendanceStudentYearly rollup) {
+        return of(rollup.getPresentCount(), rollup.getAbsentCount(), rollup.getLateCount(),
+                rollup.getHalfDayCount(), rollup.getLeaveCount());
+    }
+}
@@ -0,0 +1,19 @@
+package com.schoolmanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Attendance for one or more class sections submitted in a single request
+ * File: backend/src/main/java/com/schoolmanagement/dto/BulkAttendanceMarkRequest.java
+ */
+@Data
+public class BulkAttendanceMarkRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one class section is required")
+    private List<AttendanceMarkRequest> sections;
+}
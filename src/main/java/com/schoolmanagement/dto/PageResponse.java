@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 @Data
@@ -16,10 +17,29 @@ public class PageResponse<T> {
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    // Null in slice mode (no count query)
+    private Long totalElements;
+    private Integer totalPages;
     private boolean first;
     private boolean last;
+    private Boolean hasNext;
+    // True when totals come from the short-lived totals cache rather than a fresh count
+    private Boolean approximateTotals;
+
+    /**
+     * How a paged endpoint reports totals: an exact count, a cached approximate count, or none
+     */
+    public enum Totals {
+        EXACT, APPROXIMATE, NONE;
+
+        public static Totals from(String value) {
+            try {
+                return valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("totals must be one of exact, approximate or none");
+            }
+        }
+    }
 
     public static <T> PageResponse<T> fromPage(Page<T> page) {
         return PageResponse.<T>builder()
@@ -32,4 +52,31 @@ public class PageResponse<T> {
                 .last(page.isLast())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Slice mode: only reports whether another page follows
+     */
+    public static <T> PageResponse<T> fromSlice(Slice<T> slice) {
+        return PageResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .hasNext(slice.hasNext())
+                .build();
+    }
+
+    /**
+     * Slice plus a total obtained separately; exact or approximate depending on its source
+     */
+    public static <T> PageResponse<T> fromSlice(Slice<T> slice, long totalElements, boolean approximate) {
+        PageResponse<T> response = fromSlice(slice);
+        response.setTotalElements(totalElements);
+        response.setTotalPages(slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / slice.getSize()));
+        if (approximate) {
+            response.setApproximateTotals(true);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,72 @@
+package com.schoolmanagement.dto;
+
+import com.schoolmanagement.entity.PromotionRun;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plan (dry run) or progress of a year-end promotion
+ * File: backend/src/main/java/com/schoolmanagement/dto/PromotionReport.java
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromotionReport {
+
+    // Null for a dry run
+    private Long runId;
+    private PromotionRun.Status status;
+    private boolean dryRun;
+    private String fromAcademicYear;
+    private String toAcademicYear;
+    private int totalStudents;
+    private int studentsMoved;
+    private int studentsGraduated;
+    private int sectionsCreated;
+    private int percentComplete;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // Only in plans
+    private List<SectionMove> sections;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SectionMove {
+        private Long fromClassSectionId;
+        private String fromName;
+        // Null when the target section does not exist yet (created by the run) or the class graduates
+        private Long toClassSectionId;
+        private String toName;
+        private int students;
+        private Integer capacity;
+        private boolean graduating;
+    }
+
+    public static PromotionReport fromEntity(PromotionRun run) {
+        int done = run.getStudentsMoved() + run.getStudentsGraduated();
+        return PromotionReport.builder()
+                .runId(run.getId())
+                .status(run.getStatus())
+                .fromAcademicYear(run.getFromAcademicYear())
+                .toAcademicYear(run.getToAcademicYear())
+                .totalStudents(run.getTotalStudents())
+                .studentsMoved(run.getStudentsMoved())
+                .studentsGraduated(run.getStudentsGraduated())
+                .sectionsCreated(run.getSectionsCreated())
+                .percentComplete(run.getTotalStudents() == 0 ? 100
+                        : (int) Math.min(100, done * 100L / run.getTotalStudents()))
+                .errorMessage(run.getErrorMessage())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.schoolmanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Year-end promotion of a school: every active student in a section of a mapped class moves to
+ * the same-named section of the target class in the new academic year
+ * File: backend/src/main/java/com/schoolmanagement/dto/PromotionRequest.java
+ */
+@Data
+public class PromotionRequest {
+
+    @NotBlank(message = "From academic year is required")
+    private String fromAcademicYear;
+
+    @NotBlank(message = "To academic year is required")
+    private String toAcademicYear;
+
+    @NotEmpty(message = "At least one class mapping is required")
+    @Valid
+    private List<ClassMapping> mappings;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ClassMapping {
+        @NotNull(message = "From class ID is required")
+        private Long fromClassId;
+
+        // Null graduates the class: its students are marked inactive
+        private Long toClassId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.schoolmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status and progress of a background report export
+ * File: backend/src/main/java/com/schoolmanagement/dto/ReportJobResponse.java
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+
+    private String jobId;
+    private Status status;
+    private String fileName;
+    private long totalRows;
+    private long rowsWritten;
+    private int percentComplete;
+    // Set once the file is ready
+    private Long sizeBytes;
+    private String errorMessage;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // When the job and its file are dropped
+    private LocalDateTime expiresAt;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,44 @@
+package com.schoolmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Network-wide and per-school statistics snapshot for the super-admin console
+ * File: backend/src/main/java/com/schoolmanagement/dto/SchoolStatisticsResponse.java
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchoolStatisticsResponse {
+
+    private LocalDateTime asOf;
+    private long totalSchools;
+    private long activeSchools;
+    private long inactiveSchools;
+    private long totalStudents;
+    private long totalTeachers;
+    private double attendanceRate;
+    private double examPassRate;
+    private List<SchoolStatistics> schools;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SchoolStatistics {
+        private Long schoolId;
+        private String schoolName;
+        private Boolean isActive;
+        private long students;
+        private long teachers;
+        private double attendanceRate;
+        private double examPassRate;
+    }
+}
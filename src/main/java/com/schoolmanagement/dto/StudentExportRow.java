@@ -0,0 +1,32 @@
+package com.schoolmanagement.dto;
+
+import lombok.Value;
+
+/**
+ * Flat row for student list exports, selected with a JPQL constructor expression and streamed
+ * so exports never hold managed entities or the whole list in memory
+ * File: backend/src/main/java/com/schoolmanagement/dto/StudentExportRow.java
+ */
+@Value
+public class StudentExportRow {
+
+    String admissionNumber;
+    String firstName;
+    String lastName;
+    String className;
+    String sectionName;
+    Integer rollNumber;
+    String fatherName;
+    String fatherPhone;
+    String motherName;
+    String motherPhone;
+    String bloodGroup;
+    String email;
+    String phone;
+    String address;
+    Boolean isActive;
+
+    public String getFullName() {
+        return firstName + " " + (lastName != null ? lastName : "");
+    }
+}
@@ -0,0 +1,33 @@
+package com.schoolmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk student import with one entry per rejected row
+ * File: backend/src/main/java/com/schoolmanagement/dto/StudentImportReport.java
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportReport {
+
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private long durationMs;
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private int rowNumber;
+        private String message;
+    }
+}
@@ -0,0 +1,69 @@
+package com.schoolmanagement.dto;
+
+import com.schoolmanagement.entity.User;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Flat read model for student listings, selected with a JPQL constructor expression so a
+ * page is one select over the joined tables instead of a graph of managed entities
+ * File: backend/src/main/java/com/schoolmanagement/dto/StudentListItem.java
+ */
+@Value
+public class StudentListItem {
+
+    Long id;
+    String admissionNumber;
+    Integer rollNumber;
+    LocalDate admissionDate;
+    String fatherName;
+    String fatherPhone;
+    String motherName;
+    String motherPhone;
+    String bloodGroup;
+    Boolean isActive;
+    Long userId;
+    String username;
+    String email;
+    String firstName;
+    String lastName;
+    User.Role role;
+    Boolean userActive;
+    Long schoolId;
+    String schoolName;
+    Long classSectionId;
+    String className;
+    String sectionName;
+
+    public StudentResponse toResponse() {
+        return StudentResponse.builder()
+                .id(id)
+                .admissionNumber(admissionNumber)
+                .rollNumber(rollNumber)
+                .admissionDate(admissionDate)
+                .user(UserResponse.builder()
+                        .id(userId)
+                        .username(username)
+                        .email(email)
+                        .firstName(firstName)
+                        .lastName(lastName)
+                        .role(role.name())
+                        .schoolId(schoolId)
+                        .schoolName(schoolName)
+                        .isActive(userActive)
+                        .build())
+                .classSection(StudentResponse.ClassSectionResponse.builder()
+                        .id(classSectionId)
+                        .className(className)
+                        .sectionName(sectionName)
+                        .build())
+                .fatherName(fatherName)
+                .fatherPhone(fatherPhone)
+                .motherName(motherName)
+                .motherPhone(motherPhone)
+                .bloodGroup(bloodGroup)
+                .isActive(isActive)
+                .build();
+    }
+}
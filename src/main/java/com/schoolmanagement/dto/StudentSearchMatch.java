@@ -0,0 +1,20 @@
+package com.schoolmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fuzzy search hit with its edit distance from the query (0 = exact)
+ * File: backend/src/main/java/com/schoolmanagement/dto/StudentSearchMatch.java
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSearchMatch {
+
+    private StudentResponse student;
+    private int distance;
+}
@@ -0,0 +1,24 @@
+package com.schoolmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typeahead entry for student lookup
+ * File: backend/src/main/java/com/schoolmanagement/dto/StudentSuggestion.java
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSuggestion {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String admissionNumber;
+    private Integer rollNumber;
+    private Long classSectionId;
+}
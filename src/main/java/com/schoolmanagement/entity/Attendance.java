@@ -5,7 +5,9 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_user_date", columnNames = {"user_id", "attendance_date"})
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
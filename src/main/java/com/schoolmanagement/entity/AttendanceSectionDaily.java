@@ -0,0 +1,50 @@
+package com.schoolmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * Attendance counts by status per class section per day, maintained incrementally
+ * File: backend/src/main/java/com/schoolmanagement/entity/AttendanceSectionDaily.java
+ */
+@Entity
+@Table(name = "attendance_section_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_section_daily", columnNames = {"class_section_id", "attendance_date"})
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceSectionDaily extends BaseEntity {
+
+    @Column(name = "school_id", nullable = false)
+    private Long schoolId;
+
+    @Column(name = "class_section_id", nullable = false)
+    private Long classSectionId;
+
+    @Column(name = "attendance_date", nullable = false)
+    private LocalDate attendanceDate;
+
+    @Column(name = "present_count", nullable = false)
+    @Builder.Default
+    private Integer presentCount = 0;
+
+    @Column(name = "absent_count", nullable = false)
+    @Builder.Default
+    private Integer absentCount = 0;
+
+    @Column(name = "late_count", nullable = false)
+    @Builder.Default
+    private Integer lateCount = 0;
+
+    @Column(name = "half_day_count", nullable = false)
+    @Builder.Default
+    private Integer halfDayCount = 0;
+
+    @Column(name = "leave_count", nullable = false)
+    @Builder.Default
+    private Integer leaveCount = 0;
+}
@@ -0,0 +1,50 @@
+package com.schoolmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running attendance totals by status per student per academic year
+ * File: backend/src/main/java/com/schoolmanagement/entity/AttendanceStudentYearly.java
+ */
+@Entity
+@Table(name = "attendance_student_yearly", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_student_yearly", columnNames = {"user_id", "academic_year"})
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceStudentYearly extends BaseEntity {
+
+    @Column(name = "school_id", nullable = false)
+    private Long schoolId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Calendar year in which the academic year starts
+    @Column(name = "academic_year", nullable = false)
+    private Integer academicYear;
+
+    @Column(name = "present_count", nullable = false)
+    @Builder.Default
+    private Integer presentCount = 0;
+
+    @Column(name = "absent_count", nullable = false)
+    @Builder.Default
+    private Integer absentCount = 0;
+
+    @Column(name = "late_count", nullable = false)
+    @Builder.Default
+    private Integer lateCount = 0;
+
+    @Column(name = "half_day_count", nullable = false)
+    @Builder.Default
+    private Integer halfDayCount = 0;
+
+    @Column(name = "leave_count", nullable = false)
+    @Builder.Default
+    private Integer leaveCount = 0;
+}
@@ -0,0 +1,18 @@
+package com.schoolmanagement.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Identifier generated by {@link BatchIdGenerator}; the strategy is chosen by configuration
+ * File: backend/src/main/java/com/schoolmanagement/entity/BatchId.java
+ */
+@IdGeneratorType(BatchIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface BatchId {
+}
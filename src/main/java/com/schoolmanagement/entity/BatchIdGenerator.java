@@ -0,0 +1,191 @@
+package com.schoolmanagement.entity;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.jdbc.AbstractReturningWork;
+import org.hibernate.mapping.SimpleValue;
+
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Pluggable id generation for {@link BaseEntity}, chosen with the Hibernate setting
+ * id-generation.strategy (spring.jpa.properties.id-generation.*):
+ * identity - database AUTO_INCREMENT; Hibernate cannot batch these inserts
+ * pooled - blocks of id-generation.block-size ids reserved per table in id_sequences,
+ * seeded above the table's current MAX(id) so existing ids and foreign keys stay valid
+ * time-ordered - 53-bit ids (seconds since 2025, id-generation.node-id, sequence), unique
+ * across nodes without a database round trip and exact as JavaScript numbers
+ * File: backend/src/main/java/com/schoolmanagement/entity/BatchIdGenerator.java
+ */
+public class BatchIdGenerator extends IdentityGenerator implements BeforeExecutionGenerator {
+
+    public static final String STRATEGY_SETTING = "id-generation.strategy";
+    public static final String BLOCK_SIZE_SETTING = "id-generation.block-size";
+    public static final String NODE_ID_SETTING = "id-generation.node-id";
+
+    // 31 bits of seconds (until 2093), 8 bits of node, 14 bits of per-second sequence
+    private static final long EPOCH_SECOND = 1735689600L;
+    private static final int NODE_BITS = 8;
+    private static final int SEQUENCE_BITS = 14;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static final String NEXT_BLOCK_SQL =
+            "UPDATE id_sequences SET next_val = next_val + ? WHERE sequence_name = ?";
+
+    private static final String READ_BLOCK_SQL =
+            "SELECT next_val FROM id_sequences WHERE sequence_name = ?";
+
+    private static final String SEED_SQL =
+            "INSERT INTO id_sequences (sequence_name, next_val) " +
+            "SELECT ?, COALESCE(MAX(id), 0) + 1 + ? FROM %s";
+
+    public enum Strategy {
+        IDENTITY, POOLED, TIME_ORDERED
+    }
+
+    private final Strategy strategy;
+    private final String tableName;
+    private final int blockSize;
+    private final long nodeId;
+
+    // Pooled: the reserved block is [nextId, blockLimit)
+    private long nextId;
+    private long blockLimit;
+
+    // Time-ordered
+    private long lastSecond;
+    private long sequence;
+
+    public BatchIdGenerator(BatchId config, Member member, CustomIdGeneratorCreationContext context) {
+        Map<String, Object> settings = context.getServiceRegistry()
+                .requireService(ConfigurationService.class).getSettings();
+        this.strategy = Strategy.valueOf(setting(settings, STRATEGY_SETTING, "identity")
+                .toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.tableName = context.getRootClass().getTable().getName();
+        this.blockSize = Integer.parseInt(setting(settings, BLOCK_SIZE_SETTING, "100"));
+        this.nodeId = Long.parseLong(setting(settings, NODE_ID_SETTING, "0"));
+        if (nodeId < 0 || nodeId >= 1L << NODE_BITS) {
+            throw new RuntimeException(NODE_ID_SETTING + " must be between 0 and " + ((1L << NODE_BITS) - 1));
+        }
+        if (strategy == Strategy.IDENTITY && context.getRootClass().getIdentifier() instanceof SimpleValue id) {
+            // Schema export only emits AUTO_INCREMENT for a table whose id uses the built-in identity strategy
+            id.setIdentifierGeneratorStrategy("identity");
+            context.getRootClass().getTable().setIdentifierValue(id);
+        }
+    }
+
+    /**
+     * Ids for rows of the entity written with plain JDBC, drawn from the same allocator as
+     * Hibernate inserts; supplies null when the database assigns ids
+     */
+    public static Supplier<Long> jdbcIds(EntityManager entityManager, Class<?> entityClass) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        Generator generator = session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entityClass).getGenerator();
+        if (generator.generatedOnExecution()) {
+            return () -> null;
+        }
+        BeforeExecutionGenerator assigned = (BeforeExecutionGenerator) generator;
+        return () -> (Long) assigned.generate(session, null, null, EventType.INSERT);
+    }
+
+    @Override
+    public boolean generatedOnExecution() {
+        return strategy == Strategy.IDENTITY;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return switch (strategy) {
+            case POOLED -> nextPooled(session);
+            case TIME_ORDERED -> nextTimeOrdered();
+            case IDENTITY -> throw new IllegalStateException("Identity ids are assigned by the database");
+        };
+    }
+
+    // Helper Methods
+    private synchronized long nextPooled(SharedSessionContractImplementor session) {
+        if (nextId >= blockLimit) {
+            // Reserved in its own transaction so a rollback never hands the same block out twice
+            nextId = session.getTransactionCoordinator().createIsolationDelegate()
+                    .delegateWork(new AbstractReturningWork<Long>() {
+                        @Override
+                        public Long execute(Connection connection) throws SQLException {
+                            return reserveBlock(connection);
+                        }
+                    }, true);
+            blockLimit = nextId + blockSize;
+        }
+        return nextId++;
+    }
+
+    private long reserveBlock(Connection connection) throws SQLException {
+        if (!bumpBlock(connection)) {
+            // First block for this table: start above the rows it already has
+            try (PreparedStatement seed = connection.prepareStatement(String.format(SEED_SQL, tableName))) {
+                seed.setString(1, tableName);
+                seed.setInt(2, blockSize);
+                seed.executeUpdate();
+            } catch (SQLException e) {
+                // Another node may have seeded the row first
+                if (!bumpBlock(connection)) {
+                    throw e;
+                }
+            }
+        }
+        return readBlockEnd(connection) - blockSize;
+    }
+
+    private boolean bumpBlock(Connection connection) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(NEXT_BLOCK_SQL)) {
+            update.setInt(1, blockSize);
+            update.setString(2, tableName);
+            return update.executeUpdate() == 1;
+        }
+    }
+
+    private long readBlockEnd(Connection connection) throws SQLException {
+        try (PreparedStatement read = connection.prepareStatement(READ_BLOCK_SQL)) {
+            read.setString(1, tableName);
+            try (ResultSet rs = read.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private synchronized long nextTimeOrdered() {
+        long second = Math.max(Instant.now().getEpochSecond() - EPOCH_SECOND, lastSecond);
+        if (second == lastSecond) {
+            if (++sequence > MAX_SEQUENCE) {
+                // Sequence exhausted: borrow the next second rather than block the caller
+                second++;
+                sequence = 0;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastSecond = second;
+        return (second << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    private static String setting(Map<String, Object> settings, String name, String defaultValue) {
+        Object value = settings.get(name);
+        return value == null || value.toString().isBlank() ? defaultValue : value.toString().trim();
+    }
+}
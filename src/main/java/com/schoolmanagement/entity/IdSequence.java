@@ -0,0 +1,24 @@
+package com.schoolmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Next free id per table for the pooled id strategy. Not a BaseEntity: the generator itself
+ * reads and bumps these rows with plain JDBC.
+ * File: backend/src/main/java/com/schoolmanagement/entity/IdSequence.java
+ */
+@Entity
+@Table(name = "id_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdSequence {
+
+    @Id
+    @Column(name = "sequence_name", length = 100)
+    private String sequenceName;
+
+    @Column(name = "next_val", nullable = false)
+    private Long nextVal;
+}
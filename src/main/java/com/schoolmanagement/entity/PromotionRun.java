@@ -0,0 +1,68 @@
+package com.schoolmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One academic-year promotion of a school: its class mapping, status and progress. Progress
+ * counters are bumped in the same transaction as each chunk of moved students, so an
+ * interrupted run can be resumed from what is actually committed.
+ * File: backend/src/main/java/com/schoolmanagement/entity/PromotionRun.java
+ */
+@Entity
+@Table(name = "promotion_runs")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PromotionRun extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "school_id", nullable = false)
+    private School school;
+
+    @Column(name = "from_academic_year", nullable = false, length = 20)
+    private String fromAcademicYear;
+
+    @Column(name = "to_academic_year", nullable = false, length = 20)
+    private String toAcademicYear;
+
+    // JSON list of {fromClassId, toClassId}; a null toClassId graduates the class
+    @Column(name = "class_mapping", nullable = false, columnDefinition = "TEXT")
+    private String classMapping;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "total_students", nullable = false)
+    private Integer totalStudents;
+
+    @Column(name = "students_moved", nullable = false)
+    @Builder.Default
+    private Integer studentsMoved = 0;
+
+    @Column(name = "students_graduated", nullable = false)
+    @Builder.Default
+    private Integer studentsGraduated = 0;
+
+    @Column(name = "sections_created", nullable = false)
+    @Builder.Default
+    private Integer sectionsCreated = 0;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+}
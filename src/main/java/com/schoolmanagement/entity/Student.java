@@ -6,6 +6,18 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "students")
+@NamedEntityGraph(name = Student.WITH_DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "user"),
+                @NamedAttributeNode(value = "classSection", subgraph = "classSection")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("school")),
+                @NamedSubgraph(name = "classSection", attributeNodes = {
+                        @NamedAttributeNode("classEntity"),
+                        @NamedAttributeNode("section")
+                })
+        })
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -13,6 +25,9 @@ import java.time.LocalDate;
 @Builder
 public class Student extends BaseEntity {
 
+    // Everything StudentResponse.fromEntity touches, loaded in the same select
+    public static final String WITH_DETAILS = "Student.withDetails";
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", unique = true, nullable = false)
     private User user;
@@ -1,9 +1,12 @@
 package com.schoolmanagement.entity;
 
+import com.schoolmanagement.util.PhoneticKey;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "users")
@@ -74,6 +77,26 @@ public class User extends BaseEntity {
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
+    // Precomputed PhoneticKey of every first/last name word for typo-tolerant search
+    @ElementCollection
+    @CollectionTable(name = "user_phonetic_keys", joinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_user_phonetic_keys_key", columnList = "phonetic_key, user_id"))
+    @Column(name = "phonetic_key", nullable = false, length = PhoneticKey.MAX_LENGTH)
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<String> phoneticKeys = new HashSet<>();
+
+    @PrePersist
+    @PreUpdate
+    void computePhoneticKeys() {
+        Set<String> keys = PhoneticKey.stored(firstName, lastName);
+        if (!phoneticKeys.equals(keys)) {
+            phoneticKeys.clear();
+            phoneticKeys.addAll(keys);
+        }
+    }
+
     public enum Gender {
         MALE, FEMALE, OTHER
     }
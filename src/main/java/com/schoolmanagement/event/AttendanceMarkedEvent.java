@@ -0,0 +1,30 @@
+package com.schoolmanagement.event;
+
+import com.schoolmanagement.entity.Attendance;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by AttendanceService after a batch of attendance rows has been written
+ * File: backend/src/main/java/com/schoolmanagement/event/AttendanceMarkedEvent.java
+ */
+@Value
+public class AttendanceMarkedEvent {
+
+    List<Change> changes;
+
+    @Value
+    @Builder
+    public static class Change {
+        Long schoolId;
+        Long classSectionId;
+        Long previousClassSectionId; // null when the row was created
+        Long userId;
+        LocalDate attendanceDate;
+        Attendance.AttendanceStatus previousStatus; // null when the row was created
+        Attendance.AttendanceStatus status;
+    }
+}
@@ -0,0 +1,27 @@
+package com.schoolmanagement.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Published by StudentService when a student is created or deleted
+ * File: backend/src/main/java/com/schoolmanagement/event/StudentChangedEvent.java
+ */
+@Value
+@Builder
+public class StudentChangedEvent {
+
+    Type type;
+    Long schoolId;
+    Long studentId;
+    Long userId;
+    Long classSectionId;
+    String firstName;
+    String lastName;
+    String admissionNumber;
+    Integer rollNumber;
+
+    public enum Type {
+        CREATED, DELETED
+    }
+}
@@ -0,0 +1,19 @@
+package com.schoolmanagement.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Published by PromotionService after a school's students were moved to the new academic year;
+ * class sections and roll numbers of many students changed at once
+ * File: backend/src/main/java/com/schoolmanagement/event/StudentsPromotedEvent.java
+ */
+@Value
+@Builder
+public class StudentsPromotedEvent {
+
+    Long schoolId;
+    Long runId;
+    String fromAcademicYear;
+    String toAcademicYear;
+}
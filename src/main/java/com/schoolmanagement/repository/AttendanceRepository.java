@@ -1,14 +1,21 @@
 package com.schoolmanagement.repository;
 
 import com.schoolmanagement.entity.Attendance;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+public interface AttendanceRepository extends JpaRepository<Attendance, Long>, AttendanceRepositoryCustom {
     List<Attendance> findByUserIdAndAttendanceDateBetween(
             Long userId, LocalDate startDate, LocalDate endDate
     );
@@ -16,4 +23,50 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
             Long classSectionId, LocalDate date
     );
     Optional<Attendance> findByUserIdAndAttendanceDate(Long userId, LocalDate date);
+
+    // (date, status, remarks, marked-by first name) of a user's attendance in date order, streamed for reports
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingFetch.ROW_BY_ROW))
+    @Query("SELECT a.attendanceDate, a.status, a.remarks, m.firstName FROM Attendance a LEFT JOIN a.markedBy m " +
+            "WHERE a.user.id = :userId AND a.attendanceDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY a.attendanceDate")
+    Stream<Object[]> streamReportRows(@Param("userId") Long userId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    long countByUserIdAndAttendanceDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+
+    // (user id, days recorded, days present) per user, for report cards
+    @Query("SELECT a.user.id, COUNT(a), " +
+            "SUM(CASE WHEN a.status = com.schoolmanagement.entity.Attendance.AttendanceStatus.PRESENT THEN 1 ELSE 0 END) " +
+            "FROM Attendance a WHERE a.user.id IN :userIds AND a.attendanceDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY a.user.id")
+    List<Object[]> countPresentGroupedByUser(@Param("userIds") Collection<Long> userIds,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+
+    // Existing (user id, date, status, class section id, id) for a set of (user, date) keys,
+    // used to classify upserts and to keep the existing row's id
+    @Query("SELECT a.user.id, a.attendanceDate, a.status, a.classSection.id, a.id FROM Attendance a " +
+            "WHERE a.user.id IN :userIds AND a.attendanceDate IN :dates")
+    List<Object[]> findStatusesByUserIdsAndDates(@Param("userIds") Collection<Long> userIds,
+                                                 @Param("dates") Collection<LocalDate> dates);
+
+    // Raw (user id, date, status) tuples for rebuilding in-memory attendance state
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingFetch.ROW_BY_ROW))
+    @Query("SELECT a.user.id, a.attendanceDate, a.status FROM Attendance a WHERE a.attendanceDate >= :from")
+    Stream<Object[]> streamStatusesSince(@Param("from") LocalDate from);
+
+    // Raw counts for rollup reconciliation: (school id, class section id, date, status, count)
+    @Query("SELECT a.school.id, a.classSection.id, a.attendanceDate, a.status, COUNT(a) FROM Attendance a " +
+            "WHERE a.attendanceDate BETWEEN :startDate AND :endDate AND a.classSection.id IS NOT NULL " +
+            "GROUP BY a.school.id, a.classSection.id, a.attendanceDate, a.status")
+    List<Object[]> countBySectionDateAndStatus(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    // Raw counts for rollup reconciliation: (school id, user id, status, count)
+    @Query("SELECT a.school.id, a.user.id, a.status, COUNT(a) FROM Attendance a " +
+            "WHERE a.attendanceDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY a.school.id, a.user.id, a.status")
+    List<Object[]> countByUserAndStatus(@Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
 }
\ No newline at end of file
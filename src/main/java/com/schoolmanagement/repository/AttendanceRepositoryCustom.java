@@ -0,0 +1,34 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.Attendance;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Set-based write operations for attendance that bypass the persistence context
+ * File: backend/src/main/java/com/schoolmanagement/repository/AttendanceRepositoryCustom.java
+ */
+public interface AttendanceRepositoryCustom {
+
+    /**
+     * Insert or update all rows in one JDBC batch, keyed on (user_id, attendance_date); a new
+     * id is drawn only for rows without the existing row's id
+     */
+    int[] upsertAll(List<AttendanceUpsertRow> rows);
+
+    @Value
+    @Builder(toBuilder = true)
+    class AttendanceUpsertRow {
+        Long id; // existing row's id, null for a new row
+        Long schoolId;
+        Long userId;
+        Long classSectionId;
+        LocalDate attendanceDate;
+        Attendance.AttendanceStatus status;
+        String remarks;
+        Long markedById;
+    }
+}
@@ -0,0 +1,71 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.Attendance;
+import com.schoolmanagement.entity.BatchIdGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * JDBC implementation of {@link AttendanceRepositoryCustom}
+ * File: backend/src/main/java/com/schoolmanagement/repository/AttendanceRepositoryImpl.java
+ */
+@RequiredArgsConstructor
+public class AttendanceRepositoryImpl implements AttendanceRepositoryCustom {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO attendance (id, school_id, user_id, class_section_id, attendance_date, " +
+            "status, remarks, marked_by, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "school_id = VALUES(school_id), " +
+            "class_section_id = VALUES(class_section_id), " +
+            "status = VALUES(status), " +
+            "remarks = VALUES(remarks), " +
+            "marked_by = VALUES(marked_by), " +
+            "updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int[] upsertAll(List<AttendanceUpsertRow> rows) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        Supplier<Long> ids = BatchIdGenerator.jdbcIds(entityManager, Attendance.class);
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, row.getId() != null ? row.getId() : ids.get(), Types.BIGINT);
+            ps.setLong(2, row.getSchoolId());
+            ps.setLong(3, row.getUserId());
+            ps.setLong(4, row.getClassSectionId());
+            ps.setDate(5, Date.valueOf(row.getAttendanceDate()));
+            ps.setString(6, row.getStatus().name());
+            ps.setString(7, row.getRemarks());
+            if (row.getMarkedById() != null) {
+                ps.setLong(8, row.getMarkedById());
+            } else {
+                ps.setNull(8, Types.BIGINT);
+            }
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+    }
+}
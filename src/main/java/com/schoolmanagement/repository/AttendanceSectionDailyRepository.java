@@ -0,0 +1,28 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.AttendanceSectionDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttendanceSectionDailyRepository
+        extends JpaRepository<AttendanceSectionDaily, Long>, AttendanceSectionDailyRepositoryCustom {
+
+    Optional<AttendanceSectionDaily> findByClassSectionIdAndAttendanceDate(Long classSectionId, LocalDate date);
+
+    List<AttendanceSectionDaily> findBySchoolIdAndAttendanceDate(Long schoolId, LocalDate date);
+
+    List<AttendanceSectionDaily> findByAttendanceDateBetween(LocalDate startDate, LocalDate endDate);
+
+    // (school id, present, absent, late, half day, leave) totals for one day
+    @Query("SELECT r.schoolId, SUM(r.presentCount), SUM(r.absentCount), SUM(r.lateCount), " +
+            "SUM(r.halfDayCount), SUM(r.leaveCount) FROM AttendanceSectionDaily r " +
+            "WHERE r.attendanceDate = :date GROUP BY r.schoolId")
+    List<Object[]> sumGroupedBySchool(@Param("date") LocalDate date);
+}
@@ -0,0 +1,26 @@
+package com.schoolmanagement.repository;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Incremental updates for the per-section daily attendance rollup
+ * File: backend/src/main/java/com/schoolmanagement/repository/AttendanceSectionDailyRepositoryCustom.java
+ */
+public interface AttendanceSectionDailyRepositoryCustom {
+
+    /**
+     * Add the given per-status deltas to the rollup rows, creating rows as needed
+     */
+    void applyDeltas(Collection<SectionDelta> deltas);
+
+    @Value
+    class SectionDelta {
+        Long schoolId;
+        Long classSectionId;
+        LocalDate attendanceDate;
+        int[] counts; // indexed by AttendanceStatus ordinal
+    }
+}
@@ -0,0 +1,101 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.AttendanceSectionDaily;
+import com.schoolmanagement.entity.BatchIdGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * JDBC implementation of {@link AttendanceSectionDailyRepositoryCustom}
+ * File: backend/src/main/java/com/schoolmanagement/repository/AttendanceSectionDailyRepositoryImpl.java
+ */
+@RequiredArgsConstructor
+public class AttendanceSectionDailyRepositoryImpl implements AttendanceSectionDailyRepositoryCustom {
+
+    private static final String ADD_DELTA_SQL =
+            "UPDATE attendance_section_daily SET " +
+            "present_count = present_count + ?, " +
+            "absent_count = absent_count + ?, " +
+            "late_count = late_count + ?, " +
+            "half_day_count = half_day_count + ?, " +
+            "leave_count = leave_count + ?, " +
+            "updated_at = ? " +
+            "WHERE class_section_id = ? AND attendance_date = ?";
+
+    // Rows created by a concurrent writer since the update are still added to, not overwritten
+    private static final String INSERT_DELTA_SQL =
+            "INSERT INTO attendance_section_daily (id, school_id, class_section_id, attendance_date, " +
+            "present_count, absent_count, late_count, half_day_count, leave_count, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "present_count = present_count + VALUES(present_count), " +
+            "absent_count = absent_count + VALUES(absent_count), " +
+            "late_count = late_count + VALUES(late_count), " +
+            "half_day_count = half_day_count + VALUES(half_day_count), " +
+            "leave_count = leave_count + VALUES(leave_count), " +
+            "updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void applyDeltas(Collection<SectionDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<SectionDelta> rows = new ArrayList<>(deltas);
+
+        // Existing rows are updated in place, so only rows that are really new draw an id
+        int[][] updated = jdbcTemplate.batchUpdate(ADD_DELTA_SQL, rows, rows.size(), (ps, delta) -> {
+            for (int i = 0; i < delta.getCounts().length; i++) {
+                ps.setInt(1 + i, delta.getCounts()[i]);
+            }
+            ps.setTimestamp(6, now);
+            ps.setLong(7, delta.getClassSectionId());
+            ps.setDate(8, Date.valueOf(delta.getAttendanceDate()));
+        });
+
+        List<SectionDelta> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(rows.get(index));
+                }
+                index++;
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Supplier<Long> ids = BatchIdGenerator.jdbcIds(entityManager, AttendanceSectionDaily.class);
+
+        jdbcTemplate.batchUpdate(INSERT_DELTA_SQL, missing, missing.size(), (ps, delta) -> {
+            ps.setObject(1, ids.get(), Types.BIGINT);
+            ps.setLong(2, delta.getSchoolId());
+            ps.setLong(3, delta.getClassSectionId());
+            ps.setDate(4, Date.valueOf(delta.getAttendanceDate()));
+            for (int i = 0; i < delta.getCounts().length; i++) {
+                ps.setInt(5 + i, delta.getCounts()[i]);
+            }
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+    }
+}
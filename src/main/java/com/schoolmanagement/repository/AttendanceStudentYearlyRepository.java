@@ -0,0 +1,25 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.AttendanceStudentYearly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttendanceStudentYearlyRepository
+        extends JpaRepository<AttendanceStudentYearly, Long>, AttendanceStudentYearlyRepositoryCustom {
+
+    Optional<AttendanceStudentYearly> findByUserIdAndAcademicYear(Long userId, Integer academicYear);
+
+    List<AttendanceStudentYearly> findByAcademicYear(Integer academicYear);
+
+    // (school id, present, absent, late, half day, leave) totals for one academic year
+    @Query("SELECT r.schoolId, SUM(r.presentCount), SUM(r.absentCount), SUM(r.lateCount), " +
+            "SUM(r.halfDayCount), SUM(r.leaveCount) FROM AttendanceStudentYearly r " +
+            "WHERE r.academicYear = :academicYear GROUP BY r.schoolId")
+    List<Object[]> sumGroupedBySchool(@Param("academicYear") Integer academicYear);
+}
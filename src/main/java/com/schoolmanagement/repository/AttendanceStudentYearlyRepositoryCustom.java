@@ -0,0 +1,25 @@
+package com.schoolmanagement.repository;
+
+import lombok.Value;
+
+import java.util.Collection;
+
+/**
+ * Incremental updates for the per-student academic-year attendance rollup
+ * File: backend/src/main/java/com/schoolmanagement/repository/AttendanceStudentYearlyRepositoryCustom.java
+ */
+public interface AttendanceStudentYearlyRepositoryCustom {
+
+    /**
+     * Add the given per-status deltas to the rollup rows, creating rows as needed
+     */
+    void applyDeltas(Collection<StudentDelta> deltas);
+
+    @Value
+    class StudentDelta {
+        Long schoolId;
+        Long userId;
+        Integer academicYear;
+        int[] counts; // indexed by AttendanceStatus ordinal
+    }
+}
@@ -0,0 +1,11 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.ClassEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface ClassEntityRepository extends JpaRepository<ClassEntity, Long> {
+    List<ClassEntity> findBySchoolId(Long schoolId);
+}
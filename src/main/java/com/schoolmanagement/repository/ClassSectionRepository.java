@@ -2,11 +2,39 @@ package com.schoolmanagement.repository;
 
 import com.schoolmanagement.entity.ClassSection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ClassSectionRepository extends JpaRepository<ClassSection, Long> {
     List<ClassSection> findBySchoolId(Long schoolId);
     List<ClassSection> findBySchoolIdAndAcademicYear(Long schoolId, String academicYear);
+
+    @Query("SELECT cs FROM ClassSection cs JOIN FETCH cs.classEntity JOIN FETCH cs.section " +
+            "LEFT JOIN FETCH cs.classTeacher WHERE cs.id = :id")
+    Optional<ClassSection> findWithDetailsById(@Param("id") Long id);
+
+    // (id, class name, section name) of a school's active sections, for resolving import rows
+    @Query("SELECT cs.id, cs.classEntity.className, cs.section.sectionName FROM ClassSection cs " +
+            "WHERE cs.school.id = :schoolId AND cs.isActive = true")
+    List<Object[]> findActiveKeysBySchoolId(@Param("schoolId") Long schoolId);
+
+    // (school id, active class section count) for dashboard counters
+    @Query("SELECT cs.school.id, COUNT(cs) FROM ClassSection cs WHERE cs.isActive = true GROUP BY cs.school.id")
+    List<Object[]> countActiveGroupedBySchool();
+
+    // A school's sections for the given academic years with class and section loaded, for promotion plans
+    @Query("SELECT cs FROM ClassSection cs JOIN FETCH cs.classEntity JOIN FETCH cs.section " +
+            "WHERE cs.school.id = :schoolId AND cs.academicYear IN :academicYears")
+    List<ClassSection> findWithDetailsBySchoolIdAndAcademicYearIn(@Param("schoolId") Long schoolId,
+                                                                  @Param("academicYears") Collection<String> academicYears);
+
+    @Modifying
+    @Query("UPDATE ClassSection cs SET cs.isActive = false WHERE cs.id IN :ids")
+    int deactivateAll(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.PromotionRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PromotionRunRepository extends JpaRepository<PromotionRun, Long> {
+
+    Optional<PromotionRun> findByIdAndSchoolId(Long id, Long schoolId);
+
+    Optional<PromotionRun> findFirstBySchoolIdAndStatus(Long schoolId, PromotionRun.Status status);
+
+    Optional<PromotionRun> findFirstBySchoolIdAndStatusAndIdNot(Long schoolId, PromotionRun.Status status, Long id);
+
+    // Progress for one committed chunk, written in the chunk's own transaction
+    @Modifying
+    @Query("UPDATE PromotionRun r SET r.studentsMoved = r.studentsMoved + :moved, " +
+            "r.studentsGraduated = r.studentsGraduated + :graduated WHERE r.id = :id")
+    int addProgress(@Param("id") Long id, @Param("moved") int moved, @Param("graduated") int graduated);
+}
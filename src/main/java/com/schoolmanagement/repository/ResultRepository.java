@@ -1,11 +1,13 @@
 package com.schoolmanagement.repository;
 
 import com.schoolmanagement.entity.Result;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,10 +17,19 @@ import java.util.List;
 @Repository
 public interface ResultRepository extends JpaRepository<Result, Long> {
 
+    @EntityGraph(attributePaths = {"exam", "examSubject", "examSubject.subject"})
     List<Result> findByStudentId(Long studentId);
 
     List<Result> findByExamId(Long examId);
 
+    // Results of many students with exam, exam subject and subject in one select, for report cards;
+    // a null examId takes every exam, ordered exam by exam
+    @Query("SELECT r FROM Result r JOIN FETCH r.exam e JOIN FETCH r.examSubject es JOIN FETCH es.subject " +
+            "WHERE r.student.id IN :studentIds AND (:examId IS NULL OR e.id = :examId) " +
+            "ORDER BY e.startDate, e.id, es.examDate, es.id")
+    List<Result> findWithSubjectsByStudentIdIn(@Param("studentIds") Collection<Long> studentIds,
+                                               @Param("examId") Long examId);
+
     @Query("SELECT r FROM Result r WHERE r.student.id = :studentId AND r.exam.id = :examId")
     List<Result> findByStudentIdAndExamId(@Param("studentId") Long studentId,
                                           @Param("examId") Long examId);
@@ -26,4 +37,11 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     @Query("SELECT r FROM Result r WHERE r.exam.id = :examId AND r.examSubject.id = :examSubjectId")
     List<Result> findByExamIdAndExamSubjectId(@Param("examId") Long examId,
                                               @Param("examSubjectId") Long examSubjectId);
-}
\ No newline at end of file
+
+    // (school id, graded results, passed results) for the statistics snapshot
+    @Query("SELECT r.school.id, COUNT(r), " +
+            "SUM(CASE WHEN (r.isAbsent IS NULL OR r.isAbsent = false) " +
+            "AND r.marksObtained >= es.passingMarks THEN 1 ELSE 0 END) " +
+            "FROM Result r JOIN r.examSubject es GROUP BY r.school.id")
+    List<Object[]> countPassedGroupedBySchool();
+}
@@ -1,7 +1,11 @@
 package com.schoolmanagement.repository;
 
 import com.schoolmanagement.entity.School;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +20,18 @@ import java.util.Optional;
 @Repository
 public interface SchoolRepository extends JpaRepository<School, Long> {
 
+    /**
+     * Page of schools without a count query
+     */
+    Slice<School> findAllBy(Pageable pageable);
+
+    /**
+     * Find school by id and hold its row lock until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM School s WHERE s.id = :id")
+    Optional<School> lockById(@Param("id") Long id);
+
     /**
      * Find school by school code
      */
@@ -93,6 +109,12 @@ public interface SchoolRepository extends JpaRepository<School, Long> {
                                 @Param("state") String state,
                                 @Param("isActive") Boolean isActive);
 
+    /**
+     * (id, name, active) for every school, used by the statistics snapshot
+     */
+    @Query("SELECT s.id, s.schoolName, s.isActive FROM School s")
+    List<Object[]> findStatisticsKeys();
+
     /**
      * Find schools by email
      */
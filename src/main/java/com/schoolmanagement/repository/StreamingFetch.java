@@ -0,0 +1,16 @@
+package com.schoolmanagement.repository;
+
+/**
+ * Fetch size hint for streamed queries (exports and in-memory index builds). Integer.MIN_VALUE
+ * makes MySQL Connector/J stream the result row by row on that statement only, so other
+ * statements on the pool keep the default client-side result sets. The connection can run
+ * nothing else until the stream is closed.
+ * File: backend/src/main/java/com/schoolmanagement/repository/StreamingFetch.java
+ */
+public final class StreamingFetch {
+
+    public static final String ROW_BY_ROW = "" + Integer.MIN_VALUE;
+
+    private StreamingFetch() {
+    }
+}
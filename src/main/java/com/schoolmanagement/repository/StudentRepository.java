@@ -1,23 +1,32 @@
 package com.schoolmanagement.repository;
 
+import com.schoolmanagement.dto.StudentExportRow;
+import com.schoolmanagement.dto.StudentListItem;
 import com.schoolmanagement.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * UPDATED: Added search and filter methods
  * File: backend/src/main/java/com/schoolmanagement/repository/StudentRepository.java
  */
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
 
     // Existing methods
     Optional<Student> findByAdmissionNumber(String admissionNumber);
@@ -26,10 +35,40 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Boolean existsByAdmissionNumber(String admissionNumber);
 
     // NEW: Paginated version
+    @EntityGraph(Student.WITH_DETAILS)
     Page<Student> findBySchoolId(Long schoolId, Pageable pageable);
+    @EntityGraph(Student.WITH_DETAILS)
     Page<Student> findByClassSectionId(Long classSectionId, Pageable pageable);
 
+    @Override
+    @EntityGraph(Student.WITH_DETAILS)
+    Page<Student> findAll(Pageable pageable);
+
+    // Listing projections: one joined select per page plus the count
+    String LIST_ITEM_SELECT = "SELECT new com.schoolmanagement.dto.StudentListItem(" +
+            "s.id, s.admissionNumber, s.rollNumber, s.admissionDate, s.fatherName, s.fatherPhone, " +
+            "s.motherName, s.motherPhone, s.bloodGroup, s.isActive, " +
+            "u.id, u.username, u.email, u.firstName, u.lastName, u.role, u.isActive, " +
+            "sc.id, sc.schoolName, cs.id, c.className, sec.sectionName) " +
+            "FROM Student s JOIN s.user u LEFT JOIN u.school sc " +
+            "JOIN s.classSection cs JOIN cs.classEntity c JOIN cs.section sec ";
+
+    // Slices: totals, when wanted, come from the count methods below
+    @Query(LIST_ITEM_SELECT + "WHERE s.school.id = :schoolId")
+    Slice<StudentListItem> findListItemsBySchoolId(@Param("schoolId") Long schoolId, Pageable pageable);
+
+    @Query(LIST_ITEM_SELECT + "WHERE s.classSection.id = :classSectionId")
+    Slice<StudentListItem> findListItemsByClassSectionId(@Param("classSectionId") Long classSectionId,
+                                                         Pageable pageable);
+
+    @Query(LIST_ITEM_SELECT)
+    Slice<StudentListItem> findListItems(Pageable pageable);
+
+    long countBySchoolId(Long schoolId);
+    long countByClassSectionId(Long classSectionId);
+
     // NEW: Search by name or admission number
+    @EntityGraph(Student.WITH_DETAILS)
     @Query("SELECT s FROM Student s WHERE s.school.id = :schoolId AND " +
             "(LOWER(s.user.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(s.user.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -38,19 +77,58 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
                                  @Param("searchTerm") String searchTerm,
                                  Pageable pageable);
 
+    // Typeahead fallback: the same prefix matches and order as the suggest index
+    @EntityGraph(Student.WITH_DETAILS)
+    @Query("SELECT s FROM Student s WHERE s.school.id = :schoolId AND " +
+            "(LOWER(s.user.firstName) LIKE LOWER(CONCAT(:prefix, '%')) OR " +
+            "LOWER(s.user.lastName) LIKE LOWER(CONCAT(:prefix, '%')) OR " +
+            "LOWER(CONCAT(s.user.firstName, ' ', COALESCE(s.user.lastName, ''))) LIKE LOWER(CONCAT(:prefix, '%')) OR " +
+            "LOWER(s.admissionNumber) LIKE LOWER(CONCAT(:prefix, '%')) OR " +
+            "CAST(s.rollNumber AS string) LIKE CONCAT(:prefix, '%')) " +
+            "ORDER BY CASE WHEN s.classSection.id = :classSectionId THEN 0 ELSE 1 END, " +
+            "s.classSection.id, s.user.firstName, s.user.lastName")
+    List<Student> findByNamePrefix(@Param("schoolId") Long schoolId,
+                                   @Param("prefix") String prefix,
+                                   @Param("classSectionId") Long classSectionId,
+                                   Pageable pageable);
+
     // NEW: Advanced search with multiple filters
-    @Query("SELECT s FROM Student s WHERE s.school.id = :schoolId " +
+    String ADVANCED_SEARCH_WHERE = "WHERE s.school.id = :schoolId " +
             "AND (:searchTerm IS NULL OR " +
             "LOWER(s.user.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(s.user.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(s.admissionNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
             "AND (:classSectionId IS NULL OR s.classSection.id = :classSectionId) " +
-            "AND (:isActive IS NULL OR s.isActive = :isActive)")
-    Page<Student> advancedSearch(@Param("schoolId") Long schoolId,
-                                 @Param("searchTerm") String searchTerm,
-                                 @Param("classSectionId") Long classSectionId,
-                                 @Param("isActive") Boolean isActive,
-                                 Pageable pageable);
+            "AND (:isActive IS NULL OR s.isActive = :isActive)";
+
+    @EntityGraph(Student.WITH_DETAILS)
+    @Query("SELECT s FROM Student s " + ADVANCED_SEARCH_WHERE)
+    Slice<Student> advancedSearch(@Param("schoolId") Long schoolId,
+                                  @Param("searchTerm") String searchTerm,
+                                  @Param("classSectionId") Long classSectionId,
+                                  @Param("isActive") Boolean isActive,
+                                  Pageable pageable);
+
+    @Query("SELECT COUNT(s) FROM Student s " + ADVANCED_SEARCH_WHERE)
+    long countAdvancedSearch(@Param("schoolId") Long schoolId,
+                             @Param("searchTerm") String searchTerm,
+                             @Param("classSectionId") Long classSectionId,
+                             @Param("isActive") Boolean isActive);
+
+    // Fuzzy search candidates: indexed equality on the precomputed phonetic keys of each name
+    // word, exact name matches first, then exact key matches, then neighbouring keys
+    @EntityGraph(Student.WITH_DETAILS)
+    @Query("SELECT s FROM Student s JOIN s.user u WHERE u.school.id = :schoolId AND s.school.id = :schoolId " +
+            "AND u.id IN (SELECT ku.id FROM User ku JOIN ku.phoneticKeys k WHERE k IN :keys) " +
+            "ORDER BY CASE WHEN LOWER(u.firstName) IN :names OR LOWER(u.lastName) IN :names THEN 0 " +
+            "WHEN u.id IN (SELECT ku.id FROM User ku JOIN ku.phoneticKeys k WHERE k IN :exactKeys) THEN 1 " +
+            "ELSE 2 END, " +
+            "u.firstName, u.lastName, s.id")
+    List<Student> findByPhoneticKeys(@Param("schoolId") Long schoolId,
+                                     @Param("names") Collection<String> names,
+                                     @Param("exactKeys") Collection<String> exactKeys,
+                                     @Param("keys") Collection<String> keys,
+                                     Pageable pageable);
 
     // NEW: Find students by admission date range
     @Query("SELECT s FROM Student s WHERE s.school.id = :schoolId " +
@@ -63,6 +141,52 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT s FROM Student s WHERE s.school.id = :schoolId ORDER BY s.classSection.id, s.rollNumber")
     List<Student> findAllBySchoolIdOrdered(@Param("schoolId") Long schoolId);
 
+    // Export rows in class, section and roll order, streamed; searchTerm null means no search
+    String EXPORT_ROW_SELECT = "SELECT new com.schoolmanagement.dto.StudentExportRow(" +
+            "s.admissionNumber, u.firstName, u.lastName, c.className, sec.sectionName, s.rollNumber, " +
+            "s.fatherName, s.fatherPhone, s.motherName, s.motherPhone, s.bloodGroup, " +
+            "u.email, u.phone, u.address, s.isActive) " +
+            "FROM Student s JOIN s.user u JOIN s.classSection cs JOIN cs.classEntity c JOIN cs.section sec ";
+
+    String EXPORT_ROW_WHERE = "WHERE s.school.id = :schoolId " +
+            "AND (:classSectionId IS NULL OR cs.id = :classSectionId) " +
+            "AND (:searchTerm IS NULL OR " +
+            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(s.admissionNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingFetch.ROW_BY_ROW))
+    @Query(EXPORT_ROW_SELECT + EXPORT_ROW_WHERE + "ORDER BY cs.id, s.rollNumber")
+    Stream<StudentExportRow> streamExportRows(@Param("schoolId") Long schoolId,
+                                              @Param("classSectionId") Long classSectionId,
+                                              @Param("searchTerm") String searchTerm);
+
+    // Active students of a section in roll order, for bulk report cards
+    @EntityGraph(Student.WITH_DETAILS)
+    @Query("SELECT s FROM Student s WHERE s.classSection.id = :classSectionId AND s.isActive = true " +
+            "ORDER BY s.rollNumber, s.id")
+    List<Student> findActiveWithDetailsByClassSectionId(@Param("classSectionId") Long classSectionId);
+
+    // Students with results in an exam (school-wide exams have no class section), for bulk report cards
+    @EntityGraph(Student.WITH_DETAILS)
+    @Query("SELECT s FROM Student s WHERE s.id IN (SELECT r.student.id FROM Result r WHERE r.exam.id = :examId) " +
+            "ORDER BY s.classSection.id, s.rollNumber, s.id")
+    List<Student> findWithDetailsByExamId(@Param("examId") Long examId);
+
+    // (class section id, class name, section name, academic year) of every section of the school
+    // that has students, one shard each for per-section exports
+    @Query("SELECT cs.id, c.className, sec.sectionName, cs.academicYear FROM ClassSection cs " +
+            "JOIN cs.classEntity c JOIN cs.section sec WHERE cs.school.id = :schoolId " +
+            "AND EXISTS (SELECT 1 FROM Student s WHERE s.classSection = cs) " +
+            "ORDER BY cs.academicYear, c.classNumber, sec.sectionName")
+    List<Object[]> findExportShards(@Param("schoolId") Long schoolId);
+
+    // Rows streamExportRows will return, for export progress
+    @Query("SELECT COUNT(s) FROM Student s JOIN s.user u JOIN s.classSection cs " + EXPORT_ROW_WHERE)
+    long countExportRows(@Param("schoolId") Long schoolId,
+                         @Param("classSectionId") Long classSectionId,
+                         @Param("searchTerm") String searchTerm);
+
     // NEW: Find by class and section
     @Query("SELECT s FROM Student s WHERE s.school.id = :schoolId " +
             "AND s.classSection.classEntity.id = :classId " +
@@ -70,4 +194,67 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByClassAndSection(@Param("schoolId") Long schoolId,
                                         @Param("classId") Long classId,
                                         @Param("sectionId") Long sectionId);
+
+    // Roster (class section id, user id) pairs for attendance marking
+    @Query("SELECT s.classSection.id, s.user.id FROM Student s WHERE s.classSection.id IN :classSectionIds")
+    List<Object[]> findRosterByClassSectionIds(@Param("classSectionIds") Collection<Long> classSectionIds);
+
+    // (school id, user id, class section id) without loading the entity
+    @Query("SELECT s.school.id, s.user.id, s.classSection.id FROM Student s WHERE s.id = :id")
+    List<Object[]> findKeysById(@Param("id") Long id);
+
+    // Slice over an explicit id set (candidates from the search index) with the search filters
+    String ID_IN_FILTERED_WHERE = "WHERE s.id IN :ids " +
+            "AND (:classSectionId IS NULL OR s.classSection.id = :classSectionId) " +
+            "AND (:isActive IS NULL OR s.isActive = :isActive)";
+
+    @EntityGraph(Student.WITH_DETAILS)
+    @Query("SELECT s FROM Student s " + ID_IN_FILTERED_WHERE)
+    Slice<Student> findByIdInFiltered(@Param("ids") Collection<Long> ids,
+                                      @Param("classSectionId") Long classSectionId,
+                                      @Param("isActive") Boolean isActive,
+                                      Pageable pageable);
+
+    @Query("SELECT COUNT(s) FROM Student s " + ID_IN_FILTERED_WHERE)
+    long countByIdInFiltered(@Param("ids") Collection<Long> ids,
+                             @Param("classSectionId") Long classSectionId,
+                             @Param("isActive") Boolean isActive);
+
+    // (id, school id, first name, last name, admission number, roll number, class section id)
+    // for the in-memory search and typeahead indexes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingFetch.ROW_BY_ROW))
+    @Query("SELECT s.id, s.school.id, s.user.firstName, s.user.lastName, s.admissionNumber, " +
+            "s.rollNumber, s.classSection.id FROM Student s")
+    Stream<Object[]> streamSearchFields();
+
+    // Same, for one school
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingFetch.ROW_BY_ROW))
+    @Query("SELECT s.id, s.school.id, s.user.firstName, s.user.lastName, s.admissionNumber, " +
+            "s.rollNumber, s.classSection.id FROM Student s WHERE s.school.id = :schoolId")
+    Stream<Object[]> streamSearchFieldsBySchoolId(@Param("schoolId") Long schoolId);
+
+    // Set-based existence check and id lookup for bulk import
+    @Query("SELECT s.admissionNumber FROM Student s WHERE s.admissionNumber IN :admissionNumbers")
+    List<String> findExistingAdmissionNumbers(@Param("admissionNumbers") Collection<String> admissionNumbers);
+
+    @Query("SELECT s.admissionNumber, s.id FROM Student s WHERE s.admissionNumber IN :admissionNumbers")
+    List<Object[]> findIdsByAdmissionNumbers(@Param("admissionNumbers") Collection<String> admissionNumbers);
+
+    // Admission numbers for the uniqueness guard filter
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingFetch.ROW_BY_ROW))
+    @Query("SELECT s.admissionNumber FROM Student s")
+    Stream<String> streamAdmissionNumbers();
+
+    // (class section id, active student count) for promotion plans
+    @Query("SELECT s.classSection.id, COUNT(s) FROM Student s WHERE s.classSection.id IN :classSectionIds " +
+            "AND s.isActive = true GROUP BY s.classSection.id")
+    List<Object[]> countActiveGroupedByClassSection(@Param("classSectionIds") Collection<Long> classSectionIds);
+
+    // Next chunk of active students still in a section; promotion moves them out, so no offset is needed
+    @Query("SELECT s.id FROM Student s WHERE s.classSection.id = :classSectionId AND s.isActive = true ORDER BY s.id")
+    List<Long> findActiveIdsByClassSectionId(@Param("classSectionId") Long classSectionId, Pageable pageable);
+
+    // (school id, student count) for dashboard counters
+    @Query("SELECT s.school.id, COUNT(s) FROM Student s GROUP BY s.school.id")
+    List<Object[]> countGroupedBySchool();
 }
\ No newline at end of file
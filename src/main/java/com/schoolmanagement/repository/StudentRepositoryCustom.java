@@ -0,0 +1,103 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.Student;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keyset (seek) reads for student listings, batched inserts for bulk import and set-based
+ * updates for year-end promotion
+ * File: backend/src/main/java/com/schoolmanagement/repository/StudentRepositoryCustom.java
+ */
+public interface StudentRepositoryCustom {
+
+    /**
+     * Up to {@code limit} students after the given (sort key, id) position; no count query
+     */
+    List<Student> findKeyset(KeysetQuery query);
+
+    /**
+     * Insert all rows in one JDBC batch
+     */
+    void insertAll(List<StudentInsertRow> rows);
+
+    /**
+     * Move the students to another class section with one UPDATE
+     */
+    int moveToClassSection(Collection<Long> studentIds, Long classSectionId);
+
+    /**
+     * Mark the students inactive with one UPDATE (graduating class)
+     */
+    int deactivate(Collection<Long> studentIds);
+
+    /**
+     * Renumber a section's active students 1..n by first name, last name with one UPDATE
+     */
+    int reassignRollNumbers(Long classSectionId);
+
+    @Getter
+    @RequiredArgsConstructor
+    enum SortKey {
+        ID("id", "s.id"),
+        ADMISSION_NUMBER("admissionNumber", "s.admissionNumber"),
+        FIRST_NAME("firstName", "u.firstName");
+
+        private final String property;
+        private final String path;
+
+        public static SortKey fromProperty(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            throw new RuntimeException("Cursor pagination supports sortBy id, admissionNumber or firstName");
+        }
+    }
+
+    @Value
+    @Builder
+    class StudentInsertRow {
+        Long userId;
+        Long schoolId;
+        String admissionNumber;
+        Long classSectionId;
+        Integer rollNumber;
+        LocalDate admissionDate;
+        String fatherName;
+        String fatherPhone;
+        String fatherOccupation;
+        String motherName;
+        String motherPhone;
+        String motherOccupation;
+        String guardianName;
+        String guardianPhone;
+        String guardianRelation;
+        String emergencyContact;
+        String bloodGroup;
+    }
+
+    @Value
+    @Builder
+    class KeysetQuery {
+        Long schoolId;
+        Long classSectionId;
+        Boolean isActive;
+        // Either candidate ids (from the search index) or a LIKE term; both null means no search
+        Collection<Long> ids;
+        String searchTerm;
+        SortKey sortKey;
+        boolean descending;
+        // Position of the last row of the previous page; null for the first page
+        Object afterValue;
+        Long afterId;
+        int limit;
+    }
+}
@@ -0,0 +1,177 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.BatchIdGenerator;
+import com.schoolmanagement.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * JPQL/JDBC implementation of {@link StudentRepositoryCustom}
+ * File: backend/src/main/java/com/schoolmanagement/repository/StudentRepositoryImpl.java
+ */
+@RequiredArgsConstructor
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO students (id, user_id, school_id, admission_number, class_section_id, roll_number, " +
+            "admission_date, father_name, father_phone, father_occupation, mother_name, mother_phone, " +
+            "mother_occupation, guardian_name, guardian_phone, guardian_relation, emergency_contact, " +
+            "blood_group, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String MOVE_SQL =
+            "UPDATE students SET class_section_id = ?, updated_at = ? WHERE id IN (%s)";
+
+    private static final String DEACTIVATE_SQL =
+            "UPDATE students SET is_active = FALSE, updated_at = ? WHERE id IN (%s)";
+
+    private static final String ROLL_NUMBERS_SQL =
+            "UPDATE students s JOIN (" +
+            "SELECT st.id, ROW_NUMBER() OVER (ORDER BY u.first_name, u.last_name, st.id) AS roll " +
+            "FROM students st JOIN users u ON u.id = st.user_id " +
+            "WHERE st.class_section_id = ? AND st.is_active = TRUE) ranked ON ranked.id = s.id " +
+            "SET s.roll_number = ranked.roll";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<StudentInsertRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        Supplier<Long> ids = BatchIdGenerator.jdbcIds(entityManager, Student.class);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, ids.get(), Types.BIGINT);
+            ps.setLong(2, row.getUserId());
+            ps.setLong(3, row.getSchoolId());
+            ps.setString(4, row.getAdmissionNumber());
+            ps.setLong(5, row.getClassSectionId());
+            ps.setObject(6, row.getRollNumber(), Types.INTEGER);
+            ps.setObject(7, row.getAdmissionDate() != null ? Date.valueOf(row.getAdmissionDate()) : null, Types.DATE);
+            ps.setString(8, row.getFatherName());
+            ps.setString(9, row.getFatherPhone());
+            ps.setString(10, row.getFatherOccupation());
+            ps.setString(11, row.getMotherName());
+            ps.setString(12, row.getMotherPhone());
+            ps.setString(13, row.getMotherOccupation());
+            ps.setString(14, row.getGuardianName());
+            ps.setString(15, row.getGuardianPhone());
+            ps.setString(16, row.getGuardianRelation());
+            ps.setString(17, row.getEmergencyContact());
+            ps.setString(18, row.getBloodGroup());
+            ps.setBoolean(19, true);
+            ps.setTimestamp(20, now);
+            ps.setTimestamp(21, now);
+        });
+    }
+
+    @Override
+    public int moveToClassSection(Collection<Long> studentIds, Long classSectionId) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(studentIds.size() + 2);
+        args.add(classSectionId);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.addAll(studentIds);
+        return jdbcTemplate.update(String.format(MOVE_SQL, placeholders(studentIds.size())), args.toArray());
+    }
+
+    @Override
+    public int deactivate(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(studentIds.size() + 1);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.addAll(studentIds);
+        return jdbcTemplate.update(String.format(DEACTIVATE_SQL, placeholders(studentIds.size())), args.toArray());
+    }
+
+    @Override
+    public int reassignRollNumbers(Long classSectionId) {
+        return jdbcTemplate.update(ROLL_NUMBERS_SQL, classSectionId);
+    }
+
+    @Override
+    public List<Student> findKeyset(KeysetQuery query) {
+        StringBuilder jpql = new StringBuilder("SELECT s FROM Student s JOIN s.user u WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (query.getSchoolId() != null) {
+            jpql.append(" AND s.school.id = :schoolId");
+            params.put("schoolId", query.getSchoolId());
+        }
+        if (query.getClassSectionId() != null) {
+            jpql.append(" AND s.classSection.id = :classSectionId");
+            params.put("classSectionId", query.getClassSectionId());
+        }
+        if (query.getIsActive() != null) {
+            jpql.append(" AND s.isActive = :isActive");
+            params.put("isActive", query.getIsActive());
+        }
+        if (query.getIds() != null) {
+            jpql.append(" AND s.id IN :ids");
+            params.put("ids", query.getIds());
+        } else if (query.getSearchTerm() != null) {
+            jpql.append(" AND (LOWER(u.firstName) LIKE :term OR LOWER(u.lastName) LIKE :term" +
+                    " OR LOWER(s.admissionNumber) LIKE :term)");
+            params.put("term", "%" + query.getSearchTerm().toLowerCase() + "%");
+        }
+
+        String key = query.getSortKey().getPath();
+        String comparison = query.isDescending() ? "<" : ">";
+        String direction = query.isDescending() ? " DESC" : " ASC";
+
+        if (query.getAfterId() != null) {
+            if (query.getSortKey() == SortKey.ID) {
+                jpql.append(" AND s.id ").append(comparison).append(" :afterId");
+            } else {
+                jpql.append(" AND (").append(key).append(' ').append(comparison).append(" :afterValue OR (")
+                        .append(key).append(" = :afterValue AND s.id ").append(comparison).append(" :afterId))");
+                params.put("afterValue", query.getAfterValue());
+            }
+            params.put("afterId", query.getAfterId());
+        }
+
+        jpql.append(" ORDER BY ").append(key).append(direction);
+        if (query.getSortKey() != SortKey.ID) {
+            jpql.append(", s.id").append(direction);
+        }
+
+        TypedQuery<Student> typedQuery = entityManager.createQuery(jpql.toString(), Student.class);
+        params.forEach(typedQuery::setParameter);
+        return typedQuery
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(Student.WITH_DETAILS))
+                .setMaxResults(query.getLimit())
+                .getResultList();
+    }
+
+    // Helper Methods
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
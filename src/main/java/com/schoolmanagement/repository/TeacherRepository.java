@@ -2,6 +2,7 @@ package com.schoolmanagement.repository;
 
 import com.schoolmanagement.entity.Teacher;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +12,8 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByEmployeeId(String employeeId);
     List<Teacher> findBySchoolId(Long schoolId);
     Boolean existsByEmployeeId(String employeeId);
+
+    // (school id, teacher count) for dashboard counters
+    @Query("SELECT t.school.id, COUNT(t) FROM Teacher t GROUP BY t.school.id")
+    List<Object[]> countGroupedBySchool();
 }
\ No newline at end of file
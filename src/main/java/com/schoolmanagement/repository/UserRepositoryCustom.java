@@ -0,0 +1,43 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.User;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Set-based maintenance on users that bypasses the persistence context
+ * File: backend/src/main/java/com/schoolmanagement/repository/UserRepositoryCustom.java
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Fill missing phonetic name keys in id-ordered JDBC batches; returns users keyed
+     */
+    int backfillPhoneticKeys(int batchSize);
+
+    /**
+     * Insert all rows in one JDBC batch; phonetic keys are derived from the names
+     */
+    void insertAll(List<UserInsertRow> rows);
+
+    @Value
+    @Builder
+    class UserInsertRow {
+        Long schoolId;
+        String username;
+        String email;
+        String passwordHash;
+        String firstName;
+        String lastName;
+        LocalDate dateOfBirth;
+        User.Gender gender;
+        String phone;
+        String address;
+        String city;
+        String state;
+        User.Role role;
+    }
+}
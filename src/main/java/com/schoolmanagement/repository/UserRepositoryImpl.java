@@ -0,0 +1,107 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.BatchIdGenerator;
+import com.schoolmanagement.entity.User;
+import com.schoolmanagement.util.PhoneticKey;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * JDBC implementation of {@link UserRepositoryCustom}
+ * File: backend/src/main/java/com/schoolmanagement/repository/UserRepositoryImpl.java
+ */
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String SELECT_MISSING_SQL =
+            "SELECT id, first_name, last_name FROM users u WHERE id > ? " +
+            "AND NOT EXISTS (SELECT 1 FROM user_phonetic_keys k WHERE k.user_id = u.id) ORDER BY id LIMIT ?";
+
+    private static final String INSERT_KEY_SQL =
+            "INSERT INTO user_phonetic_keys (user_id, phonetic_key) VALUES (?, ?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (id, school_id, username, email, password_hash, first_name, last_name, " +
+            "date_of_birth, gender, phone, address, city, state, role, is_active, is_verified, " +
+            "created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<UserInsertRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        Supplier<Long> ids = BatchIdGenerator.jdbcIds(entityManager, User.class);
+        List<Object[]> keys = new ArrayList<>();
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            Long id = ids.get();
+            for (String key : PhoneticKey.stored(row.getFirstName(), row.getLastName())) {
+                keys.add(new Object[]{id, key});
+            }
+            ps.setObject(1, id, Types.BIGINT);
+            ps.setObject(2, row.getSchoolId(), Types.BIGINT);
+            ps.setString(3, row.getUsername());
+            ps.setString(4, row.getEmail());
+            ps.setString(5, row.getPasswordHash());
+            ps.setString(6, row.getFirstName());
+            ps.setString(7, row.getLastName());
+            ps.setObject(8, row.getDateOfBirth() != null ? Date.valueOf(row.getDateOfBirth()) : null, Types.DATE);
+            ps.setString(9, row.getGender() != null ? row.getGender().name() : null);
+            ps.setString(10, row.getPhone());
+            ps.setString(11, row.getAddress());
+            ps.setString(12, row.getCity());
+            ps.setString(13, row.getState());
+            ps.setString(14, row.getRole().name());
+            ps.setBoolean(15, true);
+            ps.setBoolean(16, false);
+            ps.setTimestamp(17, now);
+            ps.setTimestamp(18, now);
+        });
+        jdbcTemplate.batchUpdate(INSERT_KEY_SQL, keys);
+    }
+
+    @Override
+    public int backfillPhoneticKeys(int batchSize) {
+        long afterId = 0;
+        int updated = 0;
+
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(SELECT_MISSING_SQL,
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)},
+                    afterId, batchSize);
+            if (rows.isEmpty()) {
+                return updated;
+            }
+
+            // Names without letters get the empty key, so later startups do not read them again
+            List<Object[]> keys = new ArrayList<>();
+            for (Object[] row : rows) {
+                for (String key : PhoneticKey.stored((String) row[1], (String) row[2])) {
+                    keys.add(new Object[]{row[0], key});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_KEY_SQL, keys);
+            updated += rows.size();
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+}
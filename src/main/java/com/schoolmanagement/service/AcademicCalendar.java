@@ -0,0 +1,37 @@
+package com.schoolmanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Academic year boundaries shared by the attendance store and rollups.
+ * An academic year is identified by the calendar year in which it starts.
+ * File: backend/src/main/java/com/schoolmanagement/service/AcademicCalendar.java
+ */
+@Component
+public class AcademicCalendar {
+
+    private final int startMonth;
+
+    public AcademicCalendar(@Value("${attendance.academic-year.start-month:4}") int startMonth) {
+        this.startMonth = startMonth;
+    }
+
+    public int academicYearOf(LocalDate date) {
+        return date.getMonthValue() >= startMonth ? date.getYear() : date.getYear() - 1;
+    }
+
+    public LocalDate academicYearStart(LocalDate date) {
+        return yearStart(academicYearOf(date));
+    }
+
+    public LocalDate yearStart(int academicYear) {
+        return LocalDate.of(academicYear, startMonth, 1);
+    }
+
+    public LocalDate yearEnd(int academicYear) {
+        return yearStart(academicYear + 1).minusDays(1);
+    }
+}
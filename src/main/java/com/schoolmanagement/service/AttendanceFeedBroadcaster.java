@@ -0,0 +1,269 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.dto.AttendanceFeedUpdate;
+import com.schoolmanagement.entity.Attendance;
+import com.schoolmanagement.event.AttendanceMarkedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed attendance changes out to SSE subscribers, one shared channel per school.
+ * Each subscriber has a bounded buffer drained on a sender pool; a subscriber whose buffer
+ * is full, or whose current send has not returned within the send timeout, is dropped. Only
+ * sender threads touch an emitter (a send to a stalled client holds the emitter's lock until
+ * the container's write timeout), so the attendance write path and the heartbeat never wait
+ * on a slow client. Heartbeats run on their own scheduler thread.
+ * File: backend/src/main/java/com/schoolmanagement/service/AttendanceFeedBroadcaster.java
+ */
+@Slf4j
+@Component
+public class AttendanceFeedBroadcaster implements DisposableBean {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final ThreadPoolTaskExecutor senderExecutor;
+    private final long emitterTimeoutMillis;
+    private final int bufferSize;
+    private final long heartbeatMillis;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+
+    private final Map<Long, Set<Subscriber>> channels = new ConcurrentHashMap<>();
+
+    public AttendanceFeedBroadcaster(@Qualifier("attendanceFeedExecutor") ThreadPoolTaskExecutor senderExecutor,
+                                     @Value("${attendance.live.timeout-ms:1800000}") long emitterTimeoutMillis,
+                                     @Value("${attendance.live.buffer-size:64}") int bufferSize,
+                                     @Value("${attendance.live.heartbeat-ms:15000}") long heartbeatMillis,
+                                     @Value("${attendance.live.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.senderExecutor = senderExecutor;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.bufferSize = bufferSize;
+        this.heartbeatMillis = heartbeatMillis;
+        this.sendTimeoutNanos = Duration.ofMillis(sendTimeoutMillis).toNanos();
+        // Not a bean: a TaskScheduler bean would take over every @Scheduled job in the application
+        heartbeatScheduler.setPoolSize(1);
+        heartbeatScheduler.setThreadNamePrefix("attendance-feed-heartbeat-");
+        heartbeatScheduler.setDaemon(true);
+        heartbeatScheduler.initialize();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startHeartbeat() {
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, Duration.ofMillis(heartbeatMillis));
+    }
+
+    @Override
+    public void destroy() {
+        heartbeatScheduler.shutdown();
+    }
+
+    public SseEmitter subscribe(Long schoolId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(schoolId, emitter, new ArrayBlockingQueue<>(bufferSize));
+
+        channels.compute(schoolId, (id, subscribers) -> {
+            Set<Subscriber> channel = subscribers != null ? subscribers : new CopyOnWriteArraySet<>();
+            channel.add(subscriber);
+            return channel;
+        });
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        offer(subscriber, HEARTBEAT);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onAttendanceMarked(AttendanceMarkedEvent event) {
+        Map<Long, Map<SectionDay, AttendanceFeedUpdate.SectionDelta>> bySchool = new HashMap<>();
+
+        for (AttendanceMarkedEvent.Change change : event.getChanges()) {
+            if (!channels.containsKey(change.getSchoolId())) {
+                continue;
+            }
+            Map<SectionDay, AttendanceFeedUpdate.SectionDelta> deltas =
+                    bySchool.computeIfAbsent(change.getSchoolId(), id -> new LinkedHashMap<>());
+
+            if (change.getPreviousStatus() != null && change.getPreviousClassSectionId() != null) {
+                AttendanceFeedUpdate.SectionDelta previous = delta(deltas,
+                        change.getPreviousClassSectionId(), change.getAttendanceDate());
+                previous.setPresentDelta(previous.getPresentDelta() - is(change.getPreviousStatus(), Attendance.AttendanceStatus.PRESENT));
+                previous.setAbsentDelta(previous.getAbsentDelta() - is(change.getPreviousStatus(), Attendance.AttendanceStatus.ABSENT));
+                previous.setMarkedDelta(previous.getMarkedDelta() - 1);
+            }
+
+            AttendanceFeedUpdate.SectionDelta current = delta(deltas,
+                    change.getClassSectionId(), change.getAttendanceDate());
+            current.setPresentDelta(current.getPresentDelta() + is(change.getStatus(), Attendance.AttendanceStatus.PRESENT));
+            current.setAbsentDelta(current.getAbsentDelta() + is(change.getStatus(), Attendance.AttendanceStatus.ABSENT));
+            current.setMarkedDelta(current.getMarkedDelta() + 1);
+        }
+
+        bySchool.forEach((schoolId, deltas) -> {
+            List<AttendanceFeedUpdate.SectionDelta> sections = deltas.values().stream()
+                    .filter(d -> d.getPresentDelta() != 0 || d.getAbsentDelta() != 0 || d.getMarkedDelta() != 0)
+                    .toList();
+            if (sections.isEmpty()) {
+                return;
+            }
+            publish(schoolId, AttendanceFeedUpdate.builder()
+                    .schoolId(schoolId)
+                    .timestamp(LocalDateTime.now())
+                    .sections(sections)
+                    .build());
+        });
+    }
+
+    public int subscriberCount(Long schoolId) {
+        Set<Subscriber> subscribers = channels.get(schoolId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    // Helper Methods
+
+    // Keeps idle connections open through proxies, detects dead clients and drops stalled ones
+    private void heartbeat() {
+        long now = System.nanoTime();
+        channels.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            long sendStarted = subscriber.sendStartedAt;
+            if (sendStarted != 0 && now - sendStarted > sendTimeoutNanos) {
+                log.debug("Dropping stalled attendance feed subscriber for school {}", subscriber.schoolId);
+                close(subscriber);
+            } else {
+                offer(subscriber, HEARTBEAT);
+            }
+        }));
+    }
+
+    private void publish(Long schoolId, AttendanceFeedUpdate update) {
+        Set<Subscriber> subscribers = channels.get(schoolId);
+        if (subscribers != null) {
+            subscribers.forEach(s -> offer(s, update));
+        }
+    }
+
+    // Never touches the emitter: runs on the committing request thread and the heartbeat thread
+    private void offer(Subscriber subscriber, Object message) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(message)) {
+            log.debug("Dropping slow attendance feed subscriber for school {}", subscriber.schoolId);
+            close(subscriber);
+        }
+        // Either sends the message or completes the dropped subscriber's emitter
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senderExecutor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            try {
+                Object message;
+                while (!subscriber.closed && (message = subscriber.queue.poll()) != null) {
+                    subscriber.sendStartedAt = System.nanoTime();
+                    if (message == HEARTBEAT) {
+                        subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        subscriber.emitter.send(SseEmitter.event().name("attendance").data(message));
+                    }
+                    subscriber.sendStartedAt = 0;
+                }
+                if (subscriber.closed && !subscriber.completed) {
+                    subscriber.completed = true;
+                    subscriber.queue.clear();
+                    subscriber.emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(subscriber);
+                subscriber.completed = true;
+                subscriber.emitter.completeWithError(e);
+            } finally {
+                subscriber.sendStartedAt = 0;
+                subscriber.draining.set(false);
+            }
+            // A message or a close may have arrived between the last check and releasing the flag
+        } while (subscriber.hasWork() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    // Stops further offers; the sender completes the emitter
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        remove(subscriber);
+    }
+
+    private void remove(Subscriber subscriber) {
+        channels.computeIfPresent(subscriber.schoolId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private AttendanceFeedUpdate.SectionDelta delta(Map<SectionDay, AttendanceFeedUpdate.SectionDelta> deltas,
+                                                    Long classSectionId, LocalDate date) {
+        return deltas.computeIfAbsent(new SectionDay(classSectionId, date), k ->
+                AttendanceFeedUpdate.SectionDelta.builder()
+                        .classSectionId(classSectionId)
+                        .attendanceDate(date)
+                        .build());
+    }
+
+    private int is(Attendance.AttendanceStatus status, Attendance.AttendanceStatus expected) {
+        return status == expected ? 1 : 0;
+    }
+
+    private record SectionDay(Long classSectionId, LocalDate date) {
+    }
+
+    private static final class Subscriber {
+        final Long schoolId;
+        final SseEmitter emitter;
+        final BlockingQueue<Object> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+        // Written only by the thread holding draining
+        volatile boolean completed;
+        volatile long sendStartedAt;
+
+        Subscriber(Long schoolId, SseEmitter emitter, BlockingQueue<Object> queue) {
+            this.schoolId = schoolId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        boolean hasWork() {
+            return !completed && (closed || !queue.isEmpty());
+        }
+    }
+}
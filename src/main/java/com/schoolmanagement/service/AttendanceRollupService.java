@@ -0,0 +1,255 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.dto.AttendanceReconciliationReport;
+import com.schoolmanagement.dto.AttendanceSummaryResponse;
+import com.schoolmanagement.entity.Attendance;
+import com.schoolmanagement.entity.AttendanceSectionDaily;
+import com.schoolmanagement.entity.AttendanceStudentYearly;
+import com.schoolmanagement.event.AttendanceMarkedEvent;
+import com.schoolmanagement.repository.AttendanceRepository;
+import com.schoolmanagement.repository.AttendanceSectionDailyRepository;
+import com.schoolmanagement.repository.AttendanceSectionDailyRepositoryCustom.SectionDelta;
+import com.schoolmanagement.repository.AttendanceStudentYearlyRepository;
+import com.schoolmanagement.repository.AttendanceStudentYearlyRepositoryCustom.StudentDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Attendance rollups per (class section, date) and per (student, academic year).
+ * Deltas are applied inside the attendance write transaction; a reconciliation
+ * job rebuilds them from the raw attendance table and reports any drift. The rebuild reads
+ * the attendance table and the rollups in one snapshot and adds the difference as a delta,
+ * so marks committed meanwhile, which are in neither read, keep their own deltas.
+ * File: backend/src/main/java/com/schoolmanagement/service/AttendanceRollupService.java
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceRollupService {
+
+    private static final int STATUS_COUNT = Attendance.AttendanceStatus.values().length;
+
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceSectionDailyRepository sectionDailyRepository;
+    private final AttendanceStudentYearlyRepository studentYearlyRepository;
+    private final AcademicCalendar academicCalendar;
+
+    /**
+     * Runs synchronously in the marking transaction so rollups commit or roll back with the rows
+     */
+    @EventListener
+    public void onAttendanceMarked(AttendanceMarkedEvent event) {
+        Map<SectionKey, int[]> sectionDeltas = new LinkedHashMap<>();
+        Map<StudentKey, int[]> studentDeltas = new LinkedHashMap<>();
+        Map<Object, Long> schools = new HashMap<>();
+
+        for (AttendanceMarkedEvent.Change change : event.getChanges()) {
+            int academicYear = academicCalendar.academicYearOf(change.getAttendanceDate());
+            StudentKey studentKey = new StudentKey(change.getUserId(), academicYear);
+            SectionKey sectionKey = new SectionKey(change.getClassSectionId(), change.getAttendanceDate());
+
+            if (change.getPreviousStatus() != null) {
+                studentDeltas.computeIfAbsent(studentKey, k -> new int[STATUS_COUNT])
+                        [change.getPreviousStatus().ordinal()]--;
+                if (change.getPreviousClassSectionId() != null) {
+                    SectionKey previousKey = new SectionKey(change.getPreviousClassSectionId(),
+                            change.getAttendanceDate());
+                    sectionDeltas.computeIfAbsent(previousKey, k -> new int[STATUS_COUNT])
+                            [change.getPreviousStatus().ordinal()]--;
+                    schools.put(previousKey, change.getSchoolId());
+                }
+            }
+
+            studentDeltas.computeIfAbsent(studentKey, k -> new int[STATUS_COUNT])[change.getStatus().ordinal()]++;
+            sectionDeltas.computeIfAbsent(sectionKey, k -> new int[STATUS_COUNT])[change.getStatus().ordinal()]++;
+            schools.put(studentKey, change.getSchoolId());
+            schools.put(sectionKey, change.getSchoolId());
+        }
+
+        List<SectionDelta> sections = new ArrayList<>();
+        sectionDeltas.forEach((key, counts) -> {
+            if (!isZero(counts)) {
+                sections.add(new SectionDelta(schools.get(key), key.classSectionId(), key.date(), counts));
+            }
+        });
+        List<StudentDelta> students = new ArrayList<>();
+        studentDeltas.forEach((key, counts) -> {
+            if (!isZero(counts)) {
+                students.add(new StudentDelta(schools.get(key), key.userId(), key.academicYear(), counts));
+            }
+        });
+
+        sectionDailyRepository.applyDeltas(sections);
+        studentYearlyRepository.applyDeltas(students);
+    }
+
+    @Transactional(readOnly = true)
+    public AttendanceSummaryResponse getSectionSummary(Long classSectionId, LocalDate date) {
+        return sectionDailyRepository.findByClassSectionIdAndAttendanceDate(classSectionId, date)
+                .map(AttendanceSummaryResponse::fromEntity)
+                .orElseGet(() -> AttendanceSummaryResponse.of(0, 0, 0, 0, 0));
+    }
+
+    @Transactional(readOnly = true)
+    public AttendanceSummaryResponse getSchoolSummary(Long schoolId, LocalDate date) {
+        int[] totals = new int[STATUS_COUNT];
+        for (AttendanceSectionDaily rollup : sectionDailyRepository.findBySchoolIdAndAttendanceDate(schoolId, date)) {
+            add(totals, countsOf(rollup));
+        }
+        return summaryOf(totals);
+    }
+
+    @Transactional(readOnly = true)
+    public AttendanceSummaryResponse getStudentSummary(Long userId, Integer academicYear) {
+        return studentYearlyRepository.findByUserIdAndAcademicYear(userId, academicYear)
+                .map(AttendanceSummaryResponse::fromEntity)
+                .orElseGet(() -> AttendanceSummaryResponse.of(0, 0, 0, 0, 0));
+    }
+
+    @Scheduled(cron = "${attendance.rollup.reconcile-cron:0 30 2 * * *}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void reconcileCurrentYear() {
+        rebuild(academicCalendar.academicYearOf(LocalDate.now()));
+    }
+
+    /**
+     * Rebuild both rollups for an academic year from the raw attendance table
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public AttendanceReconciliationReport reconcile(Integer academicYear) {
+        return rebuild(academicYear);
+    }
+
+    // Helper Methods
+    private AttendanceReconciliationReport rebuild(int academicYear) {
+        long started = System.currentTimeMillis();
+        LocalDate startDate = academicCalendar.yearStart(academicYear);
+        LocalDate endDate = academicCalendar.yearEnd(academicYear);
+
+        // Section rollups
+        Map<SectionKey, int[]> expectedSections = new HashMap<>();
+        Map<SectionKey, Long> sectionSchools = new HashMap<>();
+        for (Object[] row : attendanceRepository.countBySectionDateAndStatus(startDate, endDate)) {
+            SectionKey key = new SectionKey((Long) row[1], (LocalDate) row[2]);
+            expectedSections.computeIfAbsent(key, k -> new int[STATUS_COUNT])
+                    [((Attendance.AttendanceStatus) row[3]).ordinal()] = ((Long) row[4]).intValue();
+            sectionSchools.put(key, (Long) row[0]);
+        }
+        Map<SectionKey, int[]> actualSections = new HashMap<>();
+        for (AttendanceSectionDaily rollup : sectionDailyRepository.findByAttendanceDateBetween(startDate, endDate)) {
+            SectionKey key = new SectionKey(rollup.getClassSectionId(), rollup.getAttendanceDate());
+            actualSections.put(key, countsOf(rollup));
+            sectionSchools.putIfAbsent(key, rollup.getSchoolId());
+        }
+
+        // Student rollups
+        Map<StudentKey, int[]> expectedStudents = new HashMap<>();
+        Map<StudentKey, Long> studentSchools = new HashMap<>();
+        for (Object[] row : attendanceRepository.countByUserAndStatus(startDate, endDate)) {
+            StudentKey key = new StudentKey((Long) row[1], academicYear);
+            expectedStudents.computeIfAbsent(key, k -> new int[STATUS_COUNT])
+                    [((Attendance.AttendanceStatus) row[2]).ordinal()] = ((Long) row[3]).intValue();
+            studentSchools.put(key, (Long) row[0]);
+        }
+        Map<StudentKey, int[]> actualStudents = new HashMap<>();
+        for (AttendanceStudentYearly rollup : studentYearlyRepository.findByAcademicYear(academicYear)) {
+            StudentKey key = new StudentKey(rollup.getUserId(), academicYear);
+            actualStudents.put(key, countsOf(rollup));
+            studentSchools.putIfAbsent(key, rollup.getSchoolId());
+        }
+
+        // Corrections are added like any other delta; concurrent deltas commute with them
+        Map<SectionKey, int[]> sectionDrift = drift(expectedSections, actualSections);
+        Map<StudentKey, int[]> studentDrift = drift(expectedStudents, actualStudents);
+
+        List<SectionDelta> sections = new ArrayList<>();
+        sectionDrift.forEach((key, counts) ->
+                sections.add(new SectionDelta(sectionSchools.get(key), key.classSectionId(), key.date(), counts)));
+        List<StudentDelta> students = new ArrayList<>();
+        studentDrift.forEach((key, counts) ->
+                students.add(new StudentDelta(studentSchools.get(key), key.userId(), academicYear, counts)));
+
+        sectionDailyRepository.applyDeltas(sections);
+        studentYearlyRepository.applyDeltas(students);
+
+        AttendanceReconciliationReport report = AttendanceReconciliationReport.builder()
+                .academicYear(academicYear)
+                .startDate(startDate)
+                .endDate(endDate)
+                .sectionDaysChecked(expectedSections.size())
+                .sectionDaysDrifted(sectionDrift.size())
+                .studentsChecked(expectedStudents.size())
+                .studentsDrifted(studentDrift.size())
+                .durationMs(System.currentTimeMillis() - started)
+                .build();
+
+        if (!sectionDrift.isEmpty() || !studentDrift.isEmpty()) {
+            log.warn("Attendance rollup drift repaired: {}", report);
+        } else {
+            log.info("Attendance rollups consistent: {}", report);
+        }
+        return report;
+    }
+
+    // Expected minus actual counts for every key where they differ
+    private <K> Map<K, int[]> drift(Map<K, int[]> expected, Map<K, int[]> actual) {
+        Set<K> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+
+        Map<K, int[]> drift = new HashMap<>();
+        for (K key : keys) {
+            int[] correction = expected.getOrDefault(key, new int[STATUS_COUNT]).clone();
+            int[] a = actual.getOrDefault(key, new int[STATUS_COUNT]);
+            for (int i = 0; i < correction.length; i++) {
+                correction[i] -= a[i];
+            }
+            if (!isZero(correction)) {
+                drift.put(key, correction);
+            }
+        }
+        return drift;
+    }
+
+    private int[] countsOf(AttendanceSectionDaily rollup) {
+        return new int[]{rollup.getPresentCount(), rollup.getAbsentCount(), rollup.getLateCount(),
+                rollup.getHalfDayCount(), rollup.getLeaveCount()};
+    }
+
+    private int[] countsOf(AttendanceStudentYearly rollup) {
+        return new int[]{rollup.getPresentCount(), rollup.getAbsentCount(), rollup.getLateCount(),
+                rollup.getHalfDayCount(), rollup.getLeaveCount()};
+    }
+
+    private AttendanceSummaryResponse summaryOf(int[] counts) {
+        return AttendanceSummaryResponse.of(counts[0], counts[1], counts[2], counts[3], counts[4]);
+    }
+
+    private void add(int[] target, int[] counts) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += counts[i];
+        }
+    }
+
+    private boolean isZero(int[] counts) {
+        for (int count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record SectionKey(Long classSectionId, LocalDate date) {
+    }
+
+    private record StudentKey(Long userId, int academicYear) {
+    }
+}
@@ -1,19 +1,28 @@
 package com.schoolmanagement.service;
 
 import com.schoolmanagement.dto.AttendanceMarkRequest;
+import com.schoolmanagement.dto.AttendanceMarkResponse;
+import com.schoolmanagement.dto.AttendanceReconciliationReport;
+import com.schoolmanagement.dto.AttendanceSummaryResponse;
 import com.schoolmanagement.entity.Attendance;
 import com.schoolmanagement.entity.ClassSection;
 import com.schoolmanagement.entity.User;
+import com.schoolmanagement.event.AttendanceMarkedEvent;
 import com.schoolmanagement.repository.AttendanceRepository;
+import com.schoolmanagement.repository.AttendanceRepositoryCustom.AttendanceUpsertRow;
 import com.schoolmanagement.repository.ClassSectionRepository;
+import com.schoolmanagement.repository.StudentRepository;
 import com.schoolmanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,42 +30,132 @@ public class AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
     private final ClassSectionRepository classSectionRepository;
+    private final StudentRepository studentRepository;
     private final UserRepository userRepository;
+    private final AttendanceVectorStore attendanceVectorStore;
+    private final AttendanceRollupService attendanceRollupService;
+    private final AcademicCalendar academicCalendar;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void markAttendance(AttendanceMarkRequest request) {
-        ClassSection classSection = classSectionRepository.findById(request.getClassSectionId())
-                .orElseThrow(() -> new RuntimeException("Class section not found"));
+        AttendanceMarkResponse response = markAttendanceBulk(List.of(request));
+
+        // Single-section callers keep all-or-nothing semantics
+        response.getResults().stream()
+                .filter(r -> r.getOutcome() == AttendanceMarkResponse.Outcome.REJECTED)
+                .findFirst()
+                .ifPresent(r -> {
+                    throw new RuntimeException(r.getMessage());
+                });
+    }
+
+    /**
+     * Mark attendance for one or more class sections with a fixed number of statements:
+     * one roster lookup, one existing-status lookup and one batched upsert
+     */
+    @Transactional
+    public AttendanceMarkResponse markAttendanceBulk(List<AttendanceMarkRequest> requests) {
+        Set<Long> classSectionIds = requests.stream()
+                .map(AttendanceMarkRequest::getClassSectionId)
+                .collect(Collectors.toSet());
+
+        Map<Long, ClassSection> classSections = classSectionRepository.findAllById(classSectionIds)
+                .stream()
+                .collect(Collectors.toMap(ClassSection::getId, Function.identity()));
 
         String currentUsername = SecurityContextHolder.getContext()
                 .getAuthentication().getName();
         User markedBy = userRepository.findByUsername(currentUsername)
                 .orElseThrow(() -> new RuntimeException("Current user not found"));
 
-        for (AttendanceMarkRequest.AttendanceItem item : request.getAttendanceList()) {
-            User student = userRepository.findById(item.getStudentId())
-                    .orElseThrow(() -> new RuntimeException("Student not found"));
+        Map<Long, Set<Long>> roster = new HashMap<>();
+        for (Object[] row : studentRepository.findRosterByClassSectionIds(classSectionIds)) {
+            roster.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((Long) row[1]);
+        }
+
+        // Validate every item and keep the last submission per (user, date)
+        List<AttendanceMarkResponse.ItemResult> results = new ArrayList<>();
+        Map<AttendanceKey, AttendanceUpsertRow> rows = new LinkedHashMap<>();
+        Map<AttendanceKey, AttendanceMarkResponse.ItemResult> accepted = new HashMap<>();
 
-            // Check if attendance already exists
-            attendanceRepository.findByUserIdAndAttendanceDate(
-                    student.getId(),
-                    request.getAttendanceDate()
-            ).ifPresent(existing -> {
-                attendanceRepository.delete(existing);
-            });
+        for (AttendanceMarkRequest request : requests) {
+            ClassSection classSection = classSections.get(request.getClassSectionId());
+
+            for (AttendanceMarkRequest.AttendanceItem item : request.getAttendanceList()) {
+                AttendanceMarkResponse.ItemResult result = AttendanceMarkResponse.ItemResult.builder()
+                        .classSectionId(request.getClassSectionId())
+                        .studentId(item.getStudentId())
+                        .attendanceDate(request.getAttendanceDate())
+                        .build();
+                results.add(result);
+
+                String error = validate(classSection, roster, item);
+                if (error != null) {
+                    result.setOutcome(AttendanceMarkResponse.Outcome.REJECTED);
+                    result.setMessage(error);
+                    continue;
+                }
+
+                AttendanceKey key = new AttendanceKey(item.getStudentId(), request.getAttendanceDate());
+                AttendanceMarkResponse.ItemResult superseded = accepted.put(key, result);
+                if (superseded != null) {
+                    superseded.setOutcome(AttendanceMarkResponse.Outcome.REJECTED);
+                    superseded.setMessage("Superseded by a later entry in the same request");
+                }
+
+                rows.put(key, AttendanceUpsertRow.builder()
+                        .schoolId(classSection.getSchool().getId())
+                        .userId(item.getStudentId())
+                        .classSectionId(classSection.getId())
+                        .attendanceDate(request.getAttendanceDate())
+                        .status(Attendance.AttendanceStatus.valueOf(item.getStatus()))
+                        .remarks(item.getRemarks())
+                        .markedById(markedBy.getId())
+                        .build());
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            Map<AttendanceKey, Object[]> existing = new HashMap<>();
+            Set<Long> userIds = rows.keySet().stream().map(AttendanceKey::userId).collect(Collectors.toSet());
+            Set<LocalDate> dates = rows.keySet().stream().map(AttendanceKey::date).collect(Collectors.toSet());
+            for (Object[] row : attendanceRepository.findStatusesByUserIdsAndDates(userIds, dates)) {
+                existing.put(new AttendanceKey((Long) row[0], (LocalDate) row[1]), row);
+            }
+
+            accepted.forEach((key, result) -> result.setOutcome(existing.containsKey(key)
+                    ? AttendanceMarkResponse.Outcome.UPDATED
+                    : AttendanceMarkResponse.Outcome.CREATED));
 
-            Attendance attendance = Attendance.builder()
-                    .school(classSection.getSchool())
-                    .user(student)
-                    .classSection(classSection)
-                    .attendanceDate(request.getAttendanceDate())
-                    .status(Attendance.AttendanceStatus.valueOf(item.getStatus()))
-                    .remarks(item.getRemarks())
-                    .markedBy(markedBy)
-                    .build();
-
-            attendanceRepository.save(attendance);
+            attendanceRepository.upsertAll(rows.entrySet().stream()
+                    .map(entry -> existing.containsKey(entry.getKey())
+                            ? entry.getValue().toBuilder().id((Long) existing.get(entry.getKey())[4]).build()
+                            : entry.getValue())
+                    .toList());
+
+            List<AttendanceMarkedEvent.Change> changes = new ArrayList<>(rows.size());
+            rows.forEach((key, row) -> {
+                Object[] previous = existing.get(key);
+                changes.add(AttendanceMarkedEvent.Change.builder()
+                        .schoolId(row.getSchoolId())
+                        .classSectionId(row.getClassSectionId())
+                        .previousClassSectionId(previous != null ? (Long) previous[3] : null)
+                        .userId(row.getUserId())
+                        .attendanceDate(row.getAttendanceDate())
+                        .previousStatus(previous != null ? (Attendance.AttendanceStatus) previous[2] : null)
+                        .status(row.getStatus())
+                        .build());
+            });
+            eventPublisher.publishEvent(new AttendanceMarkedEvent(changes));
         }
+
+        return AttendanceMarkResponse.builder()
+                .created(countOutcome(results, AttendanceMarkResponse.Outcome.CREATED))
+                .updated(countOutcome(results, AttendanceMarkResponse.Outcome.UPDATED))
+                .rejected(countOutcome(results, AttendanceMarkResponse.Outcome.REJECTED))
+                .results(results)
+                .build();
     }
 
     @Transactional(readOnly = true)
@@ -67,4 +166,88 @@ public class AttendanceService {
                 studentId, startDate, endDate
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Attendance percentage (PRESENT over marked days) served from the in-memory store,
+     * falling back to the attendance table for ranges older than the store window
+     */
+    @Transactional(readOnly = true)
+    public double getAttendancePercentage(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (attendanceVectorStore.covers(startDate)) {
+            return attendanceVectorStore.getAttendancePercentage(userId, startDate, endDate);
+        }
+
+        List<Attendance> attendanceList = attendanceRepository
+                .findByUserIdAndAttendanceDateBetween(userId, startDate, endDate);
+        long presentCount = attendanceList.stream()
+                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.PRESENT)
+                .count();
+        return attendanceList.isEmpty() ? 0 : ((double) presentCount / attendanceList.size()) * 100;
+    }
+
+    /**
+     * Day counts per status for a student, served from the in-memory store when possible
+     */
+    @Transactional(readOnly = true)
+    public Map<Attendance.AttendanceStatus, Integer> countByStatus(Long userId, LocalDate startDate,
+                                                                   LocalDate endDate) {
+        if (attendanceVectorStore.covers(startDate)) {
+            return attendanceVectorStore.countByStatus(userId, startDate, endDate);
+        }
+
+        Map<Attendance.AttendanceStatus, Integer> counts = new EnumMap<>(Attendance.AttendanceStatus.class);
+        for (Attendance.AttendanceStatus status : Attendance.AttendanceStatus.values()) {
+            counts.put(status, 0);
+        }
+        attendanceRepository.findByUserIdAndAttendanceDateBetween(userId, startDate, endDate)
+                .forEach(a -> counts.merge(a.getStatus(), 1, Integer::sum));
+        return counts;
+    }
+
+    /**
+     * Counts by status for a class section on a given day, served from the rollup table
+     */
+    @Transactional(readOnly = true)
+    public AttendanceSummaryResponse getSectionSummary(Long classSectionId, LocalDate date) {
+        return attendanceRollupService.getSectionSummary(classSectionId, date);
+    }
+
+    /**
+     * Running totals for a student in an academic year (defaults to the current one)
+     */
+    @Transactional(readOnly = true)
+    public AttendanceSummaryResponse getStudentYearSummary(Long userId, Integer academicYear) {
+        int year = academicYear != null ? academicYear : academicCalendar.academicYearOf(LocalDate.now());
+        return attendanceRollupService.getStudentSummary(userId, year);
+    }
+
+    @Transactional
+    public AttendanceReconciliationReport reconcileRollups(Integer academicYear) {
+        int year = academicYear != null ? academicYear : academicCalendar.academicYearOf(LocalDate.now());
+        return attendanceRollupService.reconcile(year);
+    }
+
+    private String validate(ClassSection classSection, Map<Long, Set<Long>> roster,
+                            AttendanceMarkRequest.AttendanceItem item) {
+        if (classSection == null) {
+            return "Class section not found";
+        }
+        if (!roster.getOrDefault(classSection.getId(), Collections.emptySet()).contains(item.getStudentId())) {
+            return "Student not found in class section";
+        }
+        try {
+            Attendance.AttendanceStatus.valueOf(item.getStatus());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return "Invalid attendance status: " + item.getStatus();
+        }
+        return null;
+    }
+
+    private int countOutcome(List<AttendanceMarkResponse.ItemResult> results,
+                             AttendanceMarkResponse.Outcome outcome) {
+        return (int) results.stream().filter(r -> r.getOutcome() == outcome).count();
+    }
+
+    private record AttendanceKey(Long userId, LocalDate date) {
+    }
+}
@@ -0,0 +1,223 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.entity.Attendance;
+import com.schoolmanagement.event.AttendanceMarkedEvent;
+import com.schoolmanagement.repository.AttendanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * In-memory attendance store: one packed vector per student per academic year,
+ * 3 bits per day (0 = not marked, otherwise status ordinal + 1), 21 days per long.
+ * Rebuilt from the attendance table at startup and updated after each committed write; marks
+ * that commit while the rebuild reads the table are replayed onto it before it is swapped in.
+ * File: backend/src/main/java/com/schoolmanagement/service/AttendanceVectorStore.java
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttendanceVectorStore {
+
+    private static final int BITS_PER_DAY = 3;
+    private static final int DAYS_PER_WORD = 64 / BITS_PER_DAY;
+    private static final int WORDS_PER_YEAR = (366 + DAYS_PER_WORD - 1) / DAYS_PER_WORD;
+    private static final long DAY_MASK = (1L << BITS_PER_DAY) - 1;
+    private static final Attendance.AttendanceStatus[] STATUSES = Attendance.AttendanceStatus.values();
+
+    private final AttendanceRepository attendanceRepository;
+    private final AcademicCalendar academicCalendar;
+
+    @Value("${attendance.store.years:2}")
+    private int retainedYears;
+
+    // user id -> academic year start -> packed day vector, replaced as a whole on rebuild
+    private volatile Map<Long, Map<Integer, AtomicLongArray>> vectors = new ConcurrentHashMap<>();
+    // Marks committed while a rebuild runs, replayed onto the rebuilt vectors before the swap
+    private List<AttendanceMarkedEvent.Change> pending;
+    private final Object swapMonitor = new Object();
+
+    private volatile LocalDate windowStart = LocalDate.MAX;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDate from = academicCalendar.academicYearStart(LocalDate.now()).minusYears(retainedYears - 1L);
+
+        // Buffering starts before the snapshot is read, so no mark falls between the two
+        synchronized (swapMonitor) {
+            pending = new ArrayList<>();
+        }
+        try {
+            Map<Long, Map<Integer, AtomicLongArray>> fresh = new ConcurrentHashMap<>();
+            long rows = 0;
+            try (Stream<Object[]> stream = attendanceRepository.streamStatusesSince(from)) {
+                for (Object[] row : (Iterable<Object[]>) stream::iterator) {
+                    set(fresh, (Long) row[0], (LocalDate) row[1], (Attendance.AttendanceStatus) row[2]);
+                    rows++;
+                }
+            }
+            synchronized (swapMonitor) {
+                for (AttendanceMarkedEvent.Change change : pending) {
+                    set(fresh, change.getUserId(), change.getAttendanceDate(), change.getStatus());
+                }
+                vectors = fresh;
+                windowStart = from;
+            }
+
+            log.info("Attendance vector store rebuilt from {} rows for {} students in {} ms",
+                    rows, fresh.size(), System.currentTimeMillis() - started);
+        } finally {
+            synchronized (swapMonitor) {
+                pending = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAttendanceMarked(AttendanceMarkedEvent event) {
+        synchronized (swapMonitor) {
+            if (pending != null) {
+                pending.addAll(event.getChanges());
+            }
+            for (AttendanceMarkedEvent.Change change : event.getChanges()) {
+                set(vectors, change.getUserId(), change.getAttendanceDate(), change.getStatus());
+            }
+        }
+    }
+
+    /**
+     * Whether queries starting at this date can be answered from memory
+     */
+    public boolean covers(LocalDate from) {
+        return !from.isBefore(windowStart);
+    }
+
+    public Attendance.AttendanceStatus getStatus(Long userId, LocalDate date) {
+        AtomicLongArray vector = vector(userId, date);
+        if (vector == null) {
+            return null;
+        }
+        return decode(read(vector, dayOfYear(date)));
+    }
+
+    /**
+     * Day counts per status in [from, to], inclusive
+     */
+    public Map<Attendance.AttendanceStatus, Integer> countByStatus(Long userId, LocalDate from, LocalDate to) {
+        int[] counts = new int[STATUSES.length + 1];
+        forEachDay(userId, from, to, (date, code) -> counts[code]++);
+
+        Map<Attendance.AttendanceStatus, Integer> result = new EnumMap<>(Attendance.AttendanceStatus.class);
+        for (Attendance.AttendanceStatus status : STATUSES) {
+            result.put(status, counts[status.ordinal() + 1]);
+        }
+        return result;
+    }
+
+    /**
+     * PRESENT days as a percentage of marked days in [from, to]
+     */
+    public double getAttendancePercentage(Long userId, LocalDate from, LocalDate to) {
+        Map<Attendance.AttendanceStatus, Integer> counts = countByStatus(userId, from, to);
+        int marked = counts.values().stream().mapToInt(Integer::intValue).sum();
+        return marked == 0 ? 0 : ((double) counts.get(Attendance.AttendanceStatus.PRESENT) / marked) * 100;
+    }
+
+    /**
+     * Marked days in [from, to] with their status, in date order
+     */
+    public Map<LocalDate, Attendance.AttendanceStatus> getStatuses(Long userId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Attendance.AttendanceStatus> result = new LinkedHashMap<>();
+        forEachDay(userId, from, to, (date, code) -> {
+            if (code != 0) {
+                result.put(date, decode(code));
+            }
+        });
+        return result;
+    }
+
+    // Helper Methods
+    private void set(Map<Long, Map<Integer, AtomicLongArray>> target, Long userId, LocalDate date,
+                     Attendance.AttendanceStatus status) {
+        AtomicLongArray vector = target.computeIfAbsent(userId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(academicCalendar.academicYearOf(date), k -> new AtomicLongArray(WORDS_PER_YEAR));
+        int day = dayOfYear(date);
+        int word = day / DAYS_PER_WORD;
+        int shift = (day % DAYS_PER_WORD) * BITS_PER_DAY;
+        long code = status != null ? status.ordinal() + 1 : 0;
+
+        long current;
+        long updated;
+        do {
+            current = vector.get(word);
+            updated = (current & ~(DAY_MASK << shift)) | (code << shift);
+        } while (!vector.compareAndSet(word, current, updated));
+    }
+
+    private void forEachDay(Long userId, LocalDate from, LocalDate to, DayConsumer consumer) {
+        Map<Integer, AtomicLongArray> years = vectors.get(userId);
+        LocalDate date = from;
+        while (!date.isAfter(to)) {
+            LocalDate yearStart = academicCalendar.academicYearStart(date);
+            LocalDate yearEnd = yearStart.plusYears(1).minusDays(1);
+            LocalDate segmentEnd = to.isBefore(yearEnd) ? to : yearEnd;
+            AtomicLongArray vector = years != null ? years.get(yearStart.getYear()) : null;
+
+            int firstDay = (int) ChronoUnit.DAYS.between(yearStart, date);
+            int lastDay = (int) ChronoUnit.DAYS.between(yearStart, segmentEnd);
+            int wordIndex = -1;
+            long word = 0;
+            for (int day = firstDay; day <= lastDay; day++) {
+                if (vector != null && day / DAYS_PER_WORD != wordIndex) {
+                    wordIndex = day / DAYS_PER_WORD;
+                    word = vector.get(wordIndex);
+                }
+                int code = vector == null ? 0
+                        : (int) ((word >>> ((day % DAYS_PER_WORD) * BITS_PER_DAY)) & DAY_MASK);
+                consumer.accept(yearStart.plusDays(day), code);
+            }
+            date = segmentEnd.plusDays(1);
+        }
+    }
+
+    private AtomicLongArray vector(Long userId, LocalDate date) {
+        Map<Integer, AtomicLongArray> years = vectors.get(userId);
+        return years != null ? years.get(academicCalendar.academicYearOf(date)) : null;
+    }
+
+    private int read(AtomicLongArray vector, int day) {
+        long word = vector.get(day / DAYS_PER_WORD);
+        return (int) ((word >>> ((day % DAYS_PER_WORD) * BITS_PER_DAY)) & DAY_MASK);
+    }
+
+    private Attendance.AttendanceStatus decode(int code) {
+        return code == 0 ? null : STATUSES[code - 1];
+    }
+
+    private int dayOfYear(LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(academicCalendar.academicYearStart(date), date);
+    }
+
+    @FunctionalInterface
+    private interface DayConsumer {
+        void accept(LocalDate date, int code);
+    }
+}
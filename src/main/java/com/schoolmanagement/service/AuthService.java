@@ -27,6 +27,7 @@ public class AuthService {
     private final SchoolRepository schoolRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final UniquenessGuard uniquenessGuard;
 
     @Transactional
     public LoginResponse login(LoginRequest request) {
@@ -57,12 +58,12 @@ public class AuthService {
     @Transactional
     public UserResponse register(RegisterRequest request) {
         // Check if username exists
-        if (userRepository.existsByUsername(request.getUsername())) {
+        if (uniquenessGuard.exists(UniquenessGuard.Field.USERNAME, request.getUsername())) {
             throw new RuntimeException("Username already exists");
         }
 
         // Check if email exists
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (uniquenessGuard.exists(UniquenessGuard.Field.EMAIL, request.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
 
@@ -90,6 +91,8 @@ public class AuthService {
                 .isVerified(false)
                 .build();
 
+        uniquenessGuard.record(UniquenessGuard.Field.USERNAME, user.getUsername());
+        uniquenessGuard.record(UniquenessGuard.Field.EMAIL, user.getEmail());
         user = userRepository.save(user);
         return UserResponse.fromEntity(user);
     }
@@ -0,0 +1,212 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.event.AttendanceMarkedEvent;
+import com.schoolmanagement.event.StudentChangedEvent;
+import com.schoolmanagement.event.StudentsPromotedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Dashboard response cache keyed by (school, role, scope) with stale-while-revalidate.
+ * Invalidation marks a school's entries stale; the next caller gets the stale value while
+ * exactly one background refresh per entry recomputes it. Cold misses are single-flight. At most
+ * {@code dashboard.cache.max-entries} entries are kept; the least recently read are evicted.
+ * File: backend/src/main/java/com/schoolmanagement/service/DashboardCache.java
+ */
+@Slf4j
+@Component
+public class DashboardCache {
+
+    private final ThreadPoolTaskExecutor refreshExecutor;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> schoolVersions = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleHits;
+    private final Counter refreshes;
+    private final Counter refreshFailures;
+    private final Counter refreshRejections;
+    private final Counter evictions;
+
+    public DashboardCache(@Qualifier("dashboardRefreshExecutor") ThreadPoolTaskExecutor refreshExecutor,
+                          @Value("${dashboard.cache.ttl-ms:30000}") long ttlMillis,
+                          @Value("${dashboard.cache.max-entries:10000}") int maxEntries,
+                          MeterRegistry meterRegistry) {
+        this.refreshExecutor = refreshExecutor;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.hits = meterRegistry.counter("dashboard.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("dashboard.cache.requests", "result", "miss");
+        this.staleHits = meterRegistry.counter("dashboard.cache.requests", "result", "stale");
+        this.refreshes = meterRegistry.counter("dashboard.cache.refreshes", "outcome", "success");
+        this.refreshFailures = meterRegistry.counter("dashboard.cache.refreshes", "outcome", "failure");
+        this.refreshRejections = meterRegistry.counter("dashboard.cache.refreshes", "outcome", "rejected");
+        this.evictions = meterRegistry.counter("dashboard.cache.evictions");
+        meterRegistry.gaugeMapSize("dashboard.cache.size", List.of(), entries);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long schoolId, String role, Long scopeId, Supplier<T> loader) {
+        Key key = new Key(schoolId, role, scopeId);
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            misses.increment();
+            return (T) load(key, (Supplier<Object>) loader);
+        }
+
+        entry.lastReadAt = System.currentTimeMillis();
+        if (entry.version != version(schoolId) || entry.lastReadAt - entry.loadedAt > ttlMillis) {
+            staleHits.increment();
+            if (entry.refreshing.compareAndSet(false, true)) {
+                try {
+                    refreshExecutor.execute(() -> refresh(key, entry, (Supplier<Object>) loader));
+                } catch (TaskRejectedException e) {
+                    // Refresh pool saturated: serve stale and let a later request try again
+                    entry.refreshing.set(false);
+                    refreshRejections.increment();
+                }
+            }
+        } else {
+            hits.increment();
+        }
+        return (T) entry.value;
+    }
+
+    /**
+     * Mark every cached entry for a school stale
+     */
+    public void invalidateSchool(Long schoolId) {
+        schoolVersions.computeIfAbsent(schoolId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        invalidateSchool(event.getSchoolId());
+    }
+
+    // Published once the run has committed; also after commit if ever published inside one
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsPromoted(StudentsPromotedEvent event) {
+        invalidateSchool(event.getSchoolId());
+    }
+
+    @TransactionalEventListener
+    public void onAttendanceMarked(AttendanceMarkedEvent event) {
+        event.getChanges().stream()
+                .map(AttendanceMarkedEvent.Change::getSchoolId)
+                .distinct()
+                .forEach(this::invalidateSchool);
+    }
+
+    // Helper Methods
+    private Object load(Key key, Supplier<Object> loader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+
+        try {
+            long version = version(key.schoolId());
+            Object value = loader.get();
+            put(key, new Entry(value, version));
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private void refresh(Key key, Entry entry, Supplier<Object> loader) {
+        try {
+            // Capture the version first so an invalidation during the load leaves the entry stale
+            long version = version(key.schoolId());
+            put(key, new Entry(loader.get(), version));
+            refreshes.increment();
+        } catch (RuntimeException e) {
+            // Keep serving the stale value; the next request retries
+            refreshFailures.increment();
+            entry.refreshing.set(false);
+            log.warn("Dashboard cache refresh failed for {}", key, e);
+        }
+    }
+
+    private void put(Key key, Entry entry) {
+        entries.put(key, entry);
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    // Drops the least recently read tenth in one pass, so eviction cost is amortized over inserts
+    private synchronized void evict() {
+        int excess = entries.size() - maxEntries;
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastReadAt))
+                .limit(excess + maxEntries / 10)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(key -> {
+                    entries.remove(key);
+                    evictions.increment();
+                });
+    }
+
+    private long version(Long schoolId) {
+        AtomicLong version = schoolVersions.get(schoolId);
+        return version != null ? version.get() : 0;
+    }
+
+    private Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private record Key(Long schoolId, String role, Long scopeId) {
+    }
+
+    private static class Entry {
+        final Object value;
+        final long version;
+        final long loadedAt = System.currentTimeMillis();
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile long lastReadAt = loadedAt;
+
+        Entry(Object value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
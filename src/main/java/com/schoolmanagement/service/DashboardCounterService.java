@@ -0,0 +1,300 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.entity.Attendance;
+import com.schoolmanagement.event.AttendanceMarkedEvent;
+import com.schoolmanagement.event.StudentChangedEvent;
+import com.schoolmanagement.event.StudentsPromotedEvent;
+import com.schoolmanagement.repository.AttendanceSectionDailyRepository;
+import com.schoolmanagement.repository.AttendanceStudentYearlyRepository;
+import com.schoolmanagement.repository.ClassSectionRepository;
+import com.schoolmanagement.repository.SchoolRepository;
+import com.schoolmanagement.repository.StudentRepository;
+import com.schoolmanagement.repository.TeacherRepository;
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Per-school dashboard counters kept in memory. Loaded with grouped queries at startup,
+ * adjusted after each committed student or attendance change, and resynced periodically
+ * to pick up writes that do not go through this application (teachers, class sections).
+ * A resync opens its database snapshot, with a trivial read, while no counted transaction is
+ * between commit and applying its delta; the grouped counts run after that, from the snapshot, so every delta is either in the snapshot or applied after it: those
+ * are buffered and replayed onto the new counters before they replace the old ones.
+ * File: backend/src/main/java/com/schoolmanagement/service/DashboardCounterService.java
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardCounterService {
+
+    private final SchoolRepository schoolRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final ClassSectionRepository classSectionRepository;
+    private final AttendanceSectionDailyRepository sectionDailyRepository;
+    private final AttendanceStudentYearlyRepository studentYearlyRepository;
+    private final AcademicCalendar academicCalendar;
+
+    private volatile Map<Long, SchoolCounters> counters = new ConcurrentHashMap<>();
+
+    // Counted transactions hold the read side from before commit until their delta is applied
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+    // Guards applying deltas against the swap; deltas after a resync's snapshot, null otherwise
+    private final Object swapMonitor = new Object();
+    private List<Consumer<Map<Long, SchoolCounters>>> pendingDeltas;
+
+    @EventListener({ApplicationReadyEvent.class, StudentsPromotedEvent.class})
+    @Scheduled(initialDelayString = "${dashboard.counters.resync-ms:600000}",
+            fixedDelayString = "${dashboard.counters.resync-ms:600000}")
+    // Repeatable read: every query below reads the snapshot the first one opened
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public synchronized void resync() {
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        int academicYear = academicCalendar.academicYearOf(today);
+        Map<Long, SchoolCounters> fresh = new ConcurrentHashMap<>();
+
+        // The first read fixes the snapshot; no counted commit may fall between it and buffering.
+        // Counting the few school rows is enough to open it, so writers wait only that long
+        commitLock.writeLock().lock();
+        try {
+            schoolRepository.count();
+            synchronized (swapMonitor) {
+                pendingDeltas = new ArrayList<>();
+            }
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+
+        int replayed;
+        try {
+            for (Object[] row : studentRepository.countGroupedBySchool()) {
+                counters(fresh, (Long) row[0], today, academicYear).students = (Long) row[1];
+            }
+            for (Object[] row : teacherRepository.countGroupedBySchool()) {
+                counters(fresh, (Long) row[0], today, academicYear).teachers = (Long) row[1];
+            }
+            for (Object[] row : classSectionRepository.countActiveGroupedBySchool()) {
+                counters(fresh, (Long) row[0], today, academicYear).classSections = (Long) row[1];
+            }
+            for (Object[] row : sectionDailyRepository.sumGroupedBySchool(today)) {
+                SchoolCounters school = counters(fresh, (Long) row[0], today, academicYear);
+                school.todayPresent = (Long) row[1];
+                school.todayAbsent = (Long) row[2];
+                school.todayMarked = sum(row);
+            }
+            for (Object[] row : studentYearlyRepository.sumGroupedBySchool(academicYear)) {
+                SchoolCounters school = counters(fresh, (Long) row[0], today, academicYear);
+                school.yearPresent = (Long) row[1];
+                school.yearMarked = sum(row);
+            }
+
+            synchronized (swapMonitor) {
+                replayed = pendingDeltas.size();
+                pendingDeltas.forEach(delta -> delta.accept(fresh));
+                counters = fresh;
+            }
+        } finally {
+            synchronized (swapMonitor) {
+                pendingDeltas = null;
+            }
+        }
+        log.debug("Dashboard counters resynced for {} schools in {} ms, {} deltas replayed",
+                fresh.size(), System.currentTimeMillis() - started, replayed);
+    }
+
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        afterCommit(map -> {
+            SchoolCounters school = current(map, event.getSchoolId());
+            synchronized (school) {
+                school.students += event.getType() == StudentChangedEvent.Type.CREATED ? 1 : -1;
+            }
+        });
+    }
+
+    @EventListener
+    public void onAttendanceMarked(AttendanceMarkedEvent event) {
+        afterCommit(map -> applyAttendance(map, event));
+    }
+
+    /**
+     * Point-in-time copy of a school's counters; never touches the database
+     */
+    public Snapshot getSnapshot(Long schoolId) {
+        SchoolCounters school = current(counters, schoolId);
+        synchronized (school) {
+            return Snapshot.builder()
+                    .schoolId(schoolId)
+                    .totalStudents(school.students)
+                    .totalTeachers(school.teachers)
+                    .totalClassSections(school.classSections)
+                    .todayPresent(school.todayPresent)
+                    .todayAbsent(school.todayAbsent)
+                    .todayMarked(school.todayMarked)
+                    .todayPercentage(percentage(school.todayPresent, school.todayMarked))
+                    .averageAttendance(percentage(school.yearPresent, school.yearMarked))
+                    .asOf(LocalDateTime.now())
+                    .build();
+        }
+    }
+
+    // Helper Methods
+
+    // Applies the delta once the surrounding transaction commits, holding off a resync's snapshot meanwhile
+    private void afterCommit(Consumer<Map<Long, SchoolCounters>> delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(delta);
+                    }
+                } finally {
+                    if (locked) {
+                        commitLock.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    private void apply(Consumer<Map<Long, SchoolCounters>> delta) {
+        synchronized (swapMonitor) {
+            delta.accept(counters);
+            if (pendingDeltas != null) {
+                pendingDeltas.add(delta);
+            }
+        }
+    }
+
+    private void applyAttendance(Map<Long, SchoolCounters> map, AttendanceMarkedEvent event) {
+        for (AttendanceMarkedEvent.Change change : event.getChanges()) {
+            SchoolCounters school = current(map, change.getSchoolId());
+            synchronized (school) {
+                if (change.getAttendanceDate().equals(school.today)) {
+                    school.todayPresent += delta(change, Attendance.AttendanceStatus.PRESENT);
+                    school.todayAbsent += delta(change, Attendance.AttendanceStatus.ABSENT);
+                    school.todayMarked += change.getPreviousStatus() == null ? 1 : 0;
+                }
+                if (academicCalendar.academicYearOf(change.getAttendanceDate()) == school.academicYear) {
+                    school.yearPresent += delta(change, Attendance.AttendanceStatus.PRESENT);
+                    school.yearMarked += change.getPreviousStatus() == null ? 1 : 0;
+                }
+            }
+        }
+    }
+
+    private SchoolCounters current(Map<Long, SchoolCounters> map, Long schoolId) {
+        LocalDate today = LocalDate.now();
+        SchoolCounters school = counters(map, schoolId, today, academicCalendar.academicYearOf(today));
+        synchronized (school) {
+            if (!today.equals(school.today)) {
+                school.today = today;
+                school.todayPresent = 0;
+                school.todayAbsent = 0;
+                school.todayMarked = 0;
+            }
+            int academicYear = academicCalendar.academicYearOf(today);
+            if (academicYear != school.academicYear) {
+                school.academicYear = academicYear;
+                school.yearPresent = 0;
+                school.yearMarked = 0;
+            }
+        }
+        return school;
+    }
+
+    private SchoolCounters counters(Map<Long, SchoolCounters> map, Long schoolId,
+                                    LocalDate today, int academicYear) {
+        return map.computeIfAbsent(schoolId, id -> new SchoolCounters(today, academicYear));
+    }
+
+    private long delta(AttendanceMarkedEvent.Change change, Attendance.AttendanceStatus status) {
+        long delta = 0;
+        if (change.getStatus() == status) {
+            delta++;
+        }
+        if (change.getPreviousStatus() == status) {
+            delta--;
+        }
+        return delta;
+    }
+
+    private long sum(Object[] row) {
+        long total = 0;
+        for (int i = 1; i < row.length; i++) {
+            total += row[i] != null ? ((Number) row[i]).longValue() : 0;
+        }
+        return total;
+    }
+
+    private double percentage(long part, long total) {
+        return total == 0 ? 0 : Math.round(((double) part / total) * 1000) / 10.0;
+    }
+
+    private static class SchoolCounters {
+        long students;
+        long teachers;
+        long classSections;
+        LocalDate today;
+        long todayPresent;
+        long todayAbsent;
+        long todayMarked;
+        int academicYear;
+        long yearPresent;
+        long yearMarked;
+
+        SchoolCounters(LocalDate today, int academicYear) {
+            this.today = today;
+            this.academicYear = academicYear;
+        }
+    }
+
+    @Value
+    @Builder
+    public static class Snapshot {
+        Long schoolId;
+        long totalStudents;
+        long totalTeachers;
+        long totalClassSections;
+        long todayPresent;
+        long todayAbsent;
+        long todayMarked;
+        double todayPercentage;
+        double averageAttendance;
+        LocalDateTime asOf;
+    }
+}
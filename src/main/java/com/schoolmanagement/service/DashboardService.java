@@ -0,0 +1,241 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.dto.AttendanceSummaryResponse;
+import com.schoolmanagement.entity.ClassSection;
+import com.schoolmanagement.entity.Notice;
+import com.schoolmanagement.entity.Result;
+import com.schoolmanagement.repository.ClassSectionRepository;
+import com.schoolmanagement.repository.NoticeRepository;
+import com.schoolmanagement.repository.ResultRepository;
+import com.schoolmanagement.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Builds dashboard payloads from precomputed counters
+ * File: backend/src/main/java/com/schoolmanagement/service/DashboardService.java
+ */
+@Slf4j
+@Service
+public class DashboardService {
+
+    private static final String TIMEOUT = "TIMEOUT";
+
+    private final DashboardCounterService dashboardCounterService;
+    private final DashboardCache dashboardCache;
+    private final AttendanceService attendanceService;
+    private final StudentRepository studentRepository;
+    private final ResultRepository resultRepository;
+    private final NoticeRepository noticeRepository;
+    private final ClassSectionRepository classSectionRepository;
+    private final ThreadPoolTaskExecutor fanoutExecutor;
+    private final long sectionBudgetMillis;
+    private final int noticeLimit;
+
+    public DashboardService(DashboardCounterService dashboardCounterService,
+                            DashboardCache dashboardCache,
+                            AttendanceService attendanceService,
+                            StudentRepository studentRepository,
+                            ResultRepository resultRepository,
+                            NoticeRepository noticeRepository,
+                            ClassSectionRepository classSectionRepository,
+                            @Qualifier("dashboardFanoutExecutor") ThreadPoolTaskExecutor fanoutExecutor,
+                            @Value("${dashboard.fanout.section-budget-ms:300}") long sectionBudgetMillis,
+                            @Value("${dashboard.student.notice-limit:5}") int noticeLimit) {
+        this.dashboardCounterService = dashboardCounterService;
+        this.dashboardCache = dashboardCache;
+        this.attendanceService = attendanceService;
+        this.studentRepository = studentRepository;
+        this.resultRepository = resultRepository;
+        this.noticeRepository = noticeRepository;
+        this.classSectionRepository = classSectionRepository;
+        this.fanoutExecutor = fanoutExecutor;
+        this.sectionBudgetMillis = sectionBudgetMillis;
+        this.noticeLimit = noticeLimit;
+    }
+
+    public Map<String, Object> getPrincipalDashboard(Long schoolId) {
+        return dashboardCache.get(schoolId, "PRINCIPAL", null, () -> buildPrincipalDashboard(schoolId));
+    }
+
+    /**
+     * Student dashboard: attendance, latest results, notices and class info fetched
+     * concurrently, each within its own time budget so one slow part cannot block the page
+     */
+    public Map<String, Object> getStudentDashboard(Long studentId) {
+        List<Object[]> keys = studentRepository.findKeysById(studentId);
+        if (keys.isEmpty()) {
+            throw new RuntimeException("Student not found with id: " + studentId);
+        }
+        Long schoolId = (Long) keys.get(0)[0];
+        Long userId = (Long) keys.get(0)[1];
+        Long classSectionId = (Long) keys.get(0)[2];
+
+        CompletableFuture<Object> attendance = section("attendance",
+                () -> attendanceService.getStudentYearSummary(userId, null));
+        CompletableFuture<Object> results = section("recentResults",
+                () -> latestResults(studentId));
+        CompletableFuture<Object> notices = section("notices",
+                () -> activeNotices(schoolId));
+        CompletableFuture<Object> classInfo = section("classInfo",
+                () -> classInfo(classSectionId));
+
+        CompletableFuture.allOf(attendance, results, notices, classInfo).join();
+
+        Map<String, Object> dashboard = new HashMap<>();
+        Map<String, String> sectionStatus = new HashMap<>();
+        dashboard.put("studentId", studentId);
+        dashboard.put("schoolId", schoolId);
+        put(dashboard, sectionStatus, "attendance", attendance.join());
+        put(dashboard, sectionStatus, "recentResults", results.join());
+        put(dashboard, sectionStatus, "notices", notices.join());
+        put(dashboard, sectionStatus, "classInfo", classInfo.join());
+
+        Object summary = dashboard.get("attendance");
+        if (summary instanceof AttendanceSummaryResponse) {
+            dashboard.put("attendancePercentage", ((AttendanceSummaryResponse) summary).getPercentage());
+        }
+        dashboard.put("sectionStatus", sectionStatus);
+        return dashboard;
+    }
+
+    private Map<String, Object> buildPrincipalDashboard(Long schoolId) {
+        DashboardCounterService.Snapshot snapshot = dashboardCounterService.getSnapshot(schoolId);
+
+        Map<String, Object> dashboard = new HashMap<>();
+
+        // Statistics
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalStudents", snapshot.getTotalStudents());
+        stats.put("totalTeachers", snapshot.getTotalTeachers());
+        stats.put("totalClasses", snapshot.getTotalClassSections());
+        stats.put("averageAttendance", snapshot.getAverageAttendance());
+        dashboard.put("statistics", stats);
+
+        // Today's attendance
+        Map<String, Object> todayAttendance = new HashMap<>();
+        todayAttendance.put("present", snapshot.getTodayPresent());
+        todayAttendance.put("absent", snapshot.getTodayAbsent());
+        todayAttendance.put("marked", snapshot.getTodayMarked());
+        todayAttendance.put("percentage", snapshot.getTodayPercentage());
+        dashboard.put("todayAttendance", todayAttendance);
+
+        dashboard.put("asOf", snapshot.getAsOf());
+        return dashboard;
+    }
+
+    // Helper Methods
+    private CompletableFuture<Object> section(String name, Supplier<Object> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, fanoutExecutor)
+                    .completeOnTimeout(TIMEOUT, sectionBudgetMillis, TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> {
+                        log.warn("Student dashboard section '{}' failed", name, e);
+                        return new SectionError(e.getMessage());
+                    });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(new SectionError("Dashboard is busy"));
+        }
+    }
+
+    private void put(Map<String, Object> dashboard, Map<String, String> sectionStatus,
+                     String name, Object value) {
+        if (TIMEOUT.equals(value)) {
+            sectionStatus.put(name, TIMEOUT);
+        } else if (value instanceof SectionError) {
+            sectionStatus.put(name, "ERROR");
+        } else {
+            sectionStatus.put(name, "OK");
+            dashboard.put(name, value);
+        }
+    }
+
+    private Map<String, Object> latestResults(Long studentId) {
+        List<Result> results = resultRepository.findByStudentId(studentId);
+        Map<String, Object> latest = new HashMap<>();
+        if (results.isEmpty()) {
+            return latest;
+        }
+
+        Comparator<Result> byExam = Comparator
+                .comparing((Result r) -> r.getExam().getStartDate(), Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(r -> r.getExam().getId());
+        Result newest = Collections.max(results, byExam);
+        List<Result> examResults = results.stream()
+                .filter(r -> r.getExam().getId().equals(newest.getExam().getId()))
+                .collect(Collectors.toList());
+
+        List<Map<String, Object>> subjects = new ArrayList<>();
+        double totalMax = 0;
+        double totalObtained = 0;
+        for (Result result : examResults) {
+            Map<String, Object> subject = new HashMap<>();
+            subject.put("subject", result.getExamSubject().getSubject().getSubjectName());
+            subject.put("maxMarks", result.getExamSubject().getMaxMarks());
+            subject.put("marksObtained", result.getMarksObtained());
+            subject.put("grade", result.getGrade());
+            subjects.add(subject);
+
+            totalMax += result.getExamSubject().getMaxMarks().doubleValue();
+            totalObtained += result.getMarksObtained().doubleValue();
+        }
+
+        latest.put("examId", newest.getExam().getId());
+        latest.put("examName", newest.getExam().getExamName());
+        latest.put("subjects", subjects);
+        latest.put("percentage", totalMax == 0 ? 0 : (totalObtained / totalMax) * 100);
+        return latest;
+    }
+
+    private List<Map<String, Object>> activeNotices(Long schoolId) {
+        LocalDate today = LocalDate.now();
+        return noticeRepository.findBySchoolIdAndIsActiveTrueOrderByPublishDateDesc(schoolId).stream()
+                .filter(n -> !n.getPublishDate().isAfter(today))
+                .filter(n -> n.getExpiryDate() == null || !n.getExpiryDate().isBefore(today))
+                .filter(n -> n.getTargetAudience() == null
+                        || n.getTargetAudience() == Notice.TargetAudience.ALL
+                        || n.getTargetAudience() == Notice.TargetAudience.STUDENTS)
+                .limit(noticeLimit)
+                .map(n -> {
+                    Map<String, Object> notice = new HashMap<>();
+                    notice.put("id", n.getId());
+                    notice.put("title", n.getTitle());
+                    notice.put("noticeType", n.getNoticeType());
+                    notice.put("priority", n.getPriority());
+                    notice.put("publishDate", n.getPublishDate());
+                    return notice;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Object> classInfo(Long classSectionId) {
+        ClassSection classSection = classSectionRepository.findWithDetailsById(classSectionId)
+                .orElseThrow(() -> new RuntimeException("Class section not found"));
+
+        Map<String, Object> info = new HashMap<>();
+        info.put("classSectionId", classSection.getId());
+        info.put("className", classSection.getClassEntity().getClassName());
+        info.put("sectionName", classSection.getSection().getSectionName());
+        info.put("academicYear", classSection.getAcademicYear());
+        if (classSection.getClassTeacher() != null) {
+            info.put("classTeacher", classSection.getClassTeacher().getFirstName() + " " +
+                    (classSection.getClassTeacher().getLastName() != null ?
+                            classSection.getClassTeacher().getLastName() : ""));
+        }
+        return info;
+    }
+
+    private record SectionError(String message) {
+    }
+}
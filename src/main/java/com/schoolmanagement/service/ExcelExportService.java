@@ -1,103 +1,79 @@
 package com.schoolmanagement.service;
 
-import com.schoolmanagement.entity.Student;
+import com.schoolmanagement.dto.StudentExportRow;
 import com.schoolmanagement.entity.Attendance;
 import com.schoolmanagement.entity.Result;
-import lombok.RequiredArgsConstructor;
+import com.schoolmanagement.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 
 /**
  * Service for generating Excel reports
  * File: backend/src/main/java/com/schoolmanagement/service/ExcelExportService.java
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ExcelExportService {
 
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int rowWindow;
+
+    public ExcelExportService(StudentRepository studentRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${reports.excel.row-window:100}") int rowWindow) {
+        this.studentRepository = studentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rowWindow = rowWindow;
+    }
+
     /**
-     * Export Students to Excel
+     * Export Students to Excel, streamed: rows go through a sliding window of
+     * {@code reports.excel.row-window} rows (the rest is flushed to a compressed temp file)
+     * and the finished workbook is written straight to the output, so heap use does not
+     * depend on the number of students. The rows are read in a transaction that ends before
+     * the workbook is written, so a slow client does not hold a database connection
      */
-    public byte[] exportStudentsToExcel(List<Student> students, String schoolName) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Students");
-
-        // Create Header Style
-        CellStyle headerStyle = createHeaderStyle(workbook);
-        CellStyle dataStyle = createDataStyle(workbook);
-
-        // Add Title Row
-        Row titleRow = sheet.createRow(0);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("STUDENT LIST - " + schoolName);
-        CellStyle titleStyle = workbook.createCellStyle();
-        Font titleFont = workbook.createFont();
-        titleFont.setBold(true);
-        titleFont.setFontHeightInPoints((short) 16);
-        titleStyle.setFont(titleFont);
-        titleCell.setCellStyle(titleStyle);
-
-        // Add Date Row
-        Row dateRow = sheet.createRow(1);
-        Cell dateCell = dateRow.createCell(0);
-        dateCell.setCellValue("Generated on: " + LocalDate.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-
-        // Create Header Row
-        Row headerRow = sheet.createRow(3);
-        String[] headers = {
-                "S.No", "Admission Number", "Student Name", "Class", "Section",
-                "Roll Number", "Father Name", "Father Phone", "Mother Name",
-                "Mother Phone", "Blood Group", "Email", "Phone", "Address", "Status"
-        };
-
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-
-        // Add Data Rows
-        int rowNum = 4;
-        int serialNo = 1;
-        for (Student student : students) {
-            Row row = sheet.createRow(rowNum++);
-
-            createCell(row, 0, serialNo++, dataStyle);
-            createCell(row, 1, student.getAdmissionNumber(), dataStyle);
-            createCell(row, 2, student.getUser().getFirstName() + " " +
-                    (student.getUser().getLastName() != null ? student.getUser().getLastName() : ""), dataStyle);
-            createCell(row, 3, student.getClassSection().getClassEntity().getClassName(), dataStyle);
-            createCell(row, 4, student.getClassSection().getSection().getSectionName(), dataStyle);
-            createCell(row, 5, student.getRollNumber() != null ? student.getRollNumber() : "", dataStyle);
-            createCell(row, 6, student.getFatherName() != null ? student.getFatherName() : "", dataStyle);
-            createCell(row, 7, student.getFatherPhone() != null ? student.getFatherPhone() : "", dataStyle);
-            createCell(row, 8, student.getMotherName() != null ? student.getMotherName() : "", dataStyle);
-            createCell(row, 9, student.getMotherPhone() != null ? student.getMotherPhone() : "", dataStyle);
-            createCell(row, 10, student.getBloodGroup() != null ? student.getBloodGroup() : "", dataStyle);
-            createCell(row, 11, student.getUser().getEmail(), dataStyle);
-            createCell(row, 12, student.getUser().getPhone() != null ? student.getUser().getPhone() : "", dataStyle);
-            createCell(row, 13, student.getUser().getAddress() != null ? student.getUser().getAddress() : "", dataStyle);
-            createCell(row, 14, student.getIsActive() ? "Active" : "Inactive", dataStyle);
-        }
+    public void exportStudentsToExcel(Long schoolId, Long classSectionId, String searchTerm,
+                                      String schoolName, OutputStream out) throws IOException {
+        exportStudentsToExcel(schoolId, classSectionId, searchTerm, schoolName, out, rows -> { });
+    }
 
-        // Auto-size columns
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
+    /**
+     * Same, reporting the number of students written so far to {@code progress}
+     */
+    public void exportStudentsToExcel(Long schoolId, Long classSectionId, String searchTerm,
+                                      String schoolName, OutputStream out, IntConsumer progress) throws IOException {
+        long started = System.currentTimeMillis();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try (workbook) {
+            Integer students = readOnlyTransaction.execute(status ->
+                    fillStudentSheet(workbook, schoolId, classSectionId, searchTerm, schoolName, progress));
+
+            workbook.write(out);
+            log.info("Exported {} students of school {} to Excel in {} ms",
+                    students, schoolId, System.currentTimeMillis() - started);
+        } finally {
+            workbook.dispose();
         }
-
-        // Write to ByteArray
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
-
-        return baos.toByteArray();
     }
 
     /**
@@ -269,6 +245,80 @@ public class ExcelExportService {
     }
 
     // Helper Methods
+    // Header and one row per student; the sheet window spills older rows to the temp file
+    private int fillStudentSheet(SXSSFWorkbook workbook, Long schoolId, Long classSectionId, String searchTerm,
+                                 String schoolName, IntConsumer progress) {
+        try (Stream<StudentExportRow> students =
+                     studentRepository.streamExportRows(schoolId, classSectionId, searchTerm)) {
+            SXSSFSheet sheet = workbook.createSheet("Students");
+
+            // Create Header Style
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle dataStyle = createDataStyle(workbook);
+
+            // Add Title Row
+            Row titleRow = sheet.createRow(0);
+            Cell titleCell = titleRow.createCell(0);
+            titleCell.setCellValue("STUDENT LIST - " + schoolName);
+            CellStyle titleStyle = workbook.createCellStyle();
+            Font titleFont = workbook.createFont();
+            titleFont.setBold(true);
+            titleFont.setFontHeightInPoints((short) 16);
+            titleStyle.setFont(titleFont);
+            titleCell.setCellStyle(titleStyle);
+
+            // Add Date Row
+            Row dateRow = sheet.createRow(1);
+            Cell dateCell = dateRow.createCell(0);
+            dateCell.setCellValue("Generated on: " + LocalDate.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
+
+            // Create Header Row
+            Row headerRow = sheet.createRow(3);
+            String[] headers = {
+                    "S.No", "Admission Number", "Student Name", "Class", "Section",
+                    "Roll Number", "Father Name", "Father Phone", "Mother Name",
+                    "Mother Phone", "Blood Group", "Email", "Phone", "Address", "Status"
+            };
+            ColumnWidths widths = new ColumnWidths(headers.length);
+
+            for (int i = 0; i < headers.length; i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(headers[i]);
+                cell.setCellStyle(headerStyle);
+                widths.track(i, headers[i]);
+            }
+
+            // Add Data Rows
+            int rowNum = 4;
+            int serialNo = 1;
+            for (StudentExportRow student : (Iterable<StudentExportRow>) students::iterator) {
+                Row row = sheet.createRow(rowNum++);
+
+                createCell(row, 0, serialNo++, dataStyle, widths);
+                createCell(row, 1, student.getAdmissionNumber(), dataStyle, widths);
+                createCell(row, 2, student.getFullName(), dataStyle, widths);
+                createCell(row, 3, student.getClassName(), dataStyle, widths);
+                createCell(row, 4, student.getSectionName(), dataStyle, widths);
+                createCell(row, 5, student.getRollNumber() != null ? student.getRollNumber() : "", dataStyle, widths);
+                createCell(row, 6, student.getFatherName() != null ? student.getFatherName() : "", dataStyle, widths);
+                createCell(row, 7, student.getFatherPhone() != null ? student.getFatherPhone() : "", dataStyle, widths);
+                createCell(row, 8, student.getMotherName() != null ? student.getMotherName() : "", dataStyle, widths);
+                createCell(row, 9, student.getMotherPhone() != null ? student.getMotherPhone() : "", dataStyle, widths);
+                createCell(row, 10, student.getBloodGroup() != null ? student.getBloodGroup() : "", dataStyle, widths);
+                createCell(row, 11, student.getEmail(), dataStyle, widths);
+                createCell(row, 12, student.getPhone() != null ? student.getPhone() : "", dataStyle, widths);
+                createCell(row, 13, student.getAddress() != null ? student.getAddress() : "", dataStyle, widths);
+                createCell(row, 14, student.getIsActive() ? "Active" : "Inactive", dataStyle, widths);
+                progress.accept(serialNo - 1);
+            }
+
+            // Widths from the longest value seen per column; autoSizeColumn would rescan every row
+            widths.apply(sheet);
+
+            return rowNum - 4;
+        }
+    }
+
     private CellStyle createHeaderStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         Font font = workbook.createFont();
@@ -296,6 +346,11 @@ public class ExcelExportService {
         return style;
     }
 
+    private void createCell(Row row, int column, Object value, CellStyle style, ColumnWidths widths) {
+        createCell(row, column, value, style);
+        widths.track(column, value);
+    }
+
     private void createCell(Row row, int column, Object value, CellStyle style) {
         Cell cell = row.createCell(column);
 
@@ -323,4 +378,33 @@ public class ExcelExportService {
         if (percentage >= 40) return "D";
         return "F";
     }
-}
\ No newline at end of file
+
+    /**
+     * Running column widths for streamed sheets: the longest value seen per column, in characters
+     */
+    private static class ColumnWidths {
+
+        // Excel's limit is 255 characters; long addresses are capped well before that
+        private static final int MAX_CHARS = 60;
+
+        private final int[] maxChars;
+
+        ColumnWidths(int columns) {
+            this.maxChars = new int[columns];
+        }
+
+        void track(int column, Object value) {
+            int length = value != null ? value.toString().length() : 0;
+            if (length > maxChars[column]) {
+                maxChars[column] = Math.min(length, MAX_CHARS);
+            }
+        }
+
+        void apply(Sheet sheet) {
+            for (int i = 0; i < maxChars.length; i++) {
+                // Units of 1/256 of a character, plus padding for the cell border and filter arrow
+                sheet.setColumnWidth(i, (maxChars[i] + 3) * 256);
+            }
+        }
+    }
+}
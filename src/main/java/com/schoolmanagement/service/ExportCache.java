@@ -0,0 +1,230 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.event.AttendanceMarkedEvent;
+import com.schoolmanagement.event.StudentChangedEvent;
+import com.schoolmanagement.event.StudentsPromotedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rendered report exports keyed by their parameters and the data version they were rendered
+ * from. A school's version moves on every committed student create or delete and after a
+ * promotion; a student's attendance version moves when their attendance is marked. The
+ * version is part of the ETag, so an unchanged export is answered with 304 or from memory
+ * instead of being rendered again. Entries are held in LRU order within a byte budget.
+ * File: backend/src/main/java/com/schoolmanagement/service/ExportCache.java
+ */
+@Component
+public class ExportCache {
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final MeterRegistry meterRegistry;
+
+    // Versions restart with the process; the start time in the ETag keeps old tags from matching
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // Access-ordered, guarded by itself
+    private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    public ExportCache(@Value("${reports.cache.max-bytes:67108864}") long maxBytes,
+                       @Value("${reports.cache.max-entry-bytes:8388608}") long maxEntryBytes,
+                       MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("reports.cache.bytes", this, cache -> {
+            synchronized (cache.entries) {
+                return cache.totalBytes;
+            }
+        });
+    }
+
+    /**
+     * Version scope of a school's student data
+     */
+    public static String schoolScope(Long schoolId) {
+        return "school:" + schoolId;
+    }
+
+    /**
+     * Version scope of one student's attendance
+     */
+    public static String attendanceScope(Long userId) {
+        return "attendance:" + userId;
+    }
+
+    /**
+     * Identity of an export at the scope's current data version; {@code params} must hold
+     * everything else the rendered output depends on
+     */
+    public Key key(String scope, String params) {
+        return new Key(scope, params, versions.computeIfAbsent(scope, s -> new AtomicLong()).get());
+    }
+
+    /**
+     * Strong ETag for the export
+     */
+    public String etag(Key key) {
+        return "\"" + epoch + "-" + key.version() + "-" + Integer.toHexString(key.params().hashCode()) + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header value matches the ETag
+     */
+    public boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                meterRegistry.counter("reports.cache", "result", "not_modified").increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public byte[] get(Key key) {
+        byte[] content;
+        synchronized (entries) {
+            content = entries.get(key);
+        }
+        meterRegistry.counter("reports.cache", "result", content != null ? "hit" : "miss").increment();
+        return content;
+    }
+
+    public void put(Key key, byte[] content) {
+        if (content.length > maxEntryBytes || key.version() != currentVersion(key.scope())) {
+            return;
+        }
+        synchronized (entries) {
+            byte[] previous = entries.put(key, content);
+            totalBytes += content.length - (previous != null ? previous.length : 0);
+            Iterator<byte[]> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Wraps the response stream so the bytes written through it are kept as well; call
+     * {@link Capture#store()} once the export has been written completely
+     */
+    public Capture capture(Key key, OutputStream out) {
+        return new Capture(key, out);
+    }
+
+    @TransactionalEventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        bump(schoolScope(event.getSchoolId()));
+    }
+
+    @EventListener
+    public void onStudentsPromoted(StudentsPromotedEvent event) {
+        bump(schoolScope(event.getSchoolId()));
+    }
+
+    @TransactionalEventListener
+    public void onAttendanceMarked(AttendanceMarkedEvent event) {
+        event.getChanges().stream()
+                .map(AttendanceMarkedEvent.Change::getUserId)
+                .distinct()
+                .forEach(userId -> bump(attendanceScope(userId)));
+    }
+
+    // Helper Methods
+    private long currentVersion(String scope) {
+        AtomicLong version = versions.get(scope);
+        return version == null ? 0 : version.get();
+    }
+
+    private void bump(String scope) {
+        versions.computeIfAbsent(scope, s -> new AtomicLong()).incrementAndGet();
+        synchronized (entries) {
+            Iterator<Map.Entry<Key, byte[]>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, byte[]> entry = it.next();
+                if (entry.getKey().scope().equals(scope)) {
+                    totalBytes -= entry.getValue().length;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public record Key(String scope, String params, long version) {
+    }
+
+    /**
+     * Tee to the response and a buffer; the buffer is dropped once the export outgrows an entry
+     */
+    public class Capture extends FilterOutputStream {
+
+        private final Key key;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private Capture(Key key, OutputStream out) {
+            super(out);
+            this.key = key;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (buffer != null) {
+                buffer.write(b);
+                checkSize();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (buffer != null) {
+                buffer.write(b, off, len);
+                checkSize();
+            }
+        }
+
+        // The caller owns the response stream
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        public void store() {
+            if (buffer != null) {
+                put(key, buffer.toByteArray());
+                buffer = null;
+            }
+        }
+
+        private void checkSize() {
+            if (buffer.size() > maxEntryBytes) {
+                buffer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.event.StudentChangedEvent;
+import com.schoolmanagement.event.StudentsPromotedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of row counts per (school, filter) for paged listings that want totals
+ * without paying for a count on every page. Entries expire after a TTL and a school's
+ * entries are dropped after each committed student create or delete and after a promotion.
+ * File: backend/src/main/java/com/schoolmanagement/service/PageTotalsCache.java
+ */
+@Component
+public class PageTotalsCache {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public PageTotalsCache(@Value("${pagination.totals-cache.ttl-ms:60000}") long ttlMillis,
+                           @Value("${pagination.totals-cache.max-entries:10000}") int maxEntries,
+                           MeterRegistry meterRegistry) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.hits = meterRegistry.counter("pagination.totals.cache", "result", "hit");
+        this.misses = meterRegistry.counter("pagination.totals.cache", "result", "miss");
+        meterRegistry.gaugeMapSize("pagination.totals.cache.size", List.of(), entries);
+    }
+
+    /**
+     * Cached count for the school and filter, computed with the counter on a miss
+     */
+    public long get(Long schoolId, String filter, LongSupplier counter) {
+        Key key = new Key(schoolId, filter);
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < ttlMillis) {
+            hits.increment();
+            return entry.count;
+        }
+
+        misses.increment();
+        long count = counter.getAsLong();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> now - e.loadedAt >= ttlMillis);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry(count, now));
+        return count;
+    }
+
+    public void invalidateSchool(Long schoolId) {
+        entries.keySet().removeIf(key -> schoolId == null ? key.schoolId() == null : schoolId.equals(key.schoolId()));
+    }
+
+    @TransactionalEventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        invalidateSchool(event.getSchoolId());
+        // Unscoped listings (super-admin view across schools) are affected too
+        invalidateSchool(null);
+    }
+
+    @EventListener
+    public void onStudentsPromoted(StudentsPromotedEvent event) {
+        invalidateSchool(event.getSchoolId());
+        invalidateSchool(null);
+    }
+
+    private record Key(Long schoolId, String filter) {
+    }
+
+    private record Entry(long count, long loadedAt) {
+    }
+}
@@ -0,0 +1,242 @@
+package com.schoolmanagement.service;
+
+import com.itextpdf.text.*;
+import com.itextpdf.text.pdf.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared iText resources for generated PDFs. The TrueType font in {@code reports.pdf.font-path}
+ * (for example a Noto Sans Devanagari file, so Hindi names print) is parsed once and each
+ * document embeds only the glyphs it uses; without one the built-in Helvetica is used. School
+ * logos are fetched and decoded once per school and URL, and a document writes its logo once
+ * as an image XObject that every page header refers to. A logo is read only from an https URL
+ * whose host resolves to public addresses (no redirects) or from a file under
+ * {@code reports.pdf.logo-dir}, since principals set the URL.
+ * File: backend/src/main/java/com/schoolmanagement/service/PdfResources.java
+ */
+@Slf4j
+@Component
+public class PdfResources {
+
+    public static final float HEADER_HEIGHT = 40f;
+    // A logo that could not be loaded is tried again after this long
+    private static final long LOGO_RETRY_MS = 10 * 60 * 1000L;
+
+    private final BaseFont baseFont;
+    private final Path logoDir;
+    private final int logoMaxBytes;
+    private final int logoTimeoutMs;
+
+    private final Map<String, Font> fonts = new ConcurrentHashMap<>();
+    private final Map<Long, Logo> logos = new ConcurrentHashMap<>();
+
+    public PdfResources(@Value("${reports.pdf.font-path:}") String fontPath,
+                        @Value("${reports.pdf.font-subset:true}") boolean subset,
+                        @Value("${reports.pdf.logo-dir:}") String logoDir,
+                        @Value("${reports.pdf.logo-max-bytes:1048576}") int logoMaxBytes,
+                        @Value("${reports.pdf.logo-timeout-ms:3000}") int logoTimeoutMs) {
+        this.baseFont = loadFont(fontPath, subset);
+        this.logoDir = logoDir == null || logoDir.isBlank() ? null : Path.of(logoDir).toAbsolutePath().normalize();
+        this.logoMaxBytes = logoMaxBytes;
+        this.logoTimeoutMs = logoTimeoutMs;
+    }
+
+    public BaseFont baseFont() {
+        return baseFont;
+    }
+
+    /**
+     * Font over the shared base font; bold is synthesized when the base font has no bold face
+     */
+    public Font font(float size, int style) {
+        return fonts.computeIfAbsent(size + ":" + style, key -> new Font(baseFont, size, style));
+    }
+
+    /**
+     * The school's decoded logo, or null when it has none or it cannot be loaded. The image is
+     * shared between documents and must not be modified (position it with a transform instead).
+     */
+    public Image logo(Long schoolId, String logoUrl) {
+        if (schoolId == null || logoUrl == null || logoUrl.isBlank()) {
+            return null;
+        }
+        Logo cached = logos.get(schoolId);
+        if (cached != null && cached.url().equals(logoUrl)
+                && (cached.image() != null || System.currentTimeMillis() - cached.loadedAt() < LOGO_RETRY_MS)) {
+            return cached.image();
+        }
+        Image image = loadLogo(logoUrl);
+        logos.put(schoolId, new Logo(logoUrl, image, System.currentTimeMillis()));
+        return image;
+    }
+
+    /**
+     * Page event drawing the school header (logo and name) on every page from one template
+     * and the page number in the footer. The document's top margin must leave
+     * {@link #HEADER_HEIGHT} above the content.
+     */
+    public PdfPageEventHelper pageHeader(String schoolName, Image logo) {
+        return new PageHeader(schoolName, logo);
+    }
+
+    // Helper Methods
+    private BaseFont loadFont(String fontPath, boolean subset) {
+        try {
+            if (fontPath == null || fontPath.isBlank()) {
+                return BaseFont.createFont(BaseFont.HELVETICA, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+            }
+            BaseFont font = BaseFont.createFont(fontPath, BaseFont.IDENTITY_H, BaseFont.EMBEDDED, false, null, null);
+            font.setSubset(subset);
+            log.info("Loaded PDF font {}", fontPath);
+            return font;
+        } catch (DocumentException | IOException e) {
+            throw new IllegalStateException("Could not load PDF font " + fontPath, e);
+        }
+    }
+
+    private Image loadLogo(String logoUrl) {
+        try {
+            byte[] bytes = logoUrl.regionMatches(true, 0, "https://", 0, 8)
+                    ? fetchLogo(new URI(logoUrl))
+                    : readLogoFile(logoUrl);
+            return Image.getInstance(bytes);
+        } catch (IOException | URISyntaxException | BadElementException | RuntimeException e) {
+            log.warn("Could not load school logo {}: {}", logoUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] fetchLogo(URI uri) throws IOException {
+        String host = uri.getHost();
+        if (host == null) {
+            throw new IOException("Logo URL has no host");
+        }
+        // The connection resolves the host again from the JVM's DNS cache, which holds this answer
+        for (InetAddress address : InetAddress.getAllByName(host)) {
+            if (!isPublic(address)) {
+                throw new IOException("Logo host resolves to a non-public address");
+            }
+        }
+        HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+        connection.setInstanceFollowRedirects(false);
+        connection.setConnectTimeout(logoTimeoutMs);
+        connection.setReadTimeout(logoTimeoutMs);
+        try {
+            int status = connection.getResponseCode();
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Logo request returned HTTP " + status);
+            }
+            if (connection.getContentLengthLong() > logoMaxBytes) {
+                throw new IOException("Logo is larger than " + logoMaxBytes + " bytes");
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return readCapped(in);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    // Only files under the configured logo directory, however the path is written
+    private byte[] readLogoFile(String logoPath) throws IOException {
+        if (logoDir == null || logoPath.contains(":")) {
+            throw new IOException("Logo must be an https URL or a file in the logo directory");
+        }
+        Path file = logoDir.resolve(logoPath.replaceFirst("^[/\\\\]+", "")).normalize();
+        if (!file.startsWith(logoDir) || !file.toRealPath().startsWith(logoDir.toRealPath())) {
+            throw new IOException("Logo path is outside the logo directory");
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return readCapped(in);
+        }
+    }
+
+    private byte[] readCapped(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+            if (bytes.size() > logoMaxBytes) {
+                throw new IOException("Logo is larger than " + logoMaxBytes + " bytes");
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] raw = address.getAddress();
+        if (raw.length == 4) {
+            // Carrier-grade NAT 100.64.0.0/10
+            return !((raw[0] & 0xff) == 100 && (raw[1] & 0xc0) == 64);
+        }
+        // IPv6 unique local fc00::/7
+        return (raw[0] & 0xfe) != 0xfc;
+    }
+
+    private record Logo(String url, Image image, long loadedAt) {
+    }
+
+    private class PageHeader extends PdfPageEventHelper {
+
+        private final String schoolName;
+        private final Image logo;
+        private PdfTemplate header;
+
+        PageHeader(String schoolName, Image logo) {
+            this.schoolName = Objects.requireNonNullElse(schoolName, "");
+            this.logo = logo;
+        }
+
+        // Drawn once; each page places the same form XObject
+        @Override
+        public void onOpenDocument(PdfWriter writer, Document document) {
+            float width = document.right() - document.left();
+            header = writer.getDirectContent().createTemplate(width, HEADER_HEIGHT);
+
+            float textX = 0;
+            if (logo != null) {
+                float height = HEADER_HEIGHT - 8;
+                float logoWidth = logo.getWidth() * height / logo.getHeight();
+                try {
+                    header.addImage(logo, logoWidth, 0, 0, height, 0, 6);
+                    textX = logoWidth + 8;
+                } catch (DocumentException e) {
+                    log.warn("Could not place school logo: {}", e.getMessage());
+                }
+            }
+            ColumnText.showTextAligned(header, Element.ALIGN_LEFT,
+                    new Phrase(schoolName, font(12, Font.BOLD)), textX, HEADER_HEIGHT / 2, 0);
+
+            header.setLineWidth(0.5f);
+            header.moveTo(0, 1);
+            header.lineTo(width, 1);
+            header.stroke();
+        }
+
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            PdfContentByte canvas = writer.getDirectContent();
+            canvas.addTemplate(header, document.left(), document.top() + 6);
+            ColumnText.showTextAligned(canvas, Element.ALIGN_CENTER,
+                    new Phrase("Page " + writer.getPageNumber(), font(8, Font.NORMAL)),
+                    (document.left() + document.right()) / 2, document.bottom() - 20, 0);
+        }
+    }
+}
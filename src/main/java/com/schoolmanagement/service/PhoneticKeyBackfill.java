@@ -0,0 +1,32 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills phonetic name keys for users created before the key table existed
+ * File: backend/src/main/java/com/schoolmanagement/service/PhoneticKeyBackfill.java
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PhoneticKeyBackfill {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long started = System.currentTimeMillis();
+        int updated = userRepository.backfillPhoneticKeys(BATCH_SIZE);
+        if (updated > 0) {
+            log.info("Backfilled phonetic name keys for {} users in {} ms",
+                    updated, System.currentTimeMillis() - started);
+        }
+    }
+}
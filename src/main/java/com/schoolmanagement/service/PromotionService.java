@@ -0,0 +1,398 @@
+package com.schoolmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolmanagement.dto.PromotionReport;
+import com.schoolmanagement.dto.PromotionRequest;
+import com.schoolmanagement.entity.ClassEntity;
+import com.schoolmanagement.entity.ClassSection;
+import com.schoolmanagement.entity.PromotionRun;
+import com.schoolmanagement.entity.School;
+import com.schoolmanagement.event.StudentsPromotedEvent;
+import com.schoolmanagement.repository.ClassEntityRepository;
+import com.schoolmanagement.repository.ClassSectionRepository;
+import com.schoolmanagement.repository.PromotionRunRepository;
+import com.schoolmanagement.repository.SchoolRepository;
+import com.schoolmanagement.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Year-end promotion engine. A run creates the new academic year's class sections, moves
+ * students out of the mapped classes' sections with set-based UPDATEs in chunked transactions,
+ * renumbers roll numbers per target section and retires the old sections. Each step is
+ * idempotent (sections are found before they are created, a chunk is "the next students still
+ * in the source section"), so an interrupted or failed run is resumed by simply running it again.
+ * File: backend/src/main/java/com/schoolmanagement/service/PromotionService.java
+ */
+@Slf4j
+@Service
+public class PromotionService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final SchoolRepository schoolRepository;
+    private final ClassEntityRepository classEntityRepository;
+    private final ClassSectionRepository classSectionRepository;
+    private final StudentRepository studentRepository;
+    private final PromotionRunRepository promotionRunRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor promotionExecutor;
+    private final int chunkSize;
+
+    // Runs executing on this node; a RUNNING run missing here was interrupted and may be resumed
+    private final Set<Long> activeRuns = ConcurrentHashMap.newKeySet();
+
+    public PromotionService(SchoolRepository schoolRepository,
+                            ClassEntityRepository classEntityRepository,
+                            ClassSectionRepository classSectionRepository,
+                            StudentRepository studentRepository,
+                            PromotionRunRepository promotionRunRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier("promotionExecutor") ThreadPoolTaskExecutor promotionExecutor,
+                            @Value("${students.promotion.chunk-size:1000}") int chunkSize) {
+        this.schoolRepository = schoolRepository;
+        this.classEntityRepository = classEntityRepository;
+        this.classSectionRepository = classSectionRepository;
+        this.studentRepository = studentRepository;
+        this.promotionRunRepository = promotionRunRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.promotionExecutor = promotionExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Plan of the promotion; nothing is written
+     */
+    public PromotionReport preview(Long schoolId, PromotionRequest request) {
+        List<Step> plan = transactionTemplate.execute(status -> plan(schoolId, request));
+        return PromotionReport.builder()
+                .dryRun(true)
+                .fromAcademicYear(request.getFromAcademicYear())
+                .toAcademicYear(request.getToAcademicYear())
+                .totalStudents(plan.stream().mapToInt(Step::students).sum())
+                .sectionsCreated((int) plan.stream()
+                        .filter(step -> !step.graduating() && step.target() == null)
+                        .map(Step::targetKey)
+                        .distinct()
+                        .count())
+                .sections(plan.stream().map(Step::toSectionMove).toList())
+                .build();
+    }
+
+    /**
+     * Record a run and execute it in the background; progress is read with {@link #getRun}.
+     * The school row is locked while checking for a running run, so concurrent starts queue
+     * up and only the first one finds no running run.
+     */
+    public PromotionReport start(Long schoolId, PromotionRequest request) {
+        PromotionRun run = transactionTemplate.execute(status -> {
+            School school = schoolRepository.lockById(schoolId)
+                    .orElseThrow(() -> new RuntimeException("School not found"));
+            promotionRunRepository.findFirstBySchoolIdAndStatus(schoolId, PromotionRun.Status.RUNNING)
+                    .ifPresent(existing -> {
+                        throw new RuntimeException("Promotion run " + existing.getId()
+                                + " has not finished for this school; resume it instead");
+                    });
+            List<Step> plan = plan(schoolId, request);
+            return promotionRunRepository.save(PromotionRun.builder()
+                    .school(school)
+                    .fromAcademicYear(request.getFromAcademicYear())
+                    .toAcademicYear(request.getToAcademicYear())
+                    .classMapping(writeMapping(request.getMappings()))
+                    .status(PromotionRun.Status.RUNNING)
+                    .totalStudents(plan.stream().mapToInt(Step::students).sum())
+                    .studentsMoved(0)
+                    .studentsGraduated(0)
+                    .sectionsCreated(0)
+                    .startedAt(LocalDateTime.now())
+                    .build());
+        });
+        submit(run.getId(), schoolId, request);
+        return PromotionReport.fromEntity(run);
+    }
+
+    /**
+     * Continue a failed or interrupted run from what it has already committed
+     */
+    public PromotionReport resume(Long schoolId, Long runId) {
+        if (activeRuns.contains(runId)) {
+            throw new RuntimeException("Promotion run is still in progress");
+        }
+        Resumed resumed = transactionTemplate.execute(status -> {
+            schoolRepository.lockById(schoolId)
+                    .orElseThrow(() -> new RuntimeException("School not found"));
+            PromotionRun run = promotionRunRepository.findByIdAndSchoolId(runId, schoolId)
+                    .orElseThrow(() -> new RuntimeException("Promotion run not found"));
+            if (run.getStatus() == PromotionRun.Status.COMPLETED) {
+                throw new RuntimeException("Promotion run has already completed");
+            }
+            promotionRunRepository.findFirstBySchoolIdAndStatusAndIdNot(schoolId, PromotionRun.Status.RUNNING, runId)
+                    .ifPresent(other -> {
+                        throw new RuntimeException("Promotion run " + other.getId()
+                                + " has not finished for this school");
+                    });
+            run.setStatus(PromotionRun.Status.RUNNING);
+            run.setErrorMessage(null);
+            run.setFinishedAt(null);
+
+            PromotionRequest request = new PromotionRequest();
+            request.setFromAcademicYear(run.getFromAcademicYear());
+            request.setToAcademicYear(run.getToAcademicYear());
+            request.setMappings(readMapping(run.getClassMapping()));
+            return new Resumed(request, PromotionReport.fromEntity(run));
+        });
+        submit(runId, schoolId, resumed.request());
+        return resumed.report();
+    }
+
+    public PromotionReport getRun(Long schoolId, Long runId) {
+        return transactionTemplate.execute(status -> promotionRunRepository.findByIdAndSchoolId(runId, schoolId)
+                .map(PromotionReport::fromEntity)
+                .orElseThrow(() -> new RuntimeException("Promotion run not found")));
+    }
+
+    // Helper Methods
+    private void submit(Long runId, Long schoolId, PromotionRequest request) {
+        activeRuns.add(runId);
+        try {
+            promotionExecutor.execute(() -> execute(runId, schoolId, request));
+        } catch (RejectedExecutionException e) {
+            activeRuns.remove(runId);
+            finish(runId, PromotionRun.Status.FAILED, "Too many promotions in progress; resume this run later");
+            throw new RuntimeException("Too many promotions in progress; resume run " + runId + " later");
+        }
+    }
+
+    private void execute(Long runId, Long schoolId, PromotionRequest request) {
+        long started = System.currentTimeMillis();
+        try {
+            // 1. Sections of the new year that do not exist yet
+            List<Step> plan = transactionTemplate.execute(status -> {
+                List<Step> steps = plan(schoolId, request);
+                int created = createTargetSections(schoolId, request.getToAcademicYear(), steps);
+                if (created == 0) {
+                    return steps;
+                }
+                promotionRunRepository.findById(runId).ifPresent(run ->
+                        run.setSectionsCreated(run.getSectionsCreated() + created));
+                return plan(schoolId, request);
+            });
+
+            // 2. Students, one chunk per transaction together with its progress
+            for (Step step : plan) {
+                moveStudents(runId, step);
+            }
+
+            // 3. Roll numbers in the target sections, then retire the old sections
+            Set<Long> targets = plan.stream()
+                    .filter(step -> !step.graduating())
+                    .map(step -> step.target().getId())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            for (Long target : targets) {
+                transactionTemplate.executeWithoutResult(status -> studentRepository.reassignRollNumbers(target));
+            }
+            transactionTemplate.executeWithoutResult(status -> classSectionRepository.deactivateAll(
+                    plan.stream().map(step -> step.source().getId()).toList()));
+
+            finish(runId, PromotionRun.Status.COMPLETED, null);
+            log.info("Promotion run {} for school {} completed in {} ms",
+                    runId, schoolId, System.currentTimeMillis() - started);
+            eventPublisher.publishEvent(StudentsPromotedEvent.builder()
+                    .schoolId(schoolId)
+                    .runId(runId)
+                    .fromAcademicYear(request.getFromAcademicYear())
+                    .toAcademicYear(request.getToAcademicYear())
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Promotion run {} for school {} failed", runId, schoolId, e);
+            finish(runId, PromotionRun.Status.FAILED, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        } finally {
+            activeRuns.remove(runId);
+        }
+    }
+
+    private void moveStudents(Long runId, Step step) {
+        Long sourceId = step.source().getId();
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> {
+                List<Long> ids = studentRepository.findActiveIdsByClassSectionId(sourceId, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                if (step.graduating()) {
+                    studentRepository.deactivate(ids);
+                    promotionRunRepository.addProgress(runId, 0, ids.size());
+                } else {
+                    studentRepository.moveToClassSection(ids, step.target().getId());
+                    promotionRunRepository.addProgress(runId, ids.size(), 0);
+                }
+                return ids.size();
+            });
+        } while (moved > 0);
+    }
+
+    private int createTargetSections(Long schoolId, String academicYear, List<Step> plan) {
+        Map<String, ClassSection> missing = new LinkedHashMap<>();
+        for (Step step : plan) {
+            if (!step.graduating() && step.target() == null) {
+                missing.computeIfAbsent(step.targetKey(), key -> ClassSection.builder()
+                        .school(schoolRepository.getReferenceById(schoolId))
+                        .classEntity(step.targetClass())
+                        .section(step.source().getSection())
+                        .maxStudents(step.source().getMaxStudents())
+                        .academicYear(academicYear)
+                        .isActive(true)
+                        .build());
+            }
+        }
+        classSectionRepository.saveAll(missing.values());
+        return missing.size();
+    }
+
+    private List<Step> plan(Long schoolId, PromotionRequest request) {
+        String from = request.getFromAcademicYear();
+        String to = request.getToAcademicYear();
+        if (from.equals(to)) {
+            throw new RuntimeException("From and to academic years must differ");
+        }
+        if (!schoolRepository.existsById(schoolId)) {
+            throw new RuntimeException("School not found");
+        }
+
+        Map<Long, ClassEntity> classes = classEntityRepository.findBySchoolId(schoolId).stream()
+                .collect(Collectors.toMap(ClassEntity::getId, Function.identity()));
+        Map<Long, Long> mapping = new HashMap<>();
+        for (PromotionRequest.ClassMapping entry : request.getMappings()) {
+            for (Long classId : Arrays.asList(entry.getFromClassId(), entry.getToClassId())) {
+                if (classId != null && !classes.containsKey(classId)) {
+                    throw new RuntimeException("Class not found in school: " + classId);
+                }
+            }
+            if (mapping.containsKey(entry.getFromClassId())) {
+                throw new RuntimeException("Class mapped more than once: " + entry.getFromClassId());
+            }
+            mapping.put(entry.getFromClassId(), entry.getToClassId());
+        }
+
+        List<ClassSection> sources = new ArrayList<>();
+        Map<String, ClassSection> targets = new HashMap<>();
+        for (ClassSection section : classSectionRepository.findWithDetailsBySchoolIdAndAcademicYearIn(
+                schoolId, List.of(from, to))) {
+            if (to.equals(section.getAcademicYear())) {
+                targets.put(key(section.getClassEntity().getId(), section.getSection().getId()), section);
+            } else if (mapping.containsKey(section.getClassEntity().getId())) {
+                sources.add(section);
+            }
+        }
+        if (sources.isEmpty()) {
+            throw new RuntimeException("No class sections of the mapped classes in academic year " + from);
+        }
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : studentRepository.countActiveGroupedByClassSection(
+                sources.stream().map(ClassSection::getId).toList())) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+
+        sources.sort(Comparator.comparing((ClassSection s) -> s.getClassEntity().getClassNumber())
+                .thenComparing(s -> s.getSection().getSectionName()));
+        List<Step> steps = new ArrayList<>(sources.size());
+        for (ClassSection source : sources) {
+            Long targetClassId = mapping.get(source.getClassEntity().getId());
+            ClassEntity targetClass = targetClassId != null ? classes.get(targetClassId) : null;
+            ClassSection target = targetClass != null
+                    ? targets.get(key(targetClassId, source.getSection().getId())) : null;
+            steps.add(new Step(source, targetClass, target,
+                    counts.getOrDefault(source.getId(), 0L).intValue()));
+        }
+        return steps;
+    }
+
+    private void finish(Long runId, PromotionRun.Status status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> promotionRunRepository.findById(runId).ifPresent(run -> {
+            run.setStatus(status);
+            run.setErrorMessage(error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            run.setFinishedAt(LocalDateTime.now());
+        }));
+    }
+
+    private String writeMapping(List<PromotionRequest.ClassMapping> mappings) {
+        try {
+            return objectMapper.writeValueAsString(mappings);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not store class mapping", e);
+        }
+    }
+
+    private List<PromotionRequest.ClassMapping> readMapping(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not read class mapping", e);
+        }
+    }
+
+    private static String key(Long classId, Long sectionId) {
+        return classId + "|" + sectionId;
+    }
+
+    private static String name(ClassEntity classEntity, ClassSection section) {
+        return classEntity.getClassName() + " - " + section.getSection().getSectionName();
+    }
+
+    private record Resumed(PromotionRequest request, PromotionReport report) {
+    }
+
+    /**
+     * One source section and where its students go; target is null until created, targetClass
+     * is null when the class graduates
+     */
+    private record Step(ClassSection source, ClassEntity targetClass, ClassSection target, int students) {
+
+        boolean graduating() {
+            return targetClass == null;
+        }
+
+        String targetKey() {
+            return key(targetClass.getId(), source.getSection().getId());
+        }
+
+        PromotionReport.SectionMove toSectionMove() {
+            return PromotionReport.SectionMove.builder()
+                    .fromClassSectionId(source.getId())
+                    .fromName(name(source.getClassEntity(), source))
+                    .toClassSectionId(target != null ? target.getId() : null)
+                    .toName(graduating() ? null : name(targetClass, source))
+                    .students(students)
+                    .capacity(graduating() ? null : target != null ? target.getMaxStudents() : source.getMaxStudents())
+                    .graduating(graduating())
+                    .build();
+        }
+    }
+}
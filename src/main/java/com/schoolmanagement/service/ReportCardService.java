@@ -0,0 +1,238 @@
+package com.schoolmanagement.service;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.PdfCopy;
+import com.itextpdf.text.pdf.PdfReader;
+import com.schoolmanagement.dto.StudentResponse;
+import com.schoolmanagement.entity.Exam;
+import com.schoolmanagement.entity.Result;
+import com.schoolmanagement.entity.Student;
+import com.schoolmanagement.repository.AttendanceRepository;
+import com.schoolmanagement.repository.ExamRepository;
+import com.schoolmanagement.repository.ResultRepository;
+import com.schoolmanagement.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Report cards for one student or in bulk for a class section or exam. All data for a batch
+ * is read up front with a fixed number of queries (students with details, results with their
+ * subjects, attendance counts per student unless the in-memory store covers the window), then
+ * the cards are rendered in parallel on the report shard pool and written as one merged PDF or
+ * a ZIP of per-student PDFs.
+ * File: backend/src/main/java/com/schoolmanagement/service/ReportCardService.java
+ */
+@Slf4j
+@Service
+public class ReportCardService {
+
+    public enum Output {
+        PDF, ZIP
+    }
+
+    /**
+     * Everything one card shows; results carry their exam subject and subject
+     */
+    public record ReportCard(StudentResponse student, List<Result> results, double attendancePercentage,
+                             String logoUrl) {
+    }
+
+    private final StudentRepository studentRepository;
+    private final ResultRepository resultRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final ExamRepository examRepository;
+    private final AttendanceVectorStore attendanceVectorStore;
+    private final ReportService reportService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool reportShardPool;
+
+    public ReportCardService(StudentRepository studentRepository,
+                             ResultRepository resultRepository,
+                             AttendanceRepository attendanceRepository,
+                             ExamRepository examRepository,
+                             AttendanceVectorStore attendanceVectorStore,
+                             ReportService reportService,
+                             PlatformTransactionManager transactionManager,
+                             @Qualifier("reportShardPool") ForkJoinPool reportShardPool) {
+        this.studentRepository = studentRepository;
+        this.resultRepository = resultRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.examRepository = examRepository;
+        this.attendanceVectorStore = attendanceVectorStore;
+        this.reportService = reportService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.reportShardPool = reportShardPool;
+    }
+
+    /**
+     * Card data of one student; results of one exam, or of all exams, in exam order, when
+     * examId is null
+     */
+    public ReportCard loadReportCard(Long studentId, Long examId, LocalDate startDate, LocalDate endDate) {
+        return readOnlyTransaction.execute(status -> {
+            Student student = studentRepository.findById(studentId)
+                    .orElseThrow(() -> new RuntimeException("Student not found"));
+            return load(List.of(student), examId, startDate, endDate).get(0);
+        });
+    }
+
+    /**
+     * Card data of the active students of a class section, or of the exam's students when only
+     * an exam is given, in roll-number order
+     */
+    public List<ReportCard> loadReportCards(Long classSectionId, Long examId, LocalDate startDate, LocalDate endDate) {
+        if (classSectionId == null && examId == null) {
+            throw new RuntimeException("A class section or an exam is required");
+        }
+        return readOnlyTransaction.execute(status -> {
+            List<Student> students;
+            if (classSectionId != null) {
+                students = studentRepository.findActiveWithDetailsByClassSectionId(classSectionId);
+            } else {
+                Exam exam = examRepository.findById(examId)
+                        .orElseThrow(() -> new RuntimeException("Exam not found"));
+                students = exam.getClassSection() != null
+                        ? studentRepository.findActiveWithDetailsByClassSectionId(exam.getClassSection().getId())
+                        : studentRepository.findWithDetailsByExamId(examId);
+            }
+            if (students.isEmpty()) {
+                throw new RuntimeException("No students found for report cards");
+            }
+            return load(students, examId, startDate, endDate);
+        });
+    }
+
+    /**
+     * Render the cards in parallel and write them as one merged PDF or a ZIP of per-student
+     * PDFs; the output stream is left open
+     */
+    public void writeReportCards(List<ReportCard> cards, Output output, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        List<byte[]> rendered = render(cards);
+        if (output == Output.ZIP) {
+            writeZip(cards, rendered, out);
+        } else {
+            writeMerged(rendered, out);
+        }
+        log.info("Generated {} report cards as {} in {} ms", cards.size(), output, System.currentTimeMillis() - started);
+    }
+
+    // Helper Methods
+    private List<ReportCard> load(List<Student> students, Long examId, LocalDate startDate, LocalDate endDate) {
+        List<Long> studentIds = students.stream().map(Student::getId).toList();
+        List<Long> userIds = students.stream().map(student -> student.getUser().getId()).toList();
+
+        Map<Long, List<Result>> resultsByStudent = resultRepository.findWithSubjectsByStudentIdIn(studentIds, examId)
+                .stream()
+                .collect(Collectors.groupingBy(result -> result.getStudent().getId()));
+
+        // Served from the in-memory attendance store when it covers the window, else one grouped query
+        Map<Long, Double> attendanceByUser = new HashMap<>();
+        if (attendanceVectorStore.covers(startDate)) {
+            userIds.forEach(userId -> attendanceByUser.put(userId,
+                    attendanceVectorStore.getAttendancePercentage(userId, startDate, endDate)));
+        } else {
+            for (Object[] row : attendanceRepository.countPresentGroupedByUser(userIds, startDate, endDate)) {
+                long days = (Long) row[1];
+                long present = ((Number) row[2]).longValue();
+                attendanceByUser.put((Long) row[0], days == 0 ? 0 : (double) present / days * 100);
+            }
+        }
+
+        return students.stream()
+                .map(student -> new ReportCard(StudentResponse.fromEntity(student),
+                        resultsByStudent.getOrDefault(student.getId(), List.of()),
+                        attendanceByUser.getOrDefault(student.getUser().getId(), 0.0),
+                        student.getUser().getSchool().getLogoUrl()))
+                .toList();
+    }
+
+    // Card order is kept; parallelism is bounded by the shared pool
+    private List<byte[]> render(List<ReportCard> cards) throws IOException {
+        try {
+            return reportShardPool.submit(() -> cards.parallelStream()
+                    .map(card -> {
+                        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                        try {
+                            reportService.generateStudentReportCardPDF(
+                                    card.student(), card.results(), card.attendancePercentage(), card.logoUrl(), buffer);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return buffer.toByteArray();
+                    })
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Report card rendering interrupted");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof UncheckedIOException unchecked
+                    ? unchecked.getCause() : new IOException("Could not render report cards", e.getCause());
+        }
+    }
+
+    private void writeMerged(List<byte[]> rendered, OutputStream out) throws IOException {
+        Document document = new Document();
+        try {
+            PdfCopy copy = new PdfCopy(document, out);
+            copy.setCloseStream(false);
+            document.open();
+            for (byte[] card : rendered) {
+                PdfReader reader = new PdfReader(card);
+                copy.addDocument(reader);
+                reader.close();
+            }
+        } catch (DocumentException e) {
+            throw new IOException("Could not merge report cards", e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+    }
+
+    private void writeZip(List<ReportCard> cards, List<byte[]> rendered, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // iText output is compressed already
+        zip.setMethod(ZipOutputStream.STORED);
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < cards.size(); i++) {
+            StudentResponse student = cards.get(i).student();
+            String name = ("report_card_" + student.getAdmissionNumber()).replaceAll("[^A-Za-z0-9._-]", "_");
+            if (!names.add(name)) {
+                name = name + "_" + student.getId();
+            }
+            byte[] content = rendered.get(i);
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            ZipEntry entry = new ZipEntry(name + ".pdf");
+            entry.setSize(content.length);
+            entry.setCompressedSize(content.length);
+            entry.setCrc(crc.getValue());
+            zip.putNextEntry(entry);
+            zip.write(content);
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+}
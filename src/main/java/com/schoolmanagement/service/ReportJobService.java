@@ -0,0 +1,362 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.dto.ReportJobResponse;
+import com.schoolmanagement.dto.ReportJobResponse.Status;
+import com.schoolmanagement.repository.AttendanceRepository;
+import com.schoolmanagement.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Background report exports. A submitted export becomes a job on the bounded report job pool
+ * that writes its file to a local directory; clients poll the job and download the file from
+ * disk once it is ready. A submission with the same parameters as a queued or running job
+ * joins that job instead of starting another. Jobs and files live on this node only and are
+ * dropped {@code reports.jobs.ttl-ms} after they finish.
+ * File: backend/src/main/java/com/schoolmanagement/service/ReportJobService.java
+ */
+@Slf4j
+@Service
+public class ReportJobService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    // Files this service writes: <job id>.pdf / .xlsx, and .part while being written
+    private static final Pattern JOB_FILE = Pattern.compile("[0-9a-f-]{36}\\.(pdf|xlsx|part)");
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    public enum Format {
+        PDF, EXCEL
+    }
+
+    /**
+     * A finished job's file, for the download response
+     */
+    public record ReportFile(Path path, String fileName, MediaType contentType, long sizeBytes) {
+    }
+
+    private final ReportService reportService;
+    private final ExcelExportService excelExportService;
+    private final SchoolService schoolService;
+    private final StudentRepository studentRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final ThreadPoolTaskExecutor reportJobExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Path directory;
+    private final long ttlMs;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    // Parameters key -> the queued or running job for those parameters
+    private final Map<String, ReportJob> inFlight = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportService reportService,
+                            ExcelExportService excelExportService,
+                            SchoolService schoolService,
+                            StudentRepository studentRepository,
+                            AttendanceRepository attendanceRepository,
+                            @Qualifier("reportJobExecutor") ThreadPoolTaskExecutor reportJobExecutor,
+                            MeterRegistry meterRegistry,
+                            @Value("${reports.jobs.dir:${java.io.tmpdir}/school-reports}") String directory,
+                            @Value("${reports.jobs.ttl-ms:3600000}") long ttlMs) {
+        this.reportService = reportService;
+        this.excelExportService = excelExportService;
+        this.schoolService = schoolService;
+        this.studentRepository = studentRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.reportJobExecutor = reportJobExecutor;
+        this.meterRegistry = meterRegistry;
+        this.directory = Paths.get(directory);
+        this.ttlMs = ttlMs;
+        prepareDirectory();
+        for (Status status : List.of(Status.QUEUED, Status.RUNNING)) {
+            meterRegistry.gauge("reports.jobs.active", Tags.of("status", status.name().toLowerCase(Locale.ROOT)),
+                    this, service -> service.count(status));
+        }
+    }
+
+    /**
+     * Queue a student list export (same filters as the streamed download)
+     */
+    public ReportJobResponse submitStudentList(Long schoolId, Long classSectionId, String searchTerm,
+                                               Format format, String username) {
+        boolean search = searchTerm != null && !searchTerm.trim().isEmpty();
+        Long sectionId = search ? null : classSectionId;
+        String term = search ? searchTerm.trim() : null;
+        String schoolName = schoolService.getSchoolById(schoolId).getSchoolName();
+
+        String key = "students|" + format + "|" + schoolId + "|" + sectionId + "|"
+                + (term == null ? "" : term.toLowerCase(Locale.ROOT));
+        String extension = format == Format.PDF ? "pdf" : "xlsx";
+        return submit(key, "students-" + extension, username,
+                "students_report_" + LocalDate.now() + "." + extension,
+                () -> studentRepository.countExportRows(schoolId, sectionId, term),
+                format == Format.PDF
+                        ? (out, progress) -> reportService.generateStudentListPDF(
+                                schoolId, sectionId, term, schoolName, out, progress)
+                        : (out, progress) -> excelExportService.exportStudentsToExcel(
+                                schoolId, sectionId, term, schoolName, out, progress));
+    }
+
+    /**
+     * Queue a student attendance PDF
+     */
+    public ReportJobResponse submitAttendance(Long userId, LocalDate startDate, LocalDate endDate, String username) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        String key = "attendance|PDF|" + userId + "|" + startDate + "|" + endDate;
+        return submit(key, "attendance-pdf", username,
+                "attendance_report_" + LocalDate.now() + ".pdf",
+                () -> attendanceRepository.countByUserIdAndAttendanceDateBetween(userId, startDate, endDate),
+                (out, progress) -> reportService.generateAttendanceReportPDF(userId, startDate, endDate, out, progress));
+    }
+
+    public ReportJobResponse getJob(String jobId, String username) {
+        return toResponse(find(jobId, username));
+    }
+
+    public ReportFile getFile(String jobId, String username) {
+        ReportJob job = find(jobId, username);
+        if (job.status == Status.FAILED) {
+            throw new RuntimeException("Report failed: " + job.errorMessage);
+        }
+        if (job.status != Status.COMPLETED || !Files.exists(job.file)) {
+            throw new RuntimeException("Report is not ready yet");
+        }
+        return new ReportFile(job.file, job.fileName, job.fileName.endsWith(".pdf")
+                ? MediaType.APPLICATION_PDF : XLSX, job.sizeBytes);
+    }
+
+    /**
+     * Number of jobs held on this node, by status
+     */
+    public Map<Status, Long> getJobCounts() {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, count(status));
+        }
+        return counts;
+    }
+
+    /**
+     * Drop finished jobs older than the TTL together with their files
+     */
+    @Scheduled(fixedDelayString = "${reports.jobs.cleanup-ms:60000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttlMs, ChronoUnit.MILLIS);
+        int purged = 0;
+        for (ReportJob job : jobs.values()) {
+            LocalDateTime finishedAt = job.finishedAt;
+            if (finishedAt != null && finishedAt.isBefore(cutoff) && jobs.remove(job.id, job)) {
+                if (job.file != null) {
+                    deleteQuietly(job.file);
+                }
+                purged++;
+            }
+        }
+        if (purged > 0) {
+            log.debug("Purged {} expired report jobs", purged);
+        }
+    }
+
+    // Helper Methods
+    private ReportJobResponse submit(String key, String report, String username, String fileName,
+                                     LongSupplier totalRows, Export export) {
+        while (true) {
+            ReportJob[] created = new ReportJob[1];
+            ReportJob job = inFlight.computeIfAbsent(key, k -> created[0] =
+                    new ReportJob(UUID.randomUUID().toString(), k, report, fileName, totalRows, export));
+
+            if (created[0] == null) {
+                // Joined jobs are only visible once the pool took them; a refused one is submitted again
+                if (!job.accepted.join()) {
+                    continue;
+                }
+                job.owners.add(username);
+                meterRegistry.counter("reports.jobs.submitted", "report", report, "result", "coalesced").increment();
+                return toResponse(job);
+            }
+
+            job.owners.add(username);
+            try {
+                reportJobExecutor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(key, job);
+                job.accepted.complete(false);
+                meterRegistry.counter("reports.jobs.submitted", "report", report, "result", "rejected").increment();
+                throw new RuntimeException("Too many reports in progress; try again later");
+            }
+            jobs.put(job.id, job);
+            job.accepted.complete(true);
+            meterRegistry.counter("reports.jobs.submitted", "report", report, "result", "started").increment();
+            return toResponse(job);
+        }
+    }
+
+    private void run(ReportJob job) {
+        long started = System.currentTimeMillis();
+        job.startedAt = LocalDateTime.now();
+        job.status = Status.RUNNING;
+        Path part = directory.resolve(job.id + ".part");
+        Path file = directory.resolve(job.id + job.fileName.substring(job.fileName.lastIndexOf('.')));
+        try {
+            job.totalRows = job.totalRowsQuery.getAsLong();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                job.export.write(out, rows -> job.rowsWritten = rows);
+            }
+            Files.move(part, file, StandardCopyOption.ATOMIC_MOVE);
+            job.file = file;
+            job.sizeBytes = Files.size(file);
+            job.finishedAt = LocalDateTime.now();
+            job.status = Status.COMPLETED;
+            log.info("Report job {} ({}) wrote {} rows, {} bytes in {} ms", job.id, job.report,
+                    job.rowsWritten, job.sizeBytes, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            deleteQuietly(part);
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            job.errorMessage = message == null ? e.getClass().getSimpleName()
+                    : message.substring(0, Math.min(message.length(), MAX_ERROR_LENGTH));
+            job.finishedAt = LocalDateTime.now();
+            job.status = Status.FAILED;
+            log.error("Report job {} ({}) failed", job.id, job.report, e);
+        } finally {
+            // Later submissions start a fresh export; the finished job keeps serving its file
+            inFlight.remove(job.key, job);
+            job.totalRowsQuery = null;
+            job.export = null;
+            meterRegistry.timer("reports.jobs.duration", "report", job.report,
+                            "result", job.status.name().toLowerCase(Locale.ROOT))
+                    .record(System.currentTimeMillis() - started, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private ReportJob find(String jobId, String username) {
+        ReportJob job = jobs.get(jobId);
+        // Someone else's job is reported the same as a missing one
+        if (job == null || !job.owners.contains(username)) {
+            throw new RuntimeException("Report job not found or expired");
+        }
+        return job;
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        Status status = job.status;
+        long total = job.totalRows;
+        long written = job.rowsWritten;
+        int percent = status == Status.COMPLETED ? 100
+                : status == Status.RUNNING && total > 0 ? (int) Math.min(99, written * 100 / total) : 0;
+        LocalDateTime finishedAt = job.finishedAt;
+        return ReportJobResponse.builder()
+                .jobId(job.id)
+                .status(status)
+                .fileName(job.fileName)
+                .totalRows(total)
+                .rowsWritten(written)
+                .percentComplete(percent)
+                .sizeBytes(status == Status.COMPLETED ? job.sizeBytes : null)
+                .errorMessage(job.errorMessage)
+                .submittedAt(job.submittedAt)
+                .startedAt(job.startedAt)
+                .finishedAt(finishedAt)
+                .expiresAt(finishedAt == null ? null : finishedAt.plus(ttlMs, ChronoUnit.MILLIS))
+                .build();
+    }
+
+    private long count(Status status) {
+        return jobs.values().stream().filter(job -> job.status == status).count();
+    }
+
+    // Files left by a previous run of this node are unreachable: their jobs were in memory
+    private void prepareDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                List<Path> stale = files
+                        .filter(path -> JOB_FILE.matcher(path.getFileName().toString()).matches())
+                        .collect(Collectors.toList());
+                stale.forEach(this::deleteQuietly);
+                if (!stale.isEmpty()) {
+                    log.info("Removed {} report files left in {}", stale.size(), directory);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Report job directory " + directory + " is not usable", e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", path, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void write(OutputStream out, IntConsumer progress) throws IOException;
+    }
+
+    private static class ReportJob {
+
+        final String id;
+        final String key;
+        final String report;
+        final String fileName;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final Set<String> owners = ConcurrentHashMap.newKeySet();
+        // Whether the job pool took the job; callers joining it wait for this
+        final CompletableFuture<Boolean> accepted = new CompletableFuture<>();
+        // Released once the job has run
+        volatile LongSupplier totalRowsQuery;
+        volatile Export export;
+
+        volatile Status status = Status.QUEUED;
+        volatile long totalRows;
+        volatile long rowsWritten;
+        volatile Path file;
+        volatile long sizeBytes;
+        volatile String errorMessage;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+
+        ReportJob(String id, String key, String report, String fileName, LongSupplier totalRowsQuery, Export export) {
+            this.id = id;
+            this.key = key;
+            this.report = report;
+            this.fileName = fileName;
+            this.totalRowsQuery = totalRowsQuery;
+            this.export = export;
+        }
+    }
+}
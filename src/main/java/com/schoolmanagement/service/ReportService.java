@@ -2,287 +2,390 @@ package com.schoolmanagement.service;
 
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
+import com.schoolmanagement.dto.StudentExportRow;
 import com.schoolmanagement.dto.StudentResponse;
-import com.schoolmanagement.entity.Student;
 import com.schoolmanagement.entity.Attendance;
+import com.schoolmanagement.entity.Exam;
 import com.schoolmanagement.entity.Result;
-import lombok.RequiredArgsConstructor;
+import com.schoolmanagement.entity.School;
+import com.schoolmanagement.entity.User;
+import com.schoolmanagement.repository.AttendanceRepository;
+import com.schoolmanagement.repository.SchoolRepository;
+import com.schoolmanagement.repository.StudentRepository;
+import com.schoolmanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 
 /**
  * Service for generating PDF reports
  * File: backend/src/main/java/com/schoolmanagement/service/ReportService.java
  */
 @Service
-@RequiredArgsConstructor
 public class ReportService {
 
-    private static final Font TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 18, Font.BOLD);
-    private static final Font HEADER_FONT = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD);
-    private static final Font NORMAL_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
+    private final StudentRepository studentRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final UserRepository userRepository;
+    private final SchoolRepository schoolRepository;
+    private final PdfResources pdfResources;
+    private final int chunkRows;
+
+    private final Font titleFont;
+    private final Font headerFont;
+    private final Font normalFont;
+    // Styled header rows per column set; PdfPTable.addCell copies the cell it is given
+    private final Map<List<String>, PdfPCell[]> headerCells = new ConcurrentHashMap<>();
+
+    public ReportService(StudentRepository studentRepository,
+                         AttendanceRepository attendanceRepository,
+                         UserRepository userRepository,
+                         SchoolRepository schoolRepository,
+                         PdfResources pdfResources,
+                         @Value("${reports.pdf.chunk-rows:100}") int chunkRows) {
+        this.studentRepository = studentRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.userRepository = userRepository;
+        this.schoolRepository = schoolRepository;
+        this.pdfResources = pdfResources;
+        this.chunkRows = chunkRows;
+        this.titleFont = pdfResources.font(18, Font.BOLD);
+        this.headerFont = pdfResources.font(12, Font.BOLD);
+        this.normalFont = pdfResources.font(10, Font.NORMAL);
+    }
 
     /**
-     * Generate Student List PDF Report
+     * Generate Student List PDF Report, streamed: students are read from a cursor and the
+     * table is laid out and written to the output every {@code reports.pdf.chunk-rows} rows
      */
-    public byte[] generateStudentListPDF(List<Student> students, String schoolName) throws DocumentException {
-        Document document = new Document(PageSize.A4.rotate());
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, baos);
-
-        document.open();
-
-        // Add Title
-        Paragraph title = new Paragraph("STUDENT LIST REPORT", TITLE_FONT);
-        title.setAlignment(Element.ALIGN_CENTER);
-        title.setSpacingAfter(10f);
-        document.add(title);
-
-        // Add School Name
-        Paragraph school = new Paragraph(schoolName, HEADER_FONT);
-        school.setAlignment(Element.ALIGN_CENTER);
-        school.setSpacingAfter(5f);
-        document.add(school);
-
-        // Add Date
-        Paragraph date = new Paragraph("Generated on: " + LocalDate.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")), NORMAL_FONT);
-        date.setAlignment(Element.ALIGN_CENTER);
-        date.setSpacingAfter(20f);
-        document.add(date);
-
-        // Create Table
-        PdfPTable table = new PdfPTable(8);
-        table.setWidthPercentage(100);
-        table.setSpacingBefore(10f);
-        table.setSpacingAfter(10f);
-
-        // Set Column Widths
-        float[] columnWidths = {1f, 2f, 2f, 1.5f, 1f, 2f, 1.5f, 1.5f};
-        table.setWidths(columnWidths);
-
-        // Add Headers
-        addTableHeader(table, new String[]{
-                "S.No", "Admission No", "Student Name", "Class", "Roll No",
-                "Father Name", "Phone", "Blood Group"
-        });
+    @Transactional(readOnly = true)
+    public void generateStudentListPDF(Long schoolId, Long classSectionId, String searchTerm,
+                                       String schoolName, OutputStream out) throws IOException {
+        generateStudentListPDF(schoolId, classSectionId, searchTerm, schoolName, out, rows -> { });
+    }
 
-        // Add Data
-        int serialNo = 1;
-        for (Student student : students) {
-            addTableCell(table, String.valueOf(serialNo++));
-            addTableCell(table, student.getAdmissionNumber());
-            addTableCell(table, student.getUser().getFirstName() + " " +
-                    (student.getUser().getLastName() != null ? student.getUser().getLastName() : ""));
-            addTableCell(table, student.getClassSection().getClassEntity().getClassName() + " " +
-                    student.getClassSection().getSection().getSectionName());
-            addTableCell(table, student.getRollNumber() != null ? String.valueOf(student.getRollNumber()) : "-");
-            addTableCell(table, student.getFatherName() != null ? student.getFatherName() : "-");
-            addTableCell(table, student.getFatherPhone() != null ? student.getFatherPhone() : "-");
-            addTableCell(table, student.getBloodGroup() != null ? student.getBloodGroup() : "-");
+    /**
+     * Same, reporting the number of students written so far to {@code progress}
+     */
+    @Transactional(readOnly = true)
+    public void generateStudentListPDF(Long schoolId, Long classSectionId, String searchTerm,
+                                       String schoolName, OutputStream out, IntConsumer progress) throws IOException {
+        Document document = new Document(PageSize.A4.rotate());
+        // Resolved before the row stream opens: the logo may be fetched over HTTP, and the
+        // streaming cursor holds its connection until closed
+        String logoUrl = schoolRepository.findById(schoolId).map(School::getLogoUrl).orElse(null);
+        Image logo = pdfResources.logo(schoolId, logoUrl);
+        try (Stream<StudentExportRow> students =
+                     studentRepository.streamExportRows(schoolId, classSectionId, searchTerm)) {
+            open(document, out, schoolName, logo);
+
+            // Add Title (the school is in the page header)
+            Paragraph title = new Paragraph("STUDENT LIST REPORT", titleFont);
+            title.setAlignment(Element.ALIGN_CENTER);
+            title.setSpacingAfter(10f);
+            document.add(title);
+
+            // Add Date
+            Paragraph date = new Paragraph("Generated on: " + LocalDate.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")), normalFont);
+            date.setAlignment(Element.ALIGN_CENTER);
+            date.setSpacingAfter(20f);
+            document.add(date);
+
+            // Create Table
+            StreamedTable table = new StreamedTable(document,
+                    new float[]{1f, 2f, 2f, 1.5f, 1f, 2f, 1.5f, 1.5f},
+                    new String[]{
+                            "S.No", "Admission No", "Student Name", "Class", "Roll No",
+                            "Father Name", "Phone", "Blood Group"
+                    });
+            table.table.setSpacingBefore(10f);
+            table.table.setSpacingAfter(10f);
+
+            // Add Data
+            int serialNo = 1;
+            for (StudentExportRow student : (Iterable<StudentExportRow>) students::iterator) {
+                table.addRow(
+                        String.valueOf(serialNo++),
+                        student.getAdmissionNumber(),
+                        student.getFullName(),
+                        student.getClassName() + " " + student.getSectionName(),
+                        student.getRollNumber() != null ? String.valueOf(student.getRollNumber()) : "-",
+                        student.getFatherName() != null ? student.getFatherName() : "-",
+                        student.getFatherPhone() != null ? student.getFatherPhone() : "-",
+                        student.getBloodGroup() != null ? student.getBloodGroup() : "-");
+                progress.accept(serialNo - 1);
+            }
+            table.finish();
+
+            // Add Footer
+            Paragraph footer = new Paragraph("Total Students: " + (serialNo - 1), headerFont);
+            footer.setAlignment(Element.ALIGN_RIGHT);
+            document.add(footer);
+        } catch (DocumentException e) {
+            throw new IOException("Could not generate student list PDF", e);
+        } finally {
+            close(document);
         }
-
-        document.add(table);
-
-        // Add Footer
-        Paragraph footer = new Paragraph("Total Students: " + students.size(), HEADER_FONT);
-        footer.setAlignment(Element.ALIGN_RIGHT);
-        document.add(footer);
-
-        document.close();
-        return baos.toByteArray();
     }
 
     /**
-     * Generate Individual Student Report Card PDF
+     * Generate Individual Student Report Card PDF; logoUrl is the school's logo, if any. Results
+     * are grouped by exam in the given order, each exam with its own total and grade
      */
-    public byte[] generateStudentReportCardPDF(StudentResponse student, List<Result> results,
-                                               Double attendancePercentage) throws DocumentException {
+    public void generateStudentReportCardPDF(StudentResponse student, List<Result> results,
+                                             Double attendancePercentage, String logoUrl,
+                                             OutputStream out) throws IOException {
         Document document = new Document(PageSize.A4);
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, baos);
-
-        document.open();
-
-        // Add School Header
-        Paragraph title = new Paragraph("STUDENT REPORT CARD", TITLE_FONT);
-        title.setAlignment(Element.ALIGN_CENTER);
-        title.setSpacingAfter(20f);
-        document.add(title);
-
-        // Student Details Table
-        PdfPTable detailsTable = new PdfPTable(2);
-        detailsTable.setWidthPercentage(100);
-        detailsTable.setSpacingAfter(20f);
-
-        addDetailRow(detailsTable, "Student Name:",
-                student.getUser().getFirstName() + " " +
-                        (student.getUser().getLastName() != null ? student.getUser().getLastName() : ""));
-        addDetailRow(detailsTable, "Admission Number:", student.getAdmissionNumber());
-        addDetailRow(detailsTable, "Class:",
-                student.getClassSection().getClassName() + " " +
-                        student.getClassSection().getSectionName());
-        addDetailRow(detailsTable, "Roll Number:",
-                student.getRollNumber() != null ? String.valueOf(student.getRollNumber()) : "-");
-        addDetailRow(detailsTable, "Attendance:", String.format("%.2f%%", attendancePercentage));
-
-        document.add(detailsTable);
-
-        // Results Table
-        if (results != null && !results.isEmpty()) {
-            Paragraph resultTitle = new Paragraph("Academic Performance", HEADER_FONT);
-            resultTitle.setSpacingAfter(10f);
-            document.add(resultTitle);
-
-            PdfPTable resultTable = new PdfPTable(5);
-            resultTable.setWidthPercentage(100);
-            float[] resultWidths = {3f, 1.5f, 1.5f, 1.5f, 1.5f};
-            resultTable.setWidths(resultWidths);
-
-            addTableHeader(resultTable, new String[]{
-                    "Subject", "Max Marks", "Obtained", "Percentage", "Grade"
-            });
-
-            double totalMax = 0;
-            double totalObtained = 0;
-
-            for (Result result : results) {
-                addTableCell(resultTable, result.getExamSubject().getSubject().getSubjectName());
-                addTableCell(resultTable, String.valueOf(result.getExamSubject().getMaxMarks()));
-                addTableCell(resultTable, String.valueOf(result.getMarksObtained()));
-
-                double percentage = (result.getMarksObtained().doubleValue() /
-                        result.getExamSubject().getMaxMarks().doubleValue()) * 100;
-                addTableCell(resultTable, String.format("%.2f%%", percentage));
-                addTableCell(resultTable, result.getGrade() != null ? result.getGrade() : "-");
-
-                totalMax += result.getExamSubject().getMaxMarks().doubleValue();
-                totalObtained += result.getMarksObtained().doubleValue();
+        try {
+            Long schoolId = student.getUser().getSchoolId();
+            open(document, out, student.getUser().getSchoolName(), pdfResources.logo(schoolId, logoUrl));
+
+            // Add Title (the school is in the page header)
+            Paragraph title = new Paragraph("STUDENT REPORT CARD", titleFont);
+            title.setAlignment(Element.ALIGN_CENTER);
+            title.setSpacingAfter(20f);
+            document.add(title);
+
+            // Student Details Table
+            PdfPTable detailsTable = new PdfPTable(2);
+            detailsTable.setWidthPercentage(100);
+            detailsTable.setSpacingAfter(20f);
+
+            addDetailRow(detailsTable, "Student Name:",
+                    student.getUser().getFirstName() + " " +
+                            (student.getUser().getLastName() != null ? student.getUser().getLastName() : ""));
+            addDetailRow(detailsTable, "Admission Number:", student.getAdmissionNumber());
+            addDetailRow(detailsTable, "Class:",
+                    student.getClassSection().getClassName() + " " +
+                            student.getClassSection().getSectionName());
+            addDetailRow(detailsTable, "Roll Number:",
+                    student.getRollNumber() != null ? String.valueOf(student.getRollNumber()) : "-");
+            addDetailRow(detailsTable, "Attendance:", String.format("%.2f%%", attendancePercentage));
+
+            document.add(detailsTable);
+
+            // Results Table, one per exam with its own total and grade
+            if (results != null && !results.isEmpty()) {
+                Map<Long, List<Result>> resultsByExam = new LinkedHashMap<>();
+                for (Result result : results) {
+                    Long examId = result.getExam() != null ? result.getExam().getId() : null;
+                    resultsByExam.computeIfAbsent(examId, id -> new ArrayList<>()).add(result);
+                }
+                for (List<Result> examResults : resultsByExam.values()) {
+                    addResultTable(document, examResults.get(0).getExam(), examResults);
+                }
             }
-
-            // Add Total Row
-            PdfPCell totalLabel = new PdfPCell(new Phrase("TOTAL", HEADER_FONT));
-            totalLabel.setHorizontalAlignment(Element.ALIGN_RIGHT);
-            resultTable.addCell(totalLabel);
-            addTableCell(resultTable, String.valueOf(totalMax));
-            addTableCell(resultTable, String.valueOf(totalObtained));
-
-            double overallPercentage = (totalObtained / totalMax) * 100;
-            addTableCell(resultTable, String.format("%.2f%%", overallPercentage));
-            addTableCell(resultTable, calculateGrade(overallPercentage));
-
-            document.add(resultTable);
+        } catch (DocumentException e) {
+            throw new IOException("Could not generate report card PDF", e);
+        } finally {
+            close(document);
         }
-
-        document.close();
-        return baos.toByteArray();
     }
 
     /**
-     * Generate Attendance Report PDF
+     * Generate Attendance Report PDF, streamed from a cursor over the user's attendance rows
      */
-    public byte[] generateAttendanceReportPDF(List<Attendance> attendanceList,
-                                              String studentName,
-                                              LocalDate startDate,
-                                              LocalDate endDate) throws DocumentException {
-        Document document = new Document(PageSize.A4);
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, baos);
-
-        document.open();
-
-        // Title
-        Paragraph title = new Paragraph("ATTENDANCE REPORT", TITLE_FONT);
-        title.setAlignment(Element.ALIGN_CENTER);
-        title.setSpacingAfter(20f);
-        document.add(title);
-
-        // Details
-        PdfPTable detailsTable = new PdfPTable(2);
-        detailsTable.setWidthPercentage(100);
-        detailsTable.setSpacingAfter(20f);
+    @Transactional(readOnly = true)
+    public void generateAttendanceReportPDF(Long userId,
+                                            LocalDate startDate,
+                                            LocalDate endDate,
+                                            OutputStream out) throws IOException {
+        generateAttendanceReportPDF(userId, startDate, endDate, out, rows -> { });
+    }
 
-        addDetailRow(detailsTable, "Student Name:", studentName);
-        addDetailRow(detailsTable, "Period:",
-                startDate.format(DateTimeFormatter.ofPattern("dd-MM-yyyy")) + " to " +
-                        endDate.format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
+    /**
+     * Same, reporting the number of attendance rows written so far to {@code progress}
+     */
+    @Transactional(readOnly = true)
+    public void generateAttendanceReportPDF(Long userId,
+                                            LocalDate startDate,
+                                            LocalDate endDate,
+                                            OutputStream out,
+                                            IntConsumer progress) throws IOException {
+        User user = userRepository.findById(userId).orElse(null);
+        String studentName = user == null ? "Student"
+                : user.getFirstName() + " " + (user.getLastName() != null ? user.getLastName() : "");
+        School school = user != null ? user.getSchool() : null;
+        // Resolved before the row stream opens: the lazy school needs its own query and the
+        // logo may be fetched over HTTP
+        String schoolName = school != null ? school.getSchoolName() : null;
+        Image logo = school != null ? pdfResources.logo(school.getId(), school.getLogoUrl()) : null;
 
-        document.add(detailsTable);
+        Document document = new Document(PageSize.A4);
+        try (Stream<Object[]> attendanceRows = attendanceRepository.streamReportRows(userId, startDate, endDate)) {
+            open(document, out, schoolName, logo);
+
+            // Title
+            Paragraph title = new Paragraph("ATTENDANCE REPORT", titleFont);
+            title.setAlignment(Element.ALIGN_CENTER);
+            title.setSpacingAfter(20f);
+            document.add(title);
+
+            // Details
+            PdfPTable detailsTable = new PdfPTable(2);
+            detailsTable.setWidthPercentage(100);
+            detailsTable.setSpacingAfter(20f);
+
+            addDetailRow(detailsTable, "Student Name:", studentName);
+            addDetailRow(detailsTable, "Period:",
+                    startDate.format(DateTimeFormatter.ofPattern("dd-MM-yyyy")) + " to " +
+                            endDate.format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
+
+            document.add(detailsTable);
+
+            // Attendance Table
+            StreamedTable table = new StreamedTable(document, new float[]{1f, 1f, 1f, 1f},
+                    new String[]{"Date", "Status", "Remarks", "Marked By"});
+
+            long totalDays = 0;
+            long presentCount = 0;
+            long absentCount = 0;
+
+            for (Object[] row : (Iterable<Object[]>) attendanceRows::iterator) {
+                Attendance.AttendanceStatus status = (Attendance.AttendanceStatus) row[1];
+                table.addRow(
+                        ((LocalDate) row[0]).format(DateTimeFormatter.ofPattern("dd-MM-yyyy")),
+                        status.name(),
+                        row[2] != null ? (String) row[2] : "-",
+                        row[3] != null ? (String) row[3] : "-");
+
+                progress.accept((int) ++totalDays);
+                if (status == Attendance.AttendanceStatus.PRESENT) {
+                    presentCount++;
+                } else if (status == Attendance.AttendanceStatus.ABSENT) {
+                    absentCount++;
+                }
+            }
+            table.finish();
+
+            // Summary
+            double attendancePercentage = totalDays == 0 ? 0 :
+                    ((double) presentCount / totalDays) * 100;
+
+            Paragraph summary = new Paragraph("\n\nSUMMARY", headerFont);
+            summary.setSpacingAfter(10f);
+            document.add(summary);
+
+            Paragraph stats = new Paragraph(
+                    "Total Days: " + totalDays + "\n" +
+                            "Present: " + presentCount + "\n" +
+                            "Absent: " + absentCount + "\n" +
+                            "Attendance Percentage: " + String.format("%.2f%%", attendancePercentage),
+                    normalFont
+            );
+            document.add(stats);
+        } catch (DocumentException e) {
+            throw new IOException("Could not generate attendance PDF", e);
+        } finally {
+            close(document);
+        }
+    }
 
-        // Attendance Table
-        PdfPTable table = new PdfPTable(4);
-        table.setWidthPercentage(100);
+    // Helper Methods
+    private void addResultTable(Document document, Exam exam, List<Result> results) throws DocumentException {
+        Paragraph resultTitle = new Paragraph(exam != null && exam.getExamName() != null
+                ? "Academic Performance - " + exam.getExamName() : "Academic Performance", headerFont);
+        resultTitle.setSpacingAfter(10f);
+        document.add(resultTitle);
+
+        PdfPTable resultTable = new PdfPTable(5);
+        resultTable.setWidthPercentage(100);
+        resultTable.setSpacingAfter(15f);
+        float[] resultWidths = {3f, 1.5f, 1.5f, 1.5f, 1.5f};
+        resultTable.setWidths(resultWidths);
+
+        addTableHeader(resultTable, new String[]{
+                "Subject", "Max Marks", "Obtained", "Percentage", "Grade"
+        });
 
-        addTableHeader(table, new String[]{"Date", "Status", "Remarks", "Marked By"});
+        double totalMax = 0;
+        double totalObtained = 0;
 
-        long presentCount = 0;
-        long absentCount = 0;
+        for (Result result : results) {
+            addTableCell(resultTable, result.getExamSubject().getSubject().getSubjectName());
+            addTableCell(resultTable, String.valueOf(result.getExamSubject().getMaxMarks()));
+            addTableCell(resultTable, String.valueOf(result.getMarksObtained()));
 
-        for (Attendance attendance : attendanceList) {
-            addTableCell(table, attendance.getAttendanceDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-            addTableCell(table, attendance.getStatus().name());
-            addTableCell(table, attendance.getRemarks() != null ? attendance.getRemarks() : "-");
-            addTableCell(table, attendance.getMarkedBy() != null ?
-                    attendance.getMarkedBy().getFirstName() : "-");
+            double percentage = (result.getMarksObtained().doubleValue() /
+                    result.getExamSubject().getMaxMarks().doubleValue()) * 100;
+            addTableCell(resultTable, String.format("%.2f%%", percentage));
+            addTableCell(resultTable, result.getGrade() != null ? result.getGrade() : "-");
 
-            if (attendance.getStatus().name().equals("PRESENT")) {
-                presentCount++;
-            } else if (attendance.getStatus().name().equals("ABSENT")) {
-                absentCount++;
-            }
+            totalMax += result.getExamSubject().getMaxMarks().doubleValue();
+            totalObtained += result.getMarksObtained().doubleValue();
         }
 
-        document.add(table);
+        // Add Total Row
+        PdfPCell totalLabel = new PdfPCell(new Phrase("TOTAL", headerFont));
+        totalLabel.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        resultTable.addCell(totalLabel);
+        addTableCell(resultTable, String.valueOf(totalMax));
+        addTableCell(resultTable, String.valueOf(totalObtained));
 
-        // Summary
-        double attendancePercentage = attendanceList.isEmpty() ? 0 :
-                ((double) presentCount / attendanceList.size()) * 100;
+        double overallPercentage = (totalObtained / totalMax) * 100;
+        addTableCell(resultTable, String.format("%.2f%%", overallPercentage));
+        addTableCell(resultTable, calculateGrade(overallPercentage));
 
-        Paragraph summary = new Paragraph("\n\nSUMMARY", HEADER_FONT);
-        summary.setSpacingAfter(10f);
-        document.add(summary);
+        document.add(resultTable);
+    }
 
-        Paragraph stats = new Paragraph(
-                "Total Days: " + attendanceList.size() + "\n" +
-                        "Present: " + presentCount + "\n" +
-                        "Absent: " + absentCount + "\n" +
-                        "Attendance Percentage: " + String.format("%.2f%%", attendancePercentage),
-                NORMAL_FONT
-        );
-        document.add(stats);
+    // Opens the document with the school header on every page and room for it above the content
+    private void open(Document document, OutputStream out, String schoolName, Image logo) throws DocumentException {
+        document.setMargins(36, 36, 36 + PdfResources.HEADER_HEIGHT + 12, 48);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        // The caller owns the stream (servlet response or report job file)
+        writer.setCloseStream(false);
+        writer.setPageEvent(pdfResources.pageHeader(schoolName, logo));
+        document.open();
+    }
 
-        document.close();
-        return baos.toByteArray();
+    private void close(Document document) {
+        if (document.isOpen()) {
+            document.close();
+        }
     }
 
-    // Helper Methods
     private void addTableHeader(PdfPTable table, String[] headers) {
-        for (String header : headers) {
-            PdfPCell cell = new PdfPCell(new Phrase(header, HEADER_FONT));
-            cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
-            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-            cell.setPadding(5);
+        PdfPCell[] cells = headerCells.computeIfAbsent(List.of(headers), key -> key.stream()
+                .map(header -> {
+                    PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
+                    cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+                    cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+                    cell.setPadding(5);
+                    return cell;
+                })
+                .toArray(PdfPCell[]::new));
+        for (PdfPCell cell : cells) {
             table.addCell(cell);
         }
     }
 
     private void addTableCell(PdfPTable table, String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, NORMAL_FONT));
+        PdfPCell cell = new PdfPCell(new Phrase(text, normalFont));
         cell.setHorizontalAlignment(Element.ALIGN_CENTER);
         cell.setPadding(5);
         table.addCell(cell);
     }
 
     private void addDetailRow(PdfPTable table, String label, String value) {
-        PdfPCell labelCell = new PdfPCell(new Phrase(label, HEADER_FONT));
+        PdfPCell labelCell = new PdfPCell(new Phrase(label, headerFont));
         labelCell.setBorder(Rectangle.NO_BORDER);
         labelCell.setPadding(5);
         table.addCell(labelCell);
 
-        PdfPCell valueCell = new PdfPCell(new Phrase(value, NORMAL_FONT));
+        PdfPCell valueCell = new PdfPCell(new Phrase(value, normalFont));
         valueCell.setBorder(Rectangle.NO_BORDER);
         valueCell.setPadding(5);
         table.addCell(valueCell);
@@ -297,4 +400,41 @@ public class ReportService {
         if (percentage >= 40) return "D";
         return "F";
     }
-}
\ No newline at end of file
+
+    /**
+     * Table in iText's large-table mode: every {@code chunkRows} rows the rows so far are laid
+     * out, written to the output and dropped, so memory does not grow with the row count.
+     * The header row repeats on every page.
+     */
+    private class StreamedTable {
+
+        private final Document document;
+        private final PdfPTable table;
+        private int pendingRows;
+
+        StreamedTable(Document document, float[] widths, String[] headers) throws DocumentException {
+            this.document = document;
+            this.table = new PdfPTable(widths.length);
+            table.setWidthPercentage(100);
+            table.setWidths(widths);
+            table.setComplete(false);
+            addTableHeader(table, headers);
+            table.setHeaderRows(1);
+        }
+
+        void addRow(String... cells) throws DocumentException {
+            for (String cell : cells) {
+                addTableCell(table, cell);
+            }
+            if (++pendingRows >= chunkRows) {
+                document.add(table);
+                pendingRows = 0;
+            }
+        }
+
+        void finish() throws DocumentException {
+            table.setComplete(true);
+            document.add(table);
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.schoolmanagement.service;
 
+import com.schoolmanagement.dto.PageResponse;
 import com.schoolmanagement.entity.School;
 import com.schoolmanagement.repository.SchoolRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,10 +20,21 @@ import java.util.List;
 public class SchoolService {
 
     private final SchoolRepository schoolRepository;
+    private final PageTotalsCache pageTotalsCache;
 
     @Transactional(readOnly = true)
-    public Page<School> getAllSchools(Pageable pageable) {
-        return schoolRepository.findAll(pageable);
+    public PageResponse<School> getAllSchools(Pageable pageable, PageResponse.Totals totals) {
+        Slice<School> slice = schoolRepository.findAllBy(pageable);
+        if (totals == PageResponse.Totals.NONE) {
+            return PageResponse.fromSlice(slice);
+        }
+        if (!slice.hasNext() && (slice.hasContent() || slice.isFirst())) {
+            return PageResponse.fromSlice(slice, pageable.getOffset() + slice.getNumberOfElements(), false);
+        }
+        if (totals == PageResponse.Totals.APPROXIMATE) {
+            return PageResponse.fromSlice(slice, pageTotalsCache.get(null, "schools", schoolRepository::count), true);
+        }
+        return PageResponse.fromSlice(slice, schoolRepository.count(), false);
     }
 
     @Transactional(readOnly = true)
@@ -54,7 +66,9 @@ public class SchoolService {
             school.setIsActive(true);
         }
 
-        return schoolRepository.save(school);
+        School saved = schoolRepository.save(school);
+        pageTotalsCache.invalidateSchool(null);
+        return saved;
     }
 
     @Transactional
@@ -131,6 +145,7 @@ public class SchoolService {
     public void deleteSchool(Long id) {
         School school = getSchoolById(id);
         schoolRepository.delete(school);
+        pageTotalsCache.invalidateSchool(null);
     }
 
     @Transactional(readOnly = true)
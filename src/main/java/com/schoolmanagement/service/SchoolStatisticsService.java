@@ -0,0 +1,167 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.dto.SchoolStatisticsResponse;
+import com.schoolmanagement.repository.AttendanceStudentYearlyRepository;
+import com.schoolmanagement.repository.ResultRepository;
+import com.schoolmanagement.repository.SchoolRepository;
+import com.schoolmanagement.repository.StudentRepository;
+import com.schoolmanagement.repository.TeacherRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cross-school statistics computed from a handful of grouped queries run in parallel,
+ * held as an immutable snapshot and refreshed on a schedule
+ * File: backend/src/main/java/com/schoolmanagement/service/SchoolStatisticsService.java
+ */
+@Slf4j
+@Service
+public class SchoolStatisticsService {
+
+    private final SchoolRepository schoolRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final AttendanceStudentYearlyRepository studentYearlyRepository;
+    private final ResultRepository resultRepository;
+    private final AcademicCalendar academicCalendar;
+    private final ThreadPoolTaskExecutor statisticsExecutor;
+
+    private volatile SchoolStatisticsResponse snapshot;
+
+    public SchoolStatisticsService(SchoolRepository schoolRepository,
+                                   StudentRepository studentRepository,
+                                   TeacherRepository teacherRepository,
+                                   AttendanceStudentYearlyRepository studentYearlyRepository,
+                                   ResultRepository resultRepository,
+                                   AcademicCalendar academicCalendar,
+                                   @Qualifier("statisticsExecutor") ThreadPoolTaskExecutor statisticsExecutor) {
+        this.schoolRepository = schoolRepository;
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.studentYearlyRepository = studentYearlyRepository;
+        this.resultRepository = resultRepository;
+        this.academicCalendar = academicCalendar;
+        this.statisticsExecutor = statisticsExecutor;
+    }
+
+    public SchoolStatisticsResponse getSnapshot() {
+        SchoolStatisticsResponse current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = compute();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    @Scheduled(initialDelayString = "${statistics.refresh-ms:300000}",
+            fixedDelayString = "${statistics.refresh-ms:300000}")
+    public void refresh() {
+        snapshot = compute();
+    }
+
+    // Helper Methods
+    private SchoolStatisticsResponse compute() {
+        long started = System.currentTimeMillis();
+        int academicYear = academicCalendar.academicYearOf(LocalDate.now());
+
+        CompletableFuture<List<Object[]>> schools = async(schoolRepository::findStatisticsKeys);
+        CompletableFuture<List<Object[]>> students = async(studentRepository::countGroupedBySchool);
+        CompletableFuture<List<Object[]>> teachers = async(teacherRepository::countGroupedBySchool);
+        CompletableFuture<List<Object[]>> attendance = async(() -> studentYearlyRepository.sumGroupedBySchool(academicYear));
+        CompletableFuture<List<Object[]>> results = async(resultRepository::countPassedGroupedBySchool);
+        CompletableFuture.allOf(schools, students, teachers, attendance, results).join();
+
+        Map<Long, SchoolStatisticsResponse.SchoolStatistics> bySchool = new LinkedHashMap<>();
+        for (Object[] row : schools.join()) {
+            bySchool.put((Long) row[0], SchoolStatisticsResponse.SchoolStatistics.builder()
+                    .schoolId((Long) row[0])
+                    .schoolName((String) row[1])
+                    .isActive((Boolean) row[2])
+                    .build());
+        }
+
+        long totalStudents = 0;
+        for (Object[] row : students.join()) {
+            long count = ((Number) row[1]).longValue();
+            totalStudents += count;
+            Optional.ofNullable(bySchool.get((Long) row[0])).ifPresent(s -> s.setStudents(count));
+        }
+
+        long totalTeachers = 0;
+        for (Object[] row : teachers.join()) {
+            long count = ((Number) row[1]).longValue();
+            totalTeachers += count;
+            Optional.ofNullable(bySchool.get((Long) row[0])).ifPresent(s -> s.setTeachers(count));
+        }
+
+        long networkPresent = 0;
+        long networkMarked = 0;
+        for (Object[] row : attendance.join()) {
+            long present = number(row[1]);
+            long marked = 0;
+            for (int i = 1; i < row.length; i++) {
+                marked += number(row[i]);
+            }
+            networkPresent += present;
+            networkMarked += marked;
+            double rate = percentage(present, marked);
+            Optional.ofNullable(bySchool.get((Long) row[0])).ifPresent(s -> s.setAttendanceRate(rate));
+        }
+
+        long networkGraded = 0;
+        long networkPassed = 0;
+        for (Object[] row : results.join()) {
+            long graded = number(row[1]);
+            long passed = number(row[2]);
+            networkGraded += graded;
+            networkPassed += passed;
+            double rate = percentage(passed, graded);
+            Optional.ofNullable(bySchool.get((Long) row[0])).ifPresent(s -> s.setExamPassRate(rate));
+        }
+
+        long activeSchools = bySchool.values().stream()
+                .filter(s -> Boolean.TRUE.equals(s.getIsActive()))
+                .count();
+
+        SchoolStatisticsResponse response = SchoolStatisticsResponse.builder()
+                .asOf(LocalDateTime.now())
+                .totalSchools(bySchool.size())
+                .activeSchools(activeSchools)
+                .inactiveSchools(bySchool.size() - activeSchools)
+                .totalStudents(totalStudents)
+                .totalTeachers(totalTeachers)
+                .attendanceRate(percentage(networkPresent, networkMarked))
+                .examPassRate(percentage(networkPassed, networkGraded))
+                .schools(new ArrayList<>(bySchool.values()))
+                .build();
+
+        log.debug("School statistics snapshot computed for {} schools in {} ms",
+                bySchool.size(), System.currentTimeMillis() - started);
+        return response;
+    }
+
+    private CompletableFuture<List<Object[]>> async(Supplier<List<Object[]>> query) {
+        return CompletableFuture.supplyAsync(query, statisticsExecutor);
+    }
+
+    private long number(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
+    private double percentage(long part, long total) {
+        return total == 0 ? 0 : Math.round(((double) part / total) * 1000) / 10.0;
+    }
+}
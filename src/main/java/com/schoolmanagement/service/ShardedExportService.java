@@ -0,0 +1,141 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Whole-school student export as a ZIP with one workbook or PDF per class section. Sections
+ * are rendered concurrently on the shared report shard pool, at most
+ * {@code reports.shards.parallelism} per export, and each finished shard is written to the
+ * ZIP straight away, so the client receives entries in completion order while the rest render.
+ * File: backend/src/main/java/com/schoolmanagement/service/ShardedExportService.java
+ */
+@Slf4j
+@Service
+public class ShardedExportService {
+
+    private final StudentRepository studentRepository;
+    private final ReportService reportService;
+    private final ExcelExportService excelExportService;
+    private final ForkJoinPool reportShardPool;
+    private final int maxInFlight;
+
+    public ShardedExportService(StudentRepository studentRepository,
+                                ReportService reportService,
+                                ExcelExportService excelExportService,
+                                @Qualifier("reportShardPool") ForkJoinPool reportShardPool,
+                                @Value("${reports.shards.parallelism:4}") int maxInFlight) {
+        this.studentRepository = studentRepository;
+        this.reportService = reportService;
+        this.excelExportService = excelExportService;
+        this.reportShardPool = reportShardPool;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * Write the school's students as a ZIP of per-section files; the output stream is left open
+     */
+    public void exportStudentsBySection(Long schoolId, ReportJobService.Format format,
+                                        String schoolName, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        Deque<Shard> pending = new ArrayDeque<>(shards(schoolId, format));
+        int shardCount = pending.size();
+
+        CompletionService<Rendered> completion = new ExecutorCompletionService<>(reportShardPool);
+        List<Future<Rendered>> futures = new ArrayList<>();
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // Workbooks and iText PDFs are compressed already; storing them saves a deflate pass
+        zip.setMethod(ZipOutputStream.STORED);
+        try {
+            int inFlight = 0;
+            while (inFlight < maxInFlight && !pending.isEmpty()) {
+                futures.add(submit(completion, pending.poll(), schoolId, format, schoolName));
+                inFlight++;
+            }
+            while (inFlight > 0) {
+                Rendered rendered = completion.take().get();
+                inFlight--;
+                if (!pending.isEmpty()) {
+                    futures.add(submit(completion, pending.poll(), schoolId, format, schoolName));
+                    inFlight++;
+                }
+                writeEntry(zip, rendered);
+            }
+            zip.finish();
+            zip.flush();
+            log.info("Exported {} sections of school {} as a {} ZIP in {} ms",
+                    shardCount, schoolId, format, System.currentTimeMillis() - started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Sharded export interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Could not render section export", e.getCause());
+        } finally {
+            // Client gone or a shard failed: stop whatever is still queued or rendering
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    // Helper Methods
+    private List<Shard> shards(Long schoolId, ReportJobService.Format format) {
+        String extension = format == ReportJobService.Format.PDF ? ".pdf" : ".xlsx";
+        Set<String> names = new HashSet<>();
+        List<Shard> shards = new ArrayList<>();
+        for (Object[] row : studentRepository.findExportShards(schoolId)) {
+            Long classSectionId = (Long) row[0];
+            String name = (row[3] != null ? row[3] + " " : "") + row[1] + " " + row[2];
+            name = name.replaceAll("[^A-Za-z0-9 ._-]", "_").trim();
+            if (!names.add(name)) {
+                name = name + " " + classSectionId;
+            }
+            shards.add(new Shard(classSectionId, name + extension));
+        }
+        return shards;
+    }
+
+    private Future<Rendered> submit(CompletionService<Rendered> completion, Shard shard, Long schoolId,
+                                    ReportJobService.Format format, String schoolName) {
+        return completion.submit(() -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            if (format == ReportJobService.Format.PDF) {
+                reportService.generateStudentListPDF(schoolId, shard.classSectionId(), null, schoolName, buffer);
+            } else {
+                excelExportService.exportStudentsToExcel(schoolId, shard.classSectionId(), null, schoolName, buffer);
+            }
+            return new Rendered(shard.entryName(), buffer.toByteArray());
+        });
+    }
+
+    private void writeEntry(ZipOutputStream zip, Rendered rendered) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(rendered.content());
+        ZipEntry entry = new ZipEntry(rendered.entryName());
+        entry.setSize(rendered.content().length);
+        entry.setCompressedSize(rendered.content().length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(rendered.content());
+        zip.closeEntry();
+        // Send each finished section now rather than when the buffer fills
+        zip.flush();
+    }
+
+    private record Shard(Long classSectionId, String entryName) {
+    }
+
+    private record Rendered(String entryName, byte[] content) {
+    }
+}
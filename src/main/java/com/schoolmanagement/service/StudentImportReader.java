@@ -0,0 +1,176 @@
+package com.schoolmanagement.service;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Streams rows of a CSV or XLSX upload as header-keyed maps without loading the whole file.
+ * XLSX is read with the POI event API (SAX over the first sheet), so memory stays flat
+ * regardless of row count. Header names are normalized to lowercase letters and digits.
+ * File: backend/src/main/java/com/schoolmanagement/service/StudentImportReader.java
+ */
+public final class StudentImportReader {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void row(int rowNumber, Map<String, String> values);
+    }
+
+    private StudentImportReader() {
+    }
+
+    public static void read(File file, String filename, RowHandler handler) throws IOException {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".xlsx")) {
+            readXlsx(file, handler);
+        } else if (name.endsWith(".csv")) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                readCsv(reader, handler);
+            }
+        } else {
+            throw new RuntimeException("Unsupported file type; upload a .csv or .xlsx file");
+        }
+    }
+
+    public static String normalizeHeader(String header) {
+        return header == null ? "" : header.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    // CSV
+    static void readCsv(Reader source, RowHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        List<String> headers = null;
+        int rowNumber = 0;
+        List<String> fields;
+        while ((fields = nextRecord(reader)) != null) {
+            rowNumber++;
+            if (headers == null) {
+                headers = new ArrayList<>();
+                for (String field : fields) {
+                    headers.add(normalizeHeader(field.replace("\uFEFF", "")));
+                }
+                continue;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < headers.size() && i < fields.size(); i++) {
+                values.put(headers.get(i), fields.get(i));
+            }
+            handler.row(rowNumber, values);
+        }
+    }
+
+    // RFC 4180 record: quoted fields may contain commas, doubled quotes and line breaks
+    private static List<String> nextRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    // XLSX
+    private static void readXlsx(File file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = xssfReader.getStylesTable();
+
+            Iterator<InputStream> sheets = xssfReader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings,
+                        new SheetRows(handler), new DataFormatter(Locale.ROOT), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Could not read spreadsheet: " + e.getMessage());
+        }
+    }
+
+    private static final class SheetRows implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private final Map<Integer, String> headers = new HashMap<>();
+        private Map<String, String> current;
+        private int rowIndex;
+
+        SheetRows(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            rowIndex = rowNum;
+            current = new HashMap<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum > 0 && !current.isEmpty()) {
+                handler.row(rowNum + 1, current);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(cellReference).getCol();
+            String value = formattedValue == null ? "" : formattedValue.trim();
+            if (rowIndex == 0) {
+                headers.put(column, normalizeHeader(value));
+            } else if (headers.containsKey(column) && !value.isEmpty()) {
+                current.put(headers.get(column), value);
+            }
+        }
+    }
+}
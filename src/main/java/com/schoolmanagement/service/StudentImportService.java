@@ -0,0 +1,426 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.dto.StudentCreateRequest;
+import com.schoolmanagement.dto.StudentImportReport;
+import com.schoolmanagement.entity.User;
+import com.schoolmanagement.event.StudentChangedEvent;
+import com.schoolmanagement.repository.ClassSectionRepository;
+import com.schoolmanagement.repository.SchoolRepository;
+import com.schoolmanagement.repository.StudentRepository;
+import com.schoolmanagement.repository.StudentRepositoryCustom.StudentInsertRow;
+import com.schoolmanagement.repository.UserRepository;
+import com.schoolmanagement.repository.UserRepositoryCustom.UserInsertRow;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk student import from CSV or XLSX. Rows are streamed from the file and processed in
+ * chunks: validated, checked for duplicates with set-based queries, passwords hashed in
+ * parallel on a bounded pool, then users and students inserted with JDBC batches in one
+ * transaction per chunk. Rejected rows are reported individually and never block the rest;
+ * a chunk whose insert fails is retried row by row so only the failing rows are rejected.
+ * File: backend/src/main/java/com/schoolmanagement/service/StudentImportService.java
+ */
+@Slf4j
+@Service
+public class StudentImportService {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("M/d/yy"));
+
+    private final SchoolRepository schoolRepository;
+    private final ClassSectionRepository classSectionRepository;
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UniquenessGuard uniquenessGuard;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor hashExecutor;
+    private final int chunkSize;
+
+    public StudentImportService(SchoolRepository schoolRepository,
+                                ClassSectionRepository classSectionRepository,
+                                UserRepository userRepository,
+                                StudentRepository studentRepository,
+                                PasswordEncoder passwordEncoder,
+                                Validator validator,
+                                ApplicationEventPublisher eventPublisher,
+                                UniquenessGuard uniquenessGuard,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("importHashExecutor") ThreadPoolTaskExecutor hashExecutor,
+                                @Value("${students.import.chunk-size:500}") int chunkSize) {
+        this.schoolRepository = schoolRepository;
+        this.classSectionRepository = classSectionRepository;
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.uniquenessGuard = uniquenessGuard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hashExecutor = hashExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    public StudentImportReport importStudents(Long schoolId, MultipartFile file) {
+        if (!schoolRepository.existsById(schoolId)) {
+            throw new RuntimeException("School not found");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("Import file is empty");
+        }
+
+        long started = System.currentTimeMillis();
+        ImportRun run = new ImportRun(schoolId, classSectionKeys(schoolId));
+
+        File upload = null;
+        try {
+            upload = Files.createTempFile("student-import-", ".upload").toFile();
+            file.transferTo(upload);
+            StudentImportReader.read(upload, file.getOriginalFilename(), (rowNumber, values) -> {
+                run.totalRows++;
+                run.pending.add(parse(run, rowNumber, values));
+                if (run.pending.size() >= chunkSize) {
+                    processChunk(run);
+                }
+            });
+            processChunk(run);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read import file: " + e.getMessage());
+        } finally {
+            if (upload != null && !upload.delete()) {
+                upload.deleteOnExit();
+            }
+        }
+
+        run.errors.sort(Comparator.comparingInt(StudentImportReport.RowError::getRowNumber));
+        StudentImportReport report = StudentImportReport.builder()
+                .totalRows(run.totalRows)
+                .imported(run.imported)
+                .failed(run.errors.size())
+                .durationMs(System.currentTimeMillis() - started)
+                .errors(run.errors)
+                .build();
+        log.info("Student import for school {}: {} rows, {} imported, {} failed in {} ms",
+                schoolId, report.getTotalRows(), report.getImported(), report.getFailed(), report.getDurationMs());
+        return report;
+    }
+
+    // Helper Methods
+    private Map<String, Long> classSectionKeys(Long schoolId) {
+        Map<String, Long> keys = new HashMap<>();
+        for (Object[] row : classSectionRepository.findActiveKeysBySchoolId(schoolId)) {
+            keys.put("id:" + row[0], (Long) row[0]);
+            keys.put(sectionKey((String) row[1], (String) row[2]), (Long) row[0]);
+        }
+        return keys;
+    }
+
+    private String sectionKey(String className, String sectionName) {
+        return (className + "|" + sectionName).toLowerCase(Locale.ROOT);
+    }
+
+    private ImportRow parse(ImportRun run, int rowNumber, Map<String, String> values) {
+        ImportRow row = new ImportRow(rowNumber);
+        try {
+            StudentCreateRequest request = new StudentCreateRequest();
+            request.setSchoolId(run.schoolId);
+            request.setAdmissionNumber(text(values, "admissionnumber"));
+            request.setRollNumber(integer(values, "rollnumber"));
+            request.setAdmissionDate(date(values, "admissiondate"));
+            request.setFirstName(text(values, "firstname"));
+            request.setLastName(text(values, "lastname"));
+            request.setEmail(text(values, "email"));
+            request.setUsername(text(values, "username"));
+            request.setPassword(text(values, "password"));
+            request.setDateOfBirth(date(values, "dateofbirth"));
+            request.setGender(text(values, "gender"));
+            request.setPhone(text(values, "phone"));
+            request.setAddress(text(values, "address"));
+            request.setCity(text(values, "city"));
+            request.setState(text(values, "state"));
+            request.setFatherName(text(values, "fathername"));
+            request.setFatherPhone(text(values, "fatherphone"));
+            request.setFatherOccupation(text(values, "fatheroccupation"));
+            request.setMotherName(text(values, "mothername"));
+            request.setMotherPhone(text(values, "motherphone"));
+            request.setMotherOccupation(text(values, "motheroccupation"));
+            request.setGuardianName(text(values, "guardianname"));
+            request.setGuardianPhone(text(values, "guardianphone"));
+            request.setGuardianRelation(text(values, "guardianrelation"));
+            request.setEmergencyContact(text(values, "emergencycontact"));
+            request.setBloodGroup(text(values, "bloodgroup"));
+
+            // Class section by id, or by class and section name
+            String classSectionId = text(values, "classsectionid");
+            request.setClassSectionId(classSectionId != null
+                    ? run.classSections.get("id:" + classSectionId)
+                    : run.classSections.get(sectionKey(text(values, "classname"), text(values, "sectionname"))));
+            if (request.getClassSectionId() == null) {
+                row.error = "Class section not found in this school";
+                return row;
+            }
+
+            Set<ConstraintViolation<StudentCreateRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                row.error = violations.stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining("; "));
+                return row;
+            }
+            if (request.getGender() != null) {
+                request.setGender(request.getGender().toUpperCase(Locale.ROOT));
+                User.Gender.valueOf(request.getGender());
+            }
+
+            // Duplicates within the file
+            if (!run.usernames.add(request.getUsername())) {
+                row.error = "Duplicate username in file";
+            } else if (!run.emails.add(request.getEmail())) {
+                row.error = "Duplicate email in file";
+            } else if (!run.admissionNumbers.add(request.getAdmissionNumber())) {
+                row.error = "Duplicate admission number in file";
+            }
+            row.request = request;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            row.error = "Invalid value: " + e.getMessage();
+        }
+        return row;
+    }
+
+    private void processChunk(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<ImportRow> chunk = new ArrayList<>(run.pending);
+        run.pending.clear();
+
+        List<ImportRow> valid = new ArrayList<>();
+        for (ImportRow row : chunk) {
+            if (row.error != null) {
+                run.errors.add(new StudentImportReport.RowError(row.rowNumber, row.error));
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        // Existing rows: the guard filters out certainly-new values, then one query per unique field
+        Set<String> existingUsernames = uniquenessGuard.existing(UniquenessGuard.Field.USERNAME,
+                valid.stream().map(r -> r.request.getUsername()).toList());
+        Set<String> existingEmails = uniquenessGuard.existing(UniquenessGuard.Field.EMAIL,
+                valid.stream().map(r -> r.request.getEmail()).toList());
+        Set<String> existingAdmissions = uniquenessGuard.existing(UniquenessGuard.Field.ADMISSION_NUMBER,
+                valid.stream().map(r -> r.request.getAdmissionNumber()).toList());
+
+        List<ImportRow> accepted = new ArrayList<>();
+        for (ImportRow row : valid) {
+            String error = existingUsernames.contains(row.request.getUsername()) ? "Username already exists"
+                    : existingEmails.contains(row.request.getEmail()) ? "Email already exists"
+                    : existingAdmissions.contains(row.request.getAdmissionNumber()) ? "Admission number already exists"
+                    : null;
+            if (error != null) {
+                run.errors.add(new StudentImportReport.RowError(row.rowNumber, error));
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // BCrypt dominates per-row cost; hash on the bounded pool
+        List<CompletableFuture<String>> hashes = accepted.stream()
+                .map(r -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(r.request.getPassword()), hashExecutor))
+                .toList();
+        CompletableFuture.allOf(hashes.toArray(new CompletableFuture[0])).join();
+
+        try {
+            insert(run.schoolId, accepted, hashes);
+            run.imported += accepted.size();
+        } catch (RuntimeException e) {
+            log.warn("Student import chunk of {} rows failed; retrying row by row", accepted.size(), e);
+            // One bad row rolls back the chunk; alone, each row fails or imports on its own
+            for (int i = 0; i < accepted.size(); i++) {
+                ImportRow row = accepted.get(i);
+                try {
+                    insert(run.schoolId, List.of(row), List.of(hashes.get(i)));
+                    run.imported++;
+                } catch (RuntimeException rowFailure) {
+                    run.errors.add(new StudentImportReport.RowError(row.rowNumber,
+                            "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage()));
+                }
+            }
+        }
+    }
+
+    // One transaction: the guard records the values, then users and students are batch inserted
+    private void insert(Long schoolId, List<ImportRow> rows, List<CompletableFuture<String>> hashes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ImportRow row : rows) {
+                uniquenessGuard.record(UniquenessGuard.Field.USERNAME, row.request.getUsername());
+                uniquenessGuard.record(UniquenessGuard.Field.EMAIL, row.request.getEmail());
+                uniquenessGuard.record(UniquenessGuard.Field.ADMISSION_NUMBER, row.request.getAdmissionNumber());
+            }
+            insertChunk(schoolId, rows, hashes);
+        });
+    }
+
+    private void insertChunk(Long schoolId, List<ImportRow> rows, List<CompletableFuture<String>> hashes) {
+        List<UserInsertRow> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            StudentCreateRequest request = rows.get(i).request;
+            users.add(UserInsertRow.builder()
+                    .schoolId(schoolId)
+                    .username(request.getUsername())
+                    .email(request.getEmail())
+                    .passwordHash(hashes.get(i).join())
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .dateOfBirth(request.getDateOfBirth())
+                    .gender(request.getGender() != null ? User.Gender.valueOf(request.getGender()) : null)
+                    .phone(request.getPhone())
+                    .address(request.getAddress())
+                    .city(request.getCity())
+                    .state(request.getState())
+                    .role(User.Role.STUDENT)
+                    .build());
+        }
+        userRepository.insertAll(users);
+
+        // IDENTITY keys: read back by the unique username rather than relying on batch generated keys
+        Map<String, Long> userIds = new HashMap<>();
+        for (Object[] row : userRepository.findIdsByUsernames(users.stream().map(UserInsertRow::getUsername).toList())) {
+            userIds.put((String) row[0], (Long) row[1]);
+        }
+
+        List<StudentInsertRow> students = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            StudentCreateRequest request = row.request;
+            students.add(StudentInsertRow.builder()
+                    .userId(userIds.get(request.getUsername()))
+                    .schoolId(schoolId)
+                    .admissionNumber(request.getAdmissionNumber())
+                    .classSectionId(request.getClassSectionId())
+                    .rollNumber(request.getRollNumber())
+                    .admissionDate(request.getAdmissionDate())
+                    .fatherName(request.getFatherName())
+                    .fatherPhone(request.getFatherPhone())
+                    .fatherOccupation(request.getFatherOccupation())
+                    .motherName(request.getMotherName())
+                    .motherPhone(request.getMotherPhone())
+                    .motherOccupation(request.getMotherOccupation())
+                    .guardianName(request.getGuardianName())
+                    .guardianPhone(request.getGuardianPhone())
+                    .guardianRelation(request.getGuardianRelation())
+                    .emergencyContact(request.getEmergencyContact())
+                    .bloodGroup(request.getBloodGroup())
+                    .build());
+        }
+        studentRepository.insertAll(students);
+
+        Map<String, Long> studentIds = new HashMap<>();
+        for (Object[] row : studentRepository.findIdsByAdmissionNumbers(
+                students.stream().map(StudentInsertRow::getAdmissionNumber).toList())) {
+            studentIds.put((String) row[0], (Long) row[1]);
+        }
+
+        // Same events as createStudent so counters, caches and search indexes follow the import
+        for (ImportRow row : rows) {
+            StudentCreateRequest request = row.request;
+            eventPublisher.publishEvent(StudentChangedEvent.builder()
+                    .type(StudentChangedEvent.Type.CREATED)
+                    .schoolId(schoolId)
+                    .studentId(studentIds.get(request.getAdmissionNumber()))
+                    .userId(userIds.get(request.getUsername()))
+                    .classSectionId(request.getClassSectionId())
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .admissionNumber(request.getAdmissionNumber())
+                    .rollNumber(request.getRollNumber())
+                    .build());
+        }
+    }
+
+    private String text(Map<String, String> values, String column) {
+        String value = values.get(column);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private Integer integer(Map<String, String> values, String column) {
+        String value = text(values, column);
+        if (value == null) {
+            return null;
+        }
+        // Spreadsheet numbers may arrive formatted as "12.0"
+        return value.endsWith(".0") ? Integer.valueOf(value.substring(0, value.length() - 2)) : Integer.valueOf(value);
+    }
+
+    private LocalDate date(Map<String, String> values, String column) {
+        String value = text(values, column);
+        if (value == null) {
+            return null;
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        throw new DateTimeParseException("unrecognized date in " + column, value, 0);
+    }
+
+    private static final class ImportRun {
+        final Long schoolId;
+        final Map<String, Long> classSections;
+        final List<ImportRow> pending = new ArrayList<>();
+        final List<StudentImportReport.RowError> errors = new ArrayList<>();
+        final Set<String> usernames = new HashSet<>();
+        final Set<String> emails = new HashSet<>();
+        final Set<String> admissionNumbers = new HashSet<>();
+        int totalRows;
+        int imported;
+
+        ImportRun(Long schoolId, Map<String, Long> classSections) {
+            this.schoolId = schoolId;
+            this.classSections = classSections;
+        }
+    }
+
+    private static final class ImportRow {
+        final int rowNumber;
+        StudentCreateRequest request;
+        String error;
+
+        ImportRow(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.event.StudentChangedEvent;
+import com.schoolmanagement.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Per-school trigram inverted index over student first name, last name and admission number.
+ * Answers the same case-insensitive substring match as the LIKE '%term%' queries: trigram
+ * postings narrow the candidates, which are then verified against the indexed text.
+ * Built at startup and updated after each committed student create or delete; changes that
+ * commit while the index is built are replayed onto it before it replaces the old one.
+ * File: backend/src/main/java/com/schoolmanagement/service/StudentSearchIndex.java
+ */
+@Slf4j
+@Component
+public class StudentSearchIndex {
+
+    // Rough per-item footprints used for the memory gauge
+    private static final long BYTES_PER_POSTING = 8;
+    private static final long BYTES_PER_TRIGRAM = 96;
+    private static final long BYTES_PER_DOCUMENT = 160;
+
+    private final StudentRepository studentRepository;
+    private final int maxCandidates;
+    private final Timer lookupTimer;
+
+    // Replaced as a whole on rebuild
+    private volatile Map<Long, SchoolIndex> schools = new ConcurrentHashMap<>();
+    // Changes committed while a rebuild runs, replayed onto the new index before the swap
+    private List<StudentChangedEvent> pending;
+    private final Object swapMonitor = new Object();
+
+    private volatile boolean ready;
+
+    public StudentSearchIndex(StudentRepository studentRepository,
+                              @Value("${students.search.index.max-candidates:5000}") int maxCandidates,
+                              MeterRegistry meterRegistry) {
+        this.studentRepository = studentRepository;
+        this.maxCandidates = maxCandidates;
+        this.lookupTimer = meterRegistry.timer("students.search.index.lookup");
+        meterRegistry.gauge("students.search.index.documents", this, index -> index.sum(SchoolIndex::documentCount));
+        meterRegistry.gauge("students.search.index.trigrams", this, index -> index.sum(SchoolIndex::trigramCount));
+        meterRegistry.gauge("students.search.index.memory.bytes", this, index -> index.sum(SchoolIndex::estimatedBytes));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Long, SchoolIndex> fresh = new ConcurrentHashMap<>();
+
+        // Buffering starts before the snapshot is read, so no change falls between the two
+        synchronized (swapMonitor) {
+            pending = new ArrayList<>();
+        }
+        try {
+            try (Stream<Object[]> stream = studentRepository.streamSearchFields()) {
+                for (Object[] row : (Iterable<Object[]>) stream::iterator) {
+                    fresh.computeIfAbsent((Long) row[1], id -> new SchoolIndex())
+                            .add((Long) row[0], (String) row[2], (String) row[3], (String) row[4]);
+                }
+            }
+            synchronized (swapMonitor) {
+                // Adds and removes are idempotent, so changes already in the snapshot replay harmlessly
+                pending.forEach(event -> apply(fresh, event));
+                schools = fresh;
+            }
+            ready = true;
+        } finally {
+            synchronized (swapMonitor) {
+                pending = null;
+            }
+        }
+
+        log.info("Student search index built for {} students in {} schools in {} ms",
+                (long) sum(SchoolIndex::documentCount), fresh.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        synchronized (swapMonitor) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(schools, event);
+        }
+    }
+
+    /**
+     * Ids of students in the school whose first name, last name or admission number contains
+     * the term (case-insensitive). Empty when the index cannot answer, i.e. before it is built
+     * or when the term is too unselective; callers then fall back to the database query.
+     */
+    public Optional<List<Long>> search(Long schoolId, String term) {
+        if (!ready || term == null || term.isBlank()) {
+            return Optional.empty();
+        }
+        SchoolIndex school = schools.get(schoolId);
+        if (school == null) {
+            return Optional.of(List.of());
+        }
+        return lookupTimer.record(() -> school.search(normalize(term.trim()), maxCandidates));
+    }
+
+    // Helper Methods
+    private void apply(Map<Long, SchoolIndex> target, StudentChangedEvent event) {
+        SchoolIndex school = target.computeIfAbsent(event.getSchoolId(), id -> new SchoolIndex());
+        if (event.getType() == StudentChangedEvent.Type.CREATED) {
+            school.add(event.getStudentId(), event.getFirstName(), event.getLastName(), event.getAdmissionNumber());
+        } else {
+            school.remove(event.getStudentId());
+        }
+    }
+
+    private double sum(ToLongFunction<SchoolIndex> metric) {
+        return schools.values().stream().mapToLong(metric).sum();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private static final class SchoolIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, String[]> documents = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private long postingCount;
+
+        void add(Long studentId, String firstName, String lastName, String admissionNumber) {
+            String[] fields = {normalize(firstName), normalize(lastName), normalize(admissionNumber)};
+            lock.writeLock().lock();
+            try {
+                if (documents.containsKey(studentId)) {
+                    unindex(studentId);
+                }
+                documents.put(studentId, fields);
+                Set<Long> trigrams = new HashSet<>();
+                for (String field : fields) {
+                    trigrams.addAll(trigrams(field));
+                }
+                for (Long trigram : trigrams) {
+                    if (postings.computeIfAbsent(trigram, t -> new Postings()).add(studentId)) {
+                        postingCount++;
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long studentId) {
+            lock.writeLock().lock();
+            try {
+                unindex(studentId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Optional<List<Long>> search(String term, int maxCandidates) {
+            lock.readLock().lock();
+            try {
+                // Terms shorter than a trigram are verified against every document in the school
+                Collection<Long> candidates = term.length() < 3 ? documents.keySet() : intersect(trigrams(term));
+
+                List<Long> matches = new ArrayList<>();
+                for (Long studentId : candidates) {
+                    String[] fields = documents.get(studentId);
+                    if (fields != null && matches(fields, term)) {
+                        matches.add(studentId);
+                    }
+                }
+                return matches.size() > maxCandidates ? Optional.empty() : Optional.of(matches);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long documentCount() {
+            return documents.size();
+        }
+
+        long trigramCount() {
+            return postings.size();
+        }
+
+        long estimatedBytes() {
+            return documents.size() * BYTES_PER_DOCUMENT
+                    + postings.size() * BYTES_PER_TRIGRAM
+                    + postingCount * BYTES_PER_POSTING;
+        }
+
+        private void unindex(Long studentId) {
+            String[] fields = documents.remove(studentId);
+            if (fields == null) {
+                return;
+            }
+            for (String field : fields) {
+                for (Long trigram : trigrams(field)) {
+                    Postings list = postings.get(trigram);
+                    if (list != null && list.remove(studentId)) {
+                        postingCount--;
+                        if (list.size == 0) {
+                            postings.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+
+        private List<Long> intersect(Set<Long> trigrams) {
+            List<Postings> lists = new ArrayList<>();
+            for (Long trigram : trigrams) {
+                Postings list = postings.get(trigram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(p -> p.size));
+
+            // Walk the shortest list and probe the others
+            Postings shortest = lists.get(0);
+            List<Long> result = new ArrayList<>();
+            for (int i = 0; i < shortest.size; i++) {
+                long id = shortest.ids[i];
+                boolean inAll = true;
+                for (int j = 1; j < lists.size() && inAll; j++) {
+                    inAll = lists.get(j).contains(id);
+                }
+                if (inAll) {
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+
+        private boolean matches(String[] fields, String term) {
+            for (String field : fields) {
+                if (field.contains(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Sorted primitive id list; cheaper than a boxed set for the many short lists in an index
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        boolean add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return false;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+            return true;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package com.schoolmanagement.service;
 
 import com.schoolmanagement.dto.StudentCreateRequest;
+import com.schoolmanagement.dto.StudentListItem;
+import com.schoolmanagement.dto.StudentSearchMatch;
+import com.schoolmanagement.dto.StudentSuggestion;
 import com.schoolmanagement.dto.StudentResponse;
+import com.schoolmanagement.dto.CursorPageResponse;
 import com.schoolmanagement.dto.PageResponse;
 import com.schoolmanagement.entity.*;
+import com.schoolmanagement.event.StudentChangedEvent;
 import com.schoolmanagement.repository.*;
+import com.schoolmanagement.util.PhoneticKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 /**
@@ -31,23 +45,36 @@ public class StudentService {
     private final SchoolRepository schoolRepository;
     private final ClassSectionRepository classSectionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudentSearchIndex studentSearchIndex;
+    private final StudentSuggestIndex studentSuggestIndex;
+    private final MeterRegistry meterRegistry;
+    private final PageTotalsCache pageTotalsCache;
+    private final UniquenessGuard uniquenessGuard;
+
+    @Value("${students.search.fuzzy.max-candidates:200}")
+    private int fuzzyMaxCandidates;
 
     @Transactional(readOnly = true)
     public PageResponse<StudentResponse> getAllStudents(Long schoolId, Long classSectionId,
-                                                        int page, int size) {
+                                                        int page, int size, PageResponse.Totals totals) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Student> studentPage;
+        Slice<StudentListItem> studentSlice;
+        LongSupplier counter;
 
         if (classSectionId != null) {
-            studentPage = studentRepository.findByClassSectionId(classSectionId, pageable);
+            studentSlice = studentRepository.findListItemsByClassSectionId(classSectionId, pageable);
+            counter = () -> studentRepository.countByClassSectionId(classSectionId);
         } else if (schoolId != null) {
-            studentPage = studentRepository.findBySchoolId(schoolId, pageable);
+            studentSlice = studentRepository.findListItemsBySchoolId(schoolId, pageable);
+            counter = () -> studentRepository.countBySchoolId(schoolId);
         } else {
-            studentPage = studentRepository.findAll(pageable);
+            studentSlice = studentRepository.findListItems(pageable);
+            counter = studentRepository::count;
         }
 
-        Page<StudentResponse> responsePage = studentPage.map(StudentResponse::fromEntity);
-        return PageResponse.fromPage(responsePage);
+        return toPageResponse(studentSlice.map(StudentListItem::toResponse), totals,
+                schoolId, "list|" + classSectionId, counter);
     }
 
     /**
@@ -61,25 +88,153 @@ public class StudentService {
                                                         int page,
                                                         int size,
                                                         String sortBy,
-                                                        String sortDir) {
+                                                        String sortDir,
+                                                        PageResponse.Totals totals) {
         Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ?
                 Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
+        String term = searchTerm != null && !searchTerm.trim().isEmpty() ? searchTerm.trim() : null;
 
-        Page<Student> studentPage;
+        Slice<Student> studentSlice;
+        LongSupplier counter;
 
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            studentPage = studentRepository.advancedSearch(
-                    schoolId, searchTerm, classSectionId, isActive, pageable
-            );
-        } else if (classSectionId != null) {
-            studentPage = studentRepository.findByClassSectionId(classSectionId, pageable);
+        if (term != null) {
+            // Resolve candidate ids from the trigram index and fetch only those rows; the LIKE
+            // query remains the fallback while the index is building or for unselective terms
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Optional<List<Long>> candidates = studentSearchIndex.search(schoolId, term);
+            if (candidates.isPresent()) {
+                List<Long> ids = candidates.get();
+                studentSlice = ids.isEmpty()
+                        ? new SliceImpl<>(List.of(), pageable, false)
+                        : studentRepository.findByIdInFiltered(ids, classSectionId, isActive, pageable);
+                counter = () -> ids.isEmpty() ? 0 : studentRepository.countByIdInFiltered(ids, classSectionId, isActive);
+            } else {
+                studentSlice = studentRepository.advancedSearch(schoolId, term, classSectionId, isActive, pageable);
+                counter = () -> studentRepository.countAdvancedSearch(schoolId, term, classSectionId, isActive);
+            }
+            sample.stop(meterRegistry.timer("students.search", "source", candidates.isPresent() ? "index" : "database"));
         } else {
-            studentPage = studentRepository.findBySchoolId(schoolId, pageable);
+            studentSlice = studentRepository.advancedSearch(schoolId, null, classSectionId, isActive, pageable);
+            counter = () -> studentRepository.countAdvancedSearch(schoolId, null, classSectionId, isActive);
+        }
+
+        String filter = "search|" + (term != null ? term.toLowerCase() : "") + "|" + classSectionId + "|" + isActive;
+        return toPageResponse(studentSlice.map(StudentResponse::fromEntity), totals, schoolId, filter, counter);
+    }
+
+    /**
+     * Keyset pagination for listings and search: seeks past the (sort key, id) position
+     * carried in the cursor and skips the count query. A null or empty cursor starts at the top.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<StudentResponse> getStudentsByCursor(Long schoolId,
+                                                                   String searchTerm,
+                                                                   Long classSectionId,
+                                                                   Boolean isActive,
+                                                                   String cursor,
+                                                                   int size,
+                                                                   String sortBy,
+                                                                   String sortDir) {
+        StudentRepositoryCustom.SortKey sortKey = StudentRepositoryCustom.SortKey.fromProperty(sortBy);
+        boolean descending = sortDir.equalsIgnoreCase("desc");
+
+        StudentRepositoryCustom.KeysetQuery.KeysetQueryBuilder query = StudentRepositoryCustom.KeysetQuery.builder()
+                .schoolId(schoolId)
+                .classSectionId(classSectionId)
+                .isActive(isActive)
+                .sortKey(sortKey)
+                .descending(descending)
+                .limit(size + 1);
+
+        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
+            Optional<List<Long>> candidates = studentSearchIndex.search(schoolId, searchTerm);
+            if (candidates.isPresent() && candidates.get().isEmpty()) {
+                return CursorPageResponse.<StudentResponse>builder().content(List.of()).size(size).build();
+            }
+            query.ids(candidates.orElse(null)).searchTerm(searchTerm.trim());
+        }
+
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decodeCursor(cursor, sortKey, descending);
+            query.afterId(Long.valueOf(position[2]))
+                    .afterValue(sortKey == StudentRepositoryCustom.SortKey.ID ? null : position[3]);
+        }
+
+        List<Student> students = studentRepository.findKeyset(query.build());
+        boolean hasNext = students.size() > size;
+        if (hasNext) {
+            students = students.subList(0, size);
+        }
+
+        return CursorPageResponse.<StudentResponse>builder()
+                .content(students.stream().map(StudentResponse::fromEntity).collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(sortKey, descending, students.get(students.size() - 1)) : null)
+                .build();
+    }
+
+    /**
+     * Typeahead lookup by name, roll number or admission number prefix, students of the
+     * given class section first. Served from the prefix trie; the prefix LIKE query is the fallback.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentSuggestion> suggestStudents(Long schoolId, String prefix, Long classSectionId, int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return List.of();
+        }
+        return studentSuggestIndex.suggest(schoolId, prefix, classSectionId, limit)
+                .orElseGet(() -> studentRepository.findByNamePrefix(schoolId, prefix.trim(), classSectionId,
+                        PageRequest.of(0, limit))
+                        .stream()
+                        .map(s -> StudentSuggestion.builder()
+                                .id(s.getId())
+                                .firstName(s.getUser().getFirstName())
+                                .lastName(s.getUser().getLastName())
+                                .admissionNumber(s.getAdmissionNumber())
+                                .rollNumber(s.getRollNumber())
+                                .classSectionId(s.getClassSection().getId())
+                                .build())
+                        .toList());
+    }
+
+    /**
+     * Typo-tolerant search: candidates share a phonetic key, or a key one consonant slip away,
+     * with a query word (indexed lookup), ranked by edit distance between the query words and
+     * the student's name words
+     */
+    @Transactional(readOnly = true)
+    public List<StudentSearchMatch> fuzzySearchStudents(Long schoolId, String searchTerm, int limit) {
+        List<String> words = searchTerm == null ? List.of() :
+                Arrays.stream(searchTerm.trim().split("\\s+")).filter(w -> !w.isEmpty()).toList();
+        Set<String> exactKeys = words.stream()
+                .map(PhoneticKey::of)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (exactKeys.isEmpty()) {
+            return List.of();
         }
+        Set<String> keys = exactKeys.stream()
+                .flatMap(key -> PhoneticKey.neighbours(key).stream())
+                .filter(key -> !key.isEmpty())
+                .collect(Collectors.toSet());
+        Set<String> names = words.stream()
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        List<Student> candidates = studentRepository.findByPhoneticKeys(
+                schoolId, names, exactKeys, keys, PageRequest.of(0, fuzzyMaxCandidates));
 
-        Page<StudentResponse> responsePage = studentPage.map(StudentResponse::fromEntity);
-        return PageResponse.fromPage(responsePage);
+        return candidates.stream()
+                .map(s -> StudentSearchMatch.builder()
+                        .student(StudentResponse.fromEntity(s))
+                        .distance(nameDistance(words, s.getUser()))
+                        .build())
+                .sorted(Comparator.comparingInt(StudentSearchMatch::getDistance)
+                        .thenComparing(m -> m.getStudent().getUser().getFirstName(), String.CASE_INSENSITIVE_ORDER))
+                .limit(limit)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -136,15 +291,20 @@ public class StudentService {
                 .orElseThrow(() -> new RuntimeException("Class section not found"));
 
         // Check if admission number exists
-        if (studentRepository.existsByAdmissionNumber(request.getAdmissionNumber())) {
+        if (uniquenessGuard.exists(UniquenessGuard.Field.ADMISSION_NUMBER, request.getAdmissionNumber())) {
             throw new RuntimeException("Admission number already exists");
         }
 
         // Check if username exists
-        if (userRepository.existsByUsername(request.getUsername())) {
+        if (uniquenessGuard.exists(UniquenessGuard.Field.USERNAME, request.getUsername())) {
             throw new RuntimeException("Username already exists");
         }
 
+        // Check if email exists
+        if (uniquenessGuard.exists(UniquenessGuard.Field.EMAIL, request.getEmail())) {
+            throw new RuntimeException("Email already exists");
+        }
+
         // Create user
         User user = User.builder()
                 .school(school)
@@ -163,6 +323,9 @@ public class StudentService {
                 .isActive(true)
                 .build();
 
+        uniquenessGuard.record(UniquenessGuard.Field.USERNAME, user.getUsername());
+        uniquenessGuard.record(UniquenessGuard.Field.EMAIL, user.getEmail());
+        uniquenessGuard.record(UniquenessGuard.Field.ADMISSION_NUMBER, request.getAdmissionNumber());
         user = userRepository.save(user);
 
         // Create student
@@ -188,6 +351,7 @@ public class StudentService {
                 .build();
 
         student = studentRepository.save(student);
+        eventPublisher.publishEvent(toEvent(StudentChangedEvent.Type.CREATED, student));
         return StudentResponse.fromEntity(student);
     }
 
@@ -195,6 +359,82 @@ public class StudentService {
     public void deleteStudent(Long id) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
+        eventPublisher.publishEvent(toEvent(StudentChangedEvent.Type.DELETED, student));
         studentRepository.delete(student);
     }
+
+    // Sum over query words of the closest name word
+    private int nameDistance(List<String> words, User user) {
+        List<String> nameWords = new ArrayList<>();
+        for (String name : new String[]{user.getFirstName(), user.getLastName()}) {
+            if (name != null) {
+                nameWords.addAll(Arrays.asList(name.trim().split("\\s+")));
+            }
+        }
+        int total = 0;
+        for (String word : words) {
+            int best = Integer.MAX_VALUE;
+            for (String nameWord : nameWords) {
+                best = Math.min(best, PhoneticKey.distance(word, nameWord));
+            }
+            total += best == Integer.MAX_VALUE ? word.length() : best;
+        }
+        return total;
+    }
+
+    private <T> PageResponse<T> toPageResponse(Slice<T> slice, PageResponse.Totals totals,
+                                               Long schoolId, String filter, LongSupplier counter) {
+        if (totals == PageResponse.Totals.NONE) {
+            return PageResponse.fromSlice(slice);
+        }
+        // On the last page the total is known without counting
+        if (!slice.hasNext() && (slice.hasContent() || slice.isFirst())) {
+            return PageResponse.fromSlice(slice, (long) slice.getNumber() * slice.getSize()
+                    + slice.getNumberOfElements(), false);
+        }
+        if (totals == PageResponse.Totals.APPROXIMATE) {
+            return PageResponse.fromSlice(slice, pageTotalsCache.get(schoolId, filter, counter), true);
+        }
+        return PageResponse.fromSlice(slice, counter.getAsLong(), false);
+    }
+
+    // Cursor layout: sortKey|direction|id|value, base64url encoded; value is last since it may contain '|'
+    private String encodeCursor(StudentRepositoryCustom.SortKey sortKey, boolean descending, Student last) {
+        String value = switch (sortKey) {
+            case ID -> "";
+            case ADMISSION_NUMBER -> last.getAdmissionNumber();
+            case FIRST_NAME -> last.getUser().getFirstName();
+        };
+        String raw = sortKey.name() + "|" + (descending ? "D" : "A") + "|" + last.getId() + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor, StudentRepositoryCustom.SortKey sortKey, boolean descending) {
+        String[] position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+            Long.parseLong(position[2]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        if (position.length != 4 || !position[0].equals(sortKey.name())
+                || !position[1].equals(descending ? "D" : "A")) {
+            throw new RuntimeException("Cursor does not match the requested sort order");
+        }
+        return position;
+    }
+
+    private StudentChangedEvent toEvent(StudentChangedEvent.Type type, Student student) {
+        return StudentChangedEvent.builder()
+                .type(type)
+                .schoolId(student.getSchool().getId())
+                .studentId(student.getId())
+                .userId(student.getUser().getId())
+                .classSectionId(student.getClassSection().getId())
+                .firstName(student.getUser().getFirstName())
+                .lastName(student.getUser().getLastName())
+                .admissionNumber(student.getAdmissionNumber())
+                .rollNumber(student.getRollNumber())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,439 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.dto.StudentSuggestion;
+import com.schoolmanagement.event.StudentChangedEvent;
+import com.schoolmanagement.event.StudentsPromotedEvent;
+import com.schoolmanagement.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Per-school compressed prefix trie (radix tree) for student typeahead over first name,
+ * last name, full name, roll number and admission number. Built at startup, updated after
+ * committed student create/delete, and bounded by a global key budget: a school that does
+ * not fit is left out and its lookups fall back to the database until deletes or a rebuild
+ * free enough keys to load it again. Changes that commit while the index, or a dropped school,
+ * is being loaded are replayed onto the new tries before they replace the old ones.
+ * File: backend/src/main/java/com/schoolmanagement/service/StudentSuggestIndex.java
+ */
+@Slf4j
+@Component
+public class StudentSuggestIndex {
+
+    private final StudentRepository studentRepository;
+    private final long maxKeys;
+    private final Timer lookupTimer;
+    private final TransactionTemplate reloadTransaction;
+
+    // Replaced as a whole on rebuild; keyCount counts the keys of these tries
+    private volatile Map<Long, SchoolTrie> schools = new ConcurrentHashMap<>();
+    private final AtomicLong keyCount = new AtomicLong();
+    // One rebuild or dropped-school reload at a time
+    private final ReentrantLock buildLock = new ReentrantLock();
+    // Changes committed while a rebuild or reload runs, replayed onto its tries before the swap
+    private List<StudentChangedEvent> pending;
+    private final Object swapMonitor = new Object();
+
+    private volatile boolean ready;
+
+    public StudentSuggestIndex(StudentRepository studentRepository,
+                               @Value("${students.suggest.max-keys:2000000}") long maxKeys,
+                               MeterRegistry meterRegistry,
+                               PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.maxKeys = maxKeys;
+        this.lookupTimer = meterRegistry.timer("students.suggest.lookup");
+        meterRegistry.gauge("students.suggest.keys", keyCount);
+        // Reloads run from after-commit listeners, outside the committed transaction
+        this.reloadTransaction = new TransactionTemplate(transactionManager);
+        this.reloadTransaction.setReadOnly(true);
+        this.reloadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Promotion changes class sections and roll numbers of a whole school at once
+    @EventListener({ApplicationReadyEvent.class, StudentsPromotedEvent.class})
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        buildLock.lock();
+        try {
+            // Buffering starts before the snapshot is read, so no change falls between the two
+            startBuffering();
+            try {
+                Map<Long, SchoolTrie> fresh = new ConcurrentHashMap<>();
+                AtomicLong freshKeys = new AtomicLong();
+                try (Stream<Object[]> stream = studentRepository.streamSearchFields()) {
+                    for (Object[] row : (Iterable<Object[]>) stream::iterator) {
+                        add(fresh.computeIfAbsent((Long) row[1], id -> new SchoolTrie()), suggestionOf(row), freshKeys);
+                    }
+                }
+                synchronized (swapMonitor) {
+                    pending.forEach(event ->
+                            apply(fresh.computeIfAbsent(event.getSchoolId(), id -> new SchoolTrie()), event, freshKeys));
+                    schools = fresh;
+                    keyCount.set(freshKeys.get());
+                }
+                ready = true;
+
+                log.info("Student suggest index built with {} keys for {} schools in {} ms",
+                        freshKeys.get(), fresh.size(), System.currentTimeMillis() - started);
+            } finally {
+                stopBuffering();
+            }
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        synchronized (swapMonitor) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(schools.computeIfAbsent(event.getSchoolId(), id -> new SchoolTrie()), event, keyCount);
+        }
+        if (event.getType() == StudentChangedEvent.Type.DELETED && keyCount.get() < maxKeys) {
+            reloadDropped();
+        }
+    }
+
+    /**
+     * Top matches for the prefix, students of the given class section first, then grouped by
+     * class section and name. Empty when the school is not indexed; callers fall back to the database.
+     */
+    public Optional<List<StudentSuggestion>> suggest(Long schoolId, String prefix, Long classSectionId, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        SchoolTrie school = schools.get(schoolId);
+        if (school == null) {
+            return Optional.of(List.of());
+        }
+        if (!school.complete) {
+            return Optional.empty();
+        }
+        Comparator<StudentSuggestion> ranking = Comparator
+                .comparing((StudentSuggestion s) -> !Objects.equals(s.getClassSectionId(), classSectionId))
+                .thenComparing(StudentSuggestion::getClassSectionId, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(StudentSuggestion::getFirstName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(StudentSuggestion::getLastName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(StudentSuggestion::getId);
+        return Optional.of(lookupTimer.record(() -> school.find(normalize(prefix), ranking, limit)));
+    }
+
+    // Helper Methods
+    private void apply(SchoolTrie school, StudentChangedEvent event, AtomicLong counter) {
+        if (event.getType() == StudentChangedEvent.Type.CREATED) {
+            add(school, StudentSuggestion.builder()
+                    .id(event.getStudentId())
+                    .firstName(event.getFirstName())
+                    .lastName(event.getLastName())
+                    .admissionNumber(event.getAdmissionNumber())
+                    .rollNumber(event.getRollNumber())
+                    .classSectionId(event.getClassSectionId())
+                    .build(), counter);
+        } else {
+            counter.addAndGet(-school.remove(event.getStudentId()));
+        }
+    }
+
+    // Keys are counted against the budget in counter, the count of the tries school belongs to
+    private void add(SchoolTrie school, StudentSuggestion student, AtomicLong counter) {
+        List<String> keys = keysOf(student);
+        if (!school.complete) {
+            school.droppedKeys += keys.size();
+            return;
+        }
+        // A replayed create replaces the student's keys instead of adding them twice
+        counter.addAndGet(-school.remove(student.getId()));
+        if (counter.addAndGet(keys.size()) > maxKeys) {
+            int released = school.clear();
+            school.droppedKeys = released + keys.size();
+            counter.addAndGet(-keys.size() - released);
+            log.warn("Student suggest index key budget of {} reached; school lookups fall back to the database",
+                    maxKeys);
+            return;
+        }
+        school.add(student, keys);
+    }
+
+    // Load dropped schools again once their last known key count fits the budget
+    private void reloadDropped() {
+        // A running rebuild loads every school afresh anyway
+        if (!buildLock.tryLock()) {
+            return;
+        }
+        try {
+            for (Map.Entry<Long, SchoolTrie> entry : schools.entrySet()) {
+                Long schoolId = entry.getKey();
+                SchoolTrie dropped = entry.getValue();
+                if (dropped.complete || keyCount.get() + dropped.droppedKeys > maxKeys) {
+                    continue;
+                }
+                SchoolTrie reloaded = new SchoolTrie();
+                startBuffering();
+                try {
+                    reloadTransaction.executeWithoutResult(status -> {
+                        try (Stream<Object[]> stream = studentRepository.streamSearchFieldsBySchoolId(schoolId)) {
+                            stream.forEach(row -> add(reloaded, suggestionOf(row), keyCount));
+                        }
+                    });
+                    synchronized (swapMonitor) {
+                        pending.stream()
+                                .filter(event -> schoolId.equals(event.getSchoolId()))
+                                .forEach(event -> apply(reloaded, event, keyCount));
+                        if (reloaded.complete && schools.replace(schoolId, dropped, reloaded)) {
+                            log.info("Student suggest index reloaded school {}", schoolId);
+                        } else {
+                            keyCount.addAndGet(-reloaded.clear());
+                            dropped.droppedKeys = Math.max(dropped.droppedKeys, reloaded.droppedKeys);
+                        }
+                    }
+                } finally {
+                    stopBuffering();
+                }
+            }
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private void startBuffering() {
+        synchronized (swapMonitor) {
+            pending = new ArrayList<>();
+        }
+    }
+
+    private void stopBuffering() {
+        synchronized (swapMonitor) {
+            pending = null;
+        }
+    }
+
+    private static StudentSuggestion suggestionOf(Object[] row) {
+        return StudentSuggestion.builder()
+                .id((Long) row[0])
+                .firstName((String) row[2])
+                .lastName((String) row[3])
+                .admissionNumber((String) row[4])
+                .rollNumber((Integer) row[5])
+                .classSectionId((Long) row[6])
+                .build();
+    }
+
+    private static List<String> keysOf(StudentSuggestion student) {
+        Set<String> keys = new LinkedHashSet<>();
+        String first = normalize(student.getFirstName());
+        String last = normalize(student.getLastName());
+        keys.add(first);
+        keys.add(last);
+        keys.add((first + " " + last).trim());
+        keys.add(normalize(student.getAdmissionNumber()));
+        if (student.getRollNumber() != null) {
+            keys.add(String.valueOf(student.getRollNumber()));
+        }
+        keys.remove("");
+        return new ArrayList<>(keys);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class SchoolTrie {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Node root = new Node("");
+        private final Map<Long, StudentSuggestion> students = new HashMap<>();
+        private final Map<Long, List<String>> keys = new HashMap<>();
+        // Cleared once the school is dropped for exceeding the key budget
+        private volatile boolean complete = true;
+        // Keys the school needed when dropped, plus those of students added since
+        private volatile long droppedKeys;
+
+        void add(StudentSuggestion student, List<String> studentKeys) {
+            lock.writeLock().lock();
+            try {
+                students.put(student.getId(), student);
+                keys.put(student.getId(), studentKeys);
+                for (String key : studentKeys) {
+                    root.insert(key, student.getId());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int remove(Long studentId) {
+            lock.writeLock().lock();
+            try {
+                students.remove(studentId);
+                List<String> studentKeys = keys.remove(studentId);
+                if (studentKeys == null) {
+                    return 0;
+                }
+                for (String key : studentKeys) {
+                    root.remove(key, studentId);
+                }
+                return studentKeys.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int clear() {
+            lock.writeLock().lock();
+            try {
+                complete = false;
+                int released = keys.values().stream().mapToInt(List::size).sum();
+                students.clear();
+                keys.clear();
+                root.children.clear();
+                return released;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Best `limit` matches by ranking, kept in a bounded heap with the worst match on top
+        List<StudentSuggestion> find(String prefix, Comparator<StudentSuggestion> ranking, int limit) {
+            if (limit <= 0) {
+                return new ArrayList<>();
+            }
+            lock.readLock().lock();
+            try {
+                PriorityQueue<StudentSuggestion> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+                Set<Long> seen = new HashSet<>();
+                Node node = root.locate(prefix);
+                if (node != null) {
+                    node.collect(id -> {
+                        if (seen.add(id)) {
+                            best.offer(students.get(id));
+                            if (best.size() > limit) {
+                                best.poll();
+                            }
+                        }
+                    });
+                }
+                List<StudentSuggestion> matches = new ArrayList<>(best);
+                matches.sort(ranking);
+                return matches;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Radix tree node: the edge label leading into it, student ids whose key ends here,
+     * and children keyed by the first character of their label
+     */
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private List<Long> ids = List.of();
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        void insert(String key, Long id) {
+            if (key.isEmpty()) {
+                if (!ids.contains(id)) {
+                    if (ids.isEmpty()) {
+                        ids = new ArrayList<>(2);
+                    }
+                    ids.add(id);
+                }
+                return;
+            }
+            Node child = children.get(key.charAt(0));
+            if (child == null) {
+                Node leaf = new Node(key);
+                leaf.insert("", id);
+                children.put(key.charAt(0), leaf);
+                return;
+            }
+            int common = commonPrefix(child.label, key);
+            if (common < child.label.length()) {
+                // Split the edge at the divergence point
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children.put(child.label.charAt(0), child);
+                children.put(key.charAt(0), split);
+                child = split;
+            }
+            child.insert(key.substring(common), id);
+        }
+
+        boolean remove(String key, Long id) {
+            if (key.isEmpty()) {
+                if (!ids.isEmpty()) {
+                    ids.remove(id);
+                }
+            } else {
+                Node child = children.get(key.charAt(0));
+                if (child == null || !key.startsWith(child.label)) {
+                    return false;
+                }
+                if (child.remove(key.substring(child.label.length()), id)) {
+                    children.remove(key.charAt(0));
+                } else if (child.ids.isEmpty() && child.children.size() == 1) {
+                    // Re-compress a pass-through node into its only child
+                    Node only = child.children.values().iterator().next();
+                    only.label = child.label + only.label;
+                    children.put(key.charAt(0), only);
+                }
+            }
+            return ids.isEmpty() && children.isEmpty();
+        }
+
+        Node locate(String prefix) {
+            if (prefix.isEmpty()) {
+                return this;
+            }
+            Node child = children.get(prefix.charAt(0));
+            if (child == null) {
+                return null;
+            }
+            if (prefix.startsWith(child.label)) {
+                return child.locate(prefix.substring(child.label.length()));
+            }
+            return child.label.startsWith(prefix) ? child : null;
+        }
+
+        void collect(Consumer<Long> out) {
+            ids.forEach(out);
+            for (Node child : children.values()) {
+                child.collect(out);
+            }
+        }
+
+        private static int commonPrefix(String a, String b) {
+            int i = 0;
+            while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
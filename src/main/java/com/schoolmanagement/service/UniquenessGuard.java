@@ -0,0 +1,233 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.repository.StudentRepository;
+import com.schoolmanagement.repository.UserRepository;
+import com.schoolmanagement.util.BloomFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bloom-filter pre-check for username, email and admission number uniqueness. A value the
+ * filter has never seen is new without a query; a possible hit is confirmed against the
+ * database. Values are recorded as soon as a create passes its check, so concurrent creates
+ * see them, and again once the create commits: a rebuild's snapshot either already contains
+ * the committed row or the rebuild is still collecting and replays it, so the filter never
+ * misses a committed row. Rolled-back creates and deleted rows only cost extra confirmations
+ * until the next rebuild. The unique constraints on the tables remain the final authority.
+ * File: backend/src/main/java/com/schoolmanagement/service/UniquenessGuard.java
+ */
+@Slf4j
+@Component
+public class UniquenessGuard {
+
+    public enum Field {
+        USERNAME, EMAIL, ADMISSION_NUMBER
+    }
+
+    // Keeps small installations from sizing filters for a handful of rows
+    private static final long MIN_CAPACITY = 10_000;
+
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final double falsePositiveRate;
+    private final double headroom;
+    private final MeterRegistry meterRegistry;
+
+    // Swapped as a whole on rebuild; null until the first build completes
+    private volatile Map<Field, BloomFilter> filters;
+    // Values recorded while a build is running, replayed into the new filters before the swap
+    private Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    public UniquenessGuard(UserRepository userRepository,
+                           StudentRepository studentRepository,
+                           @Value("${uniqueness.guard.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${uniqueness.guard.headroom:2.0}") double headroom,
+                           MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.headroom = headroom;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("uniqueness.guard.memory.bytes", this, g -> {
+            Map<Field, BloomFilter> current = g.filters;
+            return current == null ? 0 : current.values().stream().mapToLong(BloomFilter::sizeBytes).sum();
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${uniqueness.guard.rebuild-cron:0 15 3 * * *}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        swapLock.writeLock().lock();
+        try {
+            if (pending == null) {
+                pending = new ConcurrentLinkedQueue<>();
+            }
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        long users = userRepository.count();
+        long students = studentRepository.count();
+        Map<Field, BloomFilter> fresh = new EnumMap<>(Field.class);
+        fresh.put(Field.USERNAME, BloomFilter.create(capacityFor(users), falsePositiveRate));
+        fresh.put(Field.EMAIL, BloomFilter.create(capacityFor(users), falsePositiveRate));
+        fresh.put(Field.ADMISSION_NUMBER, BloomFilter.create(capacityFor(students), falsePositiveRate));
+
+        try (Stream<Object[]> stream = userRepository.streamUniqueKeys()) {
+            stream.forEach(row -> {
+                fresh.get(Field.USERNAME).put(normalize((String) row[0]));
+                fresh.get(Field.EMAIL).put(normalize((String) row[1]));
+            });
+        }
+        try (Stream<String> stream = studentRepository.streamAdmissionNumbers()) {
+            stream.forEach(admissionNumber -> fresh.get(Field.ADMISSION_NUMBER).put(normalize(admissionNumber)));
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            for (Entry entry : pending) {
+                fresh.get(entry.field()).put(entry.key());
+            }
+            filters = fresh;
+            pending = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        log.info("Uniqueness guard built for {} users and {} students in {} ms",
+                users, students, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Whether the value is already taken; answered without a query when the filter has never seen it
+     */
+    public boolean exists(Field field, String value) {
+        if (value == null) {
+            return false;
+        }
+        Map<Field, BloomFilter> current = filters;
+        if (current != null && !current.get(field).mightContain(normalize(value))) {
+            lookup(field, "negative", 1);
+            return false;
+        }
+        boolean exists = !queryExisting(field, List.of(value)).isEmpty();
+        lookup(field, current == null ? "unavailable" : exists ? "confirmed" : "false_positive", 1);
+        return exists;
+    }
+
+    /**
+     * The subset of values already taken, with one query for the possible hits only
+     */
+    public Set<String> existing(Field field, Collection<String> values) {
+        Map<Field, BloomFilter> current = filters;
+        List<String> candidates = values.stream()
+                .filter(Objects::nonNull)
+                .filter(v -> current == null || current.get(field).mightContain(normalize(v)))
+                .distinct()
+                .toList();
+        lookup(field, "negative", values.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> found = queryExisting(field, candidates).stream()
+                .map(UniquenessGuard::normalize)
+                .collect(Collectors.toSet());
+        Set<String> taken = candidates.stream()
+                .filter(v -> found.contains(normalize(v)))
+                .collect(Collectors.toSet());
+        if (current == null) {
+            lookup(field, "unavailable", candidates.size());
+        } else {
+            lookup(field, "confirmed", taken.size());
+            lookup(field, "false_positive", candidates.size() - taken.size());
+        }
+        return taken;
+    }
+
+    /**
+     * Marks the value as taken; call inside the creating transaction once the create has
+     * passed its uniqueness check
+     */
+    public void record(Field field, String value) {
+        if (value == null) {
+            return;
+        }
+        String key = normalize(value);
+        put(field, key);
+        // A rebuild whose snapshot began before the commit would otherwise drop the value
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(field, key);
+                }
+            });
+        }
+    }
+
+    // Helper Methods
+    private void put(Field field, String key) {
+        swapLock.readLock().lock();
+        try {
+            Map<Field, BloomFilter> current = filters;
+            if (current != null) {
+                current.get(field).put(key);
+            }
+            if (pending != null) {
+                pending.add(new Entry(field, key));
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private List<String> queryExisting(Field field, Collection<String> values) {
+        return switch (field) {
+            case USERNAME -> userRepository.findExistingUsernames(values);
+            case EMAIL -> userRepository.findExistingEmails(values);
+            case ADMISSION_NUMBER -> studentRepository.findExistingAdmissionNumbers(values);
+        };
+    }
+
+    private long capacityFor(long rows) {
+        return Math.max(MIN_CAPACITY, (long) (rows * headroom));
+    }
+
+    private void lookup(Field field, String result, long count) {
+        if (count > 0) {
+            meterRegistry.counter("uniqueness.guard.lookups", "field", field.name().toLowerCase(Locale.ROOT),
+                    "result", result).increment(count);
+        }
+    }
+
+    // Folds case, accents and surrounding spaces like the case- and accent-insensitive MySQL
+    // collations do; over-folding only adds false positives, never misses
+    private static String normalize(String value) {
+        return Normalizer.normalize(value.strip(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(Field field, String key) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.schoolmanagement.util;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Phonetic key and edit distance for name matching.
+ * The key is tuned for transliterated South Asian names rather than English (Soundex/Metaphone):
+ * aspirated digraphs fold into the plain consonant (sh/s, kh/k, bh/b, th/t ...), interchangeable
+ * letters are unified (w/v, q/k, z/j, ph/f), vowels and h after the first letter are dropped and
+ * repeated consonants collapse. "Sharma" and "Sarma" both give "srm"; "Mohd", "Mohammed" and
+ * "Muhammad" all give "md". Names are keyed word by word, so "Mohd Asif" gives "md" and "asf".
+ * File: backend/src/main/java/com/schoolmanagement/util/PhoneticKey.java
+ */
+public final class PhoneticKey {
+
+    public static final int MAX_LENGTH = 16;
+
+    // Stored for names without letters, so backfills know the row was processed; never a query key
+    public static final String NONE = "";
+
+    private PhoneticKey() {
+    }
+
+    /**
+     * Phonetic key of a single name token; null for null or letterless input
+     */
+    public static String of(String name) {
+        if (name == null) {
+            return null;
+        }
+        String s = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        if (s.isEmpty()) {
+            return null;
+        }
+
+        s = s.replace("ph", "f")
+                .replace("ck", "k")
+                .replace("x", "ks")
+                .replace("q", "k")
+                .replace("w", "v")
+                .replace("z", "j")
+                .replace("y", "i")
+                .replaceAll("([bcdgkpst])h", "$1");
+
+        StringBuilder key = new StringBuilder();
+        key.append(isVowel(s.charAt(0)) ? 'a' : s.charAt(0));
+        char last = key.charAt(0);
+        for (int i = 1; i < s.length() && key.length() < MAX_LENGTH; i++) {
+            char c = s.charAt(i);
+            if (isVowel(c) || c == 'h') {
+                continue;
+            }
+            if (c != last) {
+                key.append(c);
+            }
+            last = c;
+        }
+        return key.toString();
+    }
+
+    /**
+     * Keys of the whitespace-separated words of a name, in word order; empty for null or letterless input
+     */
+    public static Set<String> ofWords(String name) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (name != null) {
+            for (String word : name.trim().split("\\s+")) {
+                String key = of(word);
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Keys to store for a user: those of every first and last name word, or only {@link #NONE}
+     * when neither name has letters
+     */
+    public static Set<String> stored(String firstName, String lastName) {
+        Set<String> keys = ofWords(firstName);
+        keys.addAll(ofWords(lastName));
+        return keys.isEmpty() ? Collections.singleton(NONE) : keys;
+    }
+
+    /**
+     * The key and the keys one consonant slip away: adjacent consonants swapped ("smr" for
+     * "Shamra" reaches "srm" for "Sharma") or, in keys of three or more letters, one consonant
+     * dropped; the first letter is kept
+     */
+    public static Set<String> neighbours(String key) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(key);
+        for (int i = 1; i + 1 < key.length(); i++) {
+            keys.add(key.substring(0, i) + key.charAt(i + 1) + key.charAt(i) + key.substring(i + 2));
+        }
+        for (int i = 1; i < key.length() && key.length() > 2; i++) {
+            keys.add(key.substring(0, i) + key.substring(i + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Damerau-Levenshtein (optimal string alignment) distance, case-insensitive
+     */
+    public static int distance(String a, String b) {
+        a = a.toLowerCase(Locale.ROOT);
+        b = b.toLowerCase(Locale.ROOT);
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previous2[j - 2] + 1);
+                }
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -0,0 +1,236 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statements sent to the database for Attendance and Result inserts per id strategy, counted
+ * on every connection including the one pooled ids reserve their blocks on. Identity ids force
+ * one statement per row; pooled and time-ordered ids let Hibernate send JDBC batches, pooled at
+ * the cost of two id_sequences statements per block.
+ */
+@DataJpaTest
+@Import(IdGenerationInsertBenchmarkTest.StatementCounter.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class IdGenerationInsertBenchmarkTest {
+
+    private static final int ROWS = 2000;
+
+    @Nested
+    @TestPropertySource(properties = "spring.jpa.properties.id-generation.strategy=identity")
+    class Identity extends Scenario {
+
+        @Test
+        void insertsOneStatementPerRow() {
+            assertTrue(benchmark() >= ROWS);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.jpa.properties.id-generation.strategy=pooled")
+    class Pooled extends Scenario {
+
+        @Test
+        void insertsInBatchesPlusBlockReservations() {
+            // 20 batches and at most 21 blocks of 100 ids, two statements each
+            assertTrue(benchmark() <= ROWS / 100 + 2 * (ROWS / 100 + 1));
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.jpa.properties.id-generation.strategy=time-ordered")
+    class TimeOrdered extends Scenario {
+
+        @Test
+        void insertsInBatches() {
+            assertTrue(benchmark() <= ROWS / 100);
+        }
+    }
+
+    /**
+     * Fixtures and measurements live in the nested classes, each of which gets its own context
+     */
+    @Transactional
+    abstract class Scenario {
+
+        @Autowired
+        private TestEntityManager entityManager;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Autowired
+        private StatementCounter statementCounter;
+
+        @Autowired
+        private AttendanceRepository attendanceRepository;
+
+        @Autowired
+        private ResultRepository resultRepository;
+
+        private School school;
+        private User user;
+        private Student student;
+        private Exam exam;
+        private ExamSubject examSubject;
+
+        @BeforeEach
+        void setUp() {
+            school = entityManager.persist(School.builder().schoolCode("ID-1").schoolName("Id School").build());
+            ClassEntity classEntity = entityManager.persist(ClassEntity.builder()
+                    .school(school).className("Class 1").classNumber(1).build());
+            Section section = entityManager.persist(Section.builder().school(school).sectionName("A").build());
+            ClassSection classSection = entityManager.persist(ClassSection.builder()
+                    .school(school).classEntity(classEntity).section(section).build());
+            user = entityManager.persist(User.builder()
+                    .school(school).username("bench").email("bench@example.com").passwordHash("x")
+                    .firstName("Bench").lastName("Mark").role(User.Role.STUDENT).isActive(true).build());
+            student = entityManager.persist(Student.builder()
+                    .user(user).school(school).classSection(classSection)
+                    .admissionNumber("ADM-BENCH").isActive(true).build());
+            Subject subject = entityManager.persist(Subject.builder()
+                    .school(school).subjectCode("MATH").subjectName("Mathematics").build());
+            exam = entityManager.persist(Exam.builder()
+                    .school(school).examName("Midterm").examType(Exam.ExamType.MIDTERM).build());
+            examSubject = entityManager.persist(ExamSubject.builder()
+                    .exam(exam).subject(subject)
+                    .maxMarks(BigDecimal.valueOf(100)).passingMarks(BigDecimal.valueOf(35)).build());
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        /**
+         * Inserts ROWS attendance and ROWS result rows after an unmeasured warm-up and returns the
+         * number of statements executed for the attendance inserts
+         */
+        long benchmark() {
+            LocalDate firstDay = LocalDate.of(2025, 4, 1);
+            insertAttendance(firstDay.plusDays(ROWS), ROWS / 4);
+            insertResults(ROWS / 4);
+            entityManager.flush();
+            entityManager.clear();
+
+            long attendanceStatements = measure(() -> insertAttendance(firstDay, ROWS));
+            measure(() -> insertResults(ROWS));
+            return attendanceStatements;
+        }
+
+        private List<Long> insertAttendance(LocalDate firstDay, int count) {
+            List<Attendance> rows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                rows.add(Attendance.builder()
+                        .school(school).user(user).attendanceDate(firstDay.plusDays(i))
+                        .status(Attendance.AttendanceStatus.PRESENT).build());
+            }
+            return attendanceRepository.saveAll(rows).stream().map(Attendance::getId).toList();
+        }
+
+        private List<Long> insertResults(int count) {
+            List<Result> rows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                rows.add(Result.builder()
+                        .school(school).exam(exam).examSubject(examSubject).student(student)
+                        .marksObtained(BigDecimal.valueOf(i % 100)).isAbsent(false).build());
+            }
+            return resultRepository.saveAll(rows).stream().map(Result::getId).toList();
+        }
+
+        private long measure(Supplier<List<Long>> insert) {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            long before = statementCounter.executions();
+
+            List<Long> ids = insert.get();
+            entityManager.flush();
+            entityManager.clear();
+
+            assertEquals(ROWS, new HashSet<>(ids).size());
+            long statements = statementCounter.executions() - before;
+            // Hibernate only sees the statements on the session's own connection
+            assertTrue(statements >= statistics.getPrepareStatementCount());
+            return statements;
+        }
+    }
+
+    /**
+     * Counts statement executions (a JDBC batch counts once) on every connection of the data source
+     */
+    static class StatementCounter implements BeanPostProcessor {
+
+        private final AtomicLong executions = new AtomicLong();
+
+        long executions() {
+            return executions.get();
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource dataSource ? counting(DataSource.class, dataSource) : bean;
+        }
+
+        private <T> T counting(Class<T> type, T target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                String name = method.getName();
+                if (name.startsWith("execute")) {
+                    executions.incrementAndGet();
+                }
+                if (result instanceof Connection connection && name.equals("getConnection")) {
+                    return counting(Connection.class, connection);
+                }
+                if (result instanceof CallableStatement statement) {
+                    return counting(CallableStatement.class, statement);
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return counting(PreparedStatement.class, statement);
+                }
+                if (result instanceof Statement statement && name.equals("createStatement")) {
+                    return counting(Statement.class, statement);
+                }
+                return result;
+            }));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.schoolmanagement.repository;
+
+import com.schoolmanagement.dto.StudentListItem;
+import com.schoolmanagement.dto.StudentResponse;
+import com.schoolmanagement.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A page of students, mapped to responses, must cost the data select plus at most the count
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class StudentRepositoryFetchPlanTest {
+
+    private static final int STUDENTS = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Long schoolId;
+
+    @BeforeEach
+    void setUp() {
+        School school = entityManager.persist(School.builder().schoolCode("FP-1").schoolName("Fetch Plan School").build());
+        schoolId = school.getId();
+
+        for (int i = 0; i < STUDENTS; i++) {
+            // A distinct class and section per student so any lazy load would show up as extra selects
+            ClassEntity classEntity = entityManager.persist(ClassEntity.builder()
+                    .school(school).className("Class " + i).classNumber(i + 1).build());
+            Section section = entityManager.persist(Section.builder()
+                    .school(school).sectionName("S" + i).build());
+            ClassSection classSection = entityManager.persist(ClassSection.builder()
+                    .school(school).classEntity(classEntity).section(section).build());
+            User user = entityManager.persist(User.builder()
+                    .school(school).username("student" + i).email("student" + i + "@example.com")
+                    .passwordHash("x").firstName("First" + i).lastName("Last" + i)
+                    .role(User.Role.STUDENT).isActive(true).build());
+            entityManager.persist(Student.builder()
+                    .user(user).school(school).classSection(classSection)
+                    .admissionNumber("ADM-" + i).isActive(true).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagedEntityQueryLoadsDetailsInOneSelect() {
+        Statistics statistics = statistics();
+
+        Page<Student> page = studentRepository.findBySchoolId(schoolId, PageRequest.of(0, 10));
+        List<StudentResponse> responses = page.map(StudentResponse::fromEntity).getContent();
+
+        assertEquals(10, responses.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void advancedSearchSliceLoadsDetailsInOneSelect() {
+        Statistics statistics = statistics();
+
+        Slice<Student> slice = studentRepository.advancedSearch(schoolId, "first", null, true, PageRequest.of(0, 10));
+        List<StudentResponse> responses = slice.map(StudentResponse::fromEntity).getContent();
+
+        assertEquals(10, responses.size());
+        assertTrue(slice.hasNext());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listItemProjectionIsOneSelect() {
+        Statistics statistics = statistics();
+
+        Slice<StudentListItem> slice = studentRepository.findListItemsBySchoolId(schoolId, PageRequest.of(0, 10));
+        List<StudentResponse> responses = slice.map(StudentListItem::toResponse).getContent();
+
+        assertEquals(10, responses.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(STUDENTS, studentRepository.countBySchoolId(schoolId));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
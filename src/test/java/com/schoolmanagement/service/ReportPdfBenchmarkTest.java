@@ -0,0 +1,125 @@
+package com.schoolmanagement.service;
+
+import com.schoolmanagement.dto.StudentResponse;
+import com.schoolmanagement.dto.UserResponse;
+import com.schoolmanagement.entity.ExamSubject;
+import com.schoolmanagement.entity.Result;
+import com.schoolmanagement.entity.Subject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Per-document CPU time and size of report cards with an embedded TrueType font and a school
+ * logo. Uncached, each document parses the font, decodes the logo and embeds the whole font;
+ * cached, the font and logo come from one shared PdfResources and only used glyphs are embedded.
+ */
+class ReportPdfBenchmarkTest {
+
+    private static final Path FONT = Path.of("/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf");
+    private static final int DOCUMENTS = 200;
+    private static final int WARMUP = 20;
+
+    @TempDir
+    static Path dir;
+
+    private static String logoPath;
+    private static List<Result> results;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.BLUE, 400, 400, Color.ORANGE));
+        graphics.fillRect(0, 0, 400, 400);
+        graphics.dispose();
+        Path logo = dir.resolve("logo.png");
+        ImageIO.write(image, "png", logo.toFile());
+        logoPath = logo.getFileName().toString();
+
+        results = new ArrayList<>();
+        for (String name : List.of("Hindi", "English", "Mathematics", "Science", "Social Studies")) {
+            ExamSubject examSubject = ExamSubject.builder()
+                    .subject(Subject.builder().subjectName(name).build())
+                    .maxMarks(BigDecimal.valueOf(100))
+                    .build();
+            results.add(Result.builder()
+                    .examSubject(examSubject)
+                    .marksObtained(BigDecimal.valueOf(60 + name.length()))
+                    .grade("B")
+                    .build());
+        }
+    }
+
+    @Test
+    void cachedResourcesRenderSmallerAndFaster() throws IOException {
+        assumeTrue(Files.isReadable(FONT), "benchmark font not installed");
+
+        PdfResources shared = new PdfResources(FONT.toString(), true, dir.toString(), 1 << 20, 3000);
+        Run uncached = run(() -> new PdfResources(FONT.toString(), false, dir.toString(), 1 << 20, 3000));
+        Run cached = run(() -> shared);
+
+        System.out.printf("Report card PDF, %d documents: uncached %.2f ms / %d bytes, cached %.2f ms / %d bytes%n",
+                DOCUMENTS, uncached.cpuMsPerDocument(), uncached.bytesPerDocument(),
+                cached.cpuMsPerDocument(), cached.bytesPerDocument());
+
+        assertTrue(cached.bytesPerDocument() < uncached.bytesPerDocument() / 2);
+        assertTrue(cached.cpuMsPerDocument() < uncached.cpuMsPerDocument());
+    }
+
+    // Helper Methods
+    private Run run(Supplier<PdfResources> resources) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long cpu = 0;
+        long bytes = 0;
+        for (int i = 0; i < WARMUP + DOCUMENTS; i++) {
+            long started = threads.getCurrentThreadCpuTime();
+            ReportService reportService = new ReportService(null, null, null, null, resources.get(), 100);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            reportService.generateStudentReportCardPDF(student(i), results, 92.5, logoPath, out);
+            if (i >= WARMUP) {
+                cpu += threads.getCurrentThreadCpuTime() - started;
+                bytes += out.size();
+            }
+        }
+        return new Run(cpu / 1e6 / DOCUMENTS, bytes / DOCUMENTS);
+    }
+
+    private StudentResponse student(int i) {
+        return StudentResponse.builder()
+                .id((long) i)
+                .admissionNumber("ADM" + i)
+                .rollNumber(i)
+                .user(UserResponse.builder()
+                        .firstName("Student")
+                        .lastName(String.valueOf(i))
+                        .schoolId(1L)
+                        .schoolName("Saraswati Vidya Mandir")
+                        .build())
+                .classSection(StudentResponse.ClassSectionResponse.builder()
+                        .className("Class 8")
+                        .sectionName("A")
+                        .build())
+                .build();
+    }
+
+    private record Run(double cpuMsPerDocument, long bytesPerDocument) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.schoolmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * CSV reading for bulk import: headers, quoting, line endings and blank lines.
+ */
+class StudentImportReaderTest {
+
+    @Test
+    void readsRowsKeyedByNormalizedHeader() throws IOException {
+        List<Map<String, String>> rows = read("﻿Admission Number,First Name,Last_Name\r\n" +
+                "ADM1, Asha ,Sharma\r\n" +
+                "ADM2,Ravi\r\n");
+
+        assertEquals(2, rows.size());
+        assertEquals(Map.of("admissionnumber", "ADM1", "firstname", "Asha", "lastname", "Sharma"), rows.get(0));
+        assertEquals(Map.of("admissionnumber", "ADM2", "firstname", "Ravi"), rows.get(1));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        List<Map<String, String>> rows = read("name,address\n" +
+                "\"Khan, Imran\",\"12 \"\"Rose\"\" Villa\nPune\"\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("Khan, Imran", rows.get(0).get("name"));
+        assertEquals("12 \"Rose\" Villa\nPune", rows.get(0).get("address"));
+    }
+
+    @Test
+    void blankLinesAreSkippedButCountedInRowNumbers() throws IOException {
+        List<Integer> rowNumbers = new ArrayList<>();
+        StudentImportReader.readCsv(new StringReader("name\nAsha\n\nRavi"),
+                (rowNumber, values) -> rowNumbers.add(rowNumber));
+
+        assertEquals(List.of(2, 4), rowNumbers);
+    }
+
+    // Helper Methods
+    private List<Map<String, String>> read(String csv) throws IOException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        StudentImportReader.readCsv(new StringReader(csv), (rowNumber, values) -> rows.add(values));
+        return rows;
+    }
+}
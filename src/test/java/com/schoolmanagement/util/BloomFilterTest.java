@@ -0,0 +1,50 @@
+package com.schoolmanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bloom filter answers: never a false negative, false positives near the configured rate.
+ */
+class BloomFilterTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void neverMissesAKeyThatWasPut() {
+        BloomFilter filter = BloomFilter.create(KEYS, 0.01);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put("user" + i + "@school.in");
+        }
+        for (int i = 0; i < KEYS; i++) {
+            assertTrue(filter.mightContain("user" + i + "@school.in"), "missed key " + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        for (double rate : new double[]{0.01, 0.001}) {
+            BloomFilter filter = BloomFilter.create(KEYS, rate);
+            for (int i = 0; i < KEYS; i++) {
+                filter.put("ADM" + i);
+            }
+            int falsePositives = 0;
+            for (int i = 0; i < KEYS; i++) {
+                if (filter.mightContain("NEW" + i)) {
+                    falsePositives++;
+                }
+            }
+            double observed = (double) falsePositives / KEYS;
+            assertTrue(observed < rate * 1.5, "false-positive rate " + observed + " for configured " + rate);
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        assertFalse(filter.mightContain(""));
+        assertFalse(filter.mightContain("anything"));
+    }
+}
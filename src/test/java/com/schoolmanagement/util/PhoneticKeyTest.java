@@ -0,0 +1,59 @@
+package com.schoolmanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Phonetic keys of transliterated names, their neighbours and the edit distance.
+ */
+class PhoneticKeyTest {
+
+    @Test
+    void spellingVariantsShareAKey() {
+        assertEquals("srm", PhoneticKey.of("Sharma"));
+        assertEquals("srm", PhoneticKey.of("Sarma"));
+        assertEquals("md", PhoneticKey.of("Mohd"));
+        assertEquals("md", PhoneticKey.of("Mohammed"));
+        assertEquals("md", PhoneticKey.of("Muhammad"));
+        assertEquals(PhoneticKey.of("Vikas"), PhoneticKey.of("Wikas"));
+        assertEquals(PhoneticKey.of("Khan"), PhoneticKey.of("KHAN"));
+    }
+
+    @Test
+    void letterlessNamesHaveNoKeyButAreStoredAsProcessed() {
+        assertNull(PhoneticKey.of(null));
+        assertNull(PhoneticKey.of("123 -"));
+        assertEquals(Set.of(PhoneticKey.NONE), PhoneticKey.stored("123 -", null));
+        assertEquals(Set.of("srm"), PhoneticKey.stored("Sharma", null));
+    }
+
+    @Test
+    void multiWordNamesAreKeyedPerWord() {
+        assertEquals(List.of("md", "asf"), List.copyOf(PhoneticKey.ofWords(" Mohd  Asif ")));
+        assertEquals(Set.of("md", "asf", "kn"), PhoneticKey.stored("Mohd Asif", "Khan"));
+        assertTrue(PhoneticKey.stored("Mohd Asif", "Khan").contains(PhoneticKey.of("Asif")));
+        assertEquals(Set.of(), PhoneticKey.ofWords("  "));
+    }
+
+    @Test
+    void neighboursReachTransposedConsonants() {
+        assertEquals("smr", PhoneticKey.of("Shamra"));
+        assertTrue(PhoneticKey.neighbours("smr").contains("srm"));
+        assertTrue(PhoneticKey.neighbours("srmt").contains("srm"));
+        assertEquals(Set.of("md"), PhoneticKey.neighbours("md"));
+    }
+
+    @Test
+    void distanceCountsTranspositionsAsOneEdit() {
+        assertEquals(0, PhoneticKey.distance("Sharma", "sharma"));
+        assertEquals(1, PhoneticKey.distance("Shamra", "Sharma"));
+        assertEquals(1, PhoneticKey.distance("Sarma", "Sharma"));
+        assertEquals(3, PhoneticKey.distance("", "abc"));
+    }
+}